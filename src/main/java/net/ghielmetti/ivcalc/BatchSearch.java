@@ -0,0 +1,199 @@
+package net.ghielmetti.ivcalc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.data.SpeciesIndex;
+import net.ghielmetti.ivcalc.pokedex.Pokedex;
+
+/**
+ * Searches the candidates of many Pokémon scans in a single process.<br>
+ * Each input line is a record with 5 fields separated by spaces, tabs, commas or semicolons: the Pokémon name (or a
+ * partial name, {@link SpeciesIndex#IDENTIFY} to identify the species), the CP, the HP, the stardust and the appraisal
+ * code. The last 4 fields are taken from the end of the record, so the name can contain spaces (e.g. "Mr. Mime"). A
+ * name matching no Pokémon is reported as an error.
+ * Empty lines and lines starting with <code>#</code> are ignored.<br>
+ * The records are solved on a pool of workers and one line is written for each record, in the input order: the
+ * record, the number of candidates and the candidates as <code>name:level:iv</code>, all separated by tabs.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class BatchSearch {
+  private static final Logger              LOGGER    = LoggerFactory.getLogger(BatchSearch.class);
+  private static final Pattern             SEPARATOR = Pattern.compile("[\\s,;]+");
+  private final Pokedex                    pokedex;
+  private final int                        parallelism;
+  private final Map<String, List<Pokemon>> species   = new ConcurrentHashMap<>();
+  private final Map<String, Limit>         limits    = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new batch search.
+   *
+   * @param inPokedex The {@link Pokedex}.
+   * @param inParallelism The number of workers (at least 1).
+   */
+  public BatchSearch(final Pokedex inPokedex, final int inParallelism) {
+    pokedex = inPokedex;
+    parallelism = Math.max(1, inParallelism);
+  }
+
+  /**
+   * Reads all the records from the reader and writes the results on the output.
+   *
+   * @param inReader The reader of the records.
+   * @param inOutput The output where the results are written.
+   * @return The number of records processed.
+   * @throws IOException If the records can't be read.
+   */
+  public int run(final BufferedReader inReader, final PrintStream inOutput) throws IOException {
+    ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+    Deque<Future<String>> pending = new ArrayDeque<>();
+    int window = parallelism * 64;
+    int count = 0;
+
+    try {
+      String line;
+
+      while ((line = inReader.readLine()) != null) {
+        String record = line.trim();
+
+        if (!record.isEmpty() && !record.startsWith("#")) {
+          pending.add(workers.submit(() -> solve(record)));
+          count++;
+
+          if (pending.size() >= window) {
+            inOutput.println(result(pending.remove()));
+          }
+        }
+      }
+
+      while (!pending.isEmpty()) {
+        inOutput.println(result(pending.remove()));
+      }
+
+      inOutput.flush();
+    } finally {
+      workers.shutdownNow();
+    }
+
+    return count;
+  }
+
+  /**
+   * Solves a single record.
+   *
+   * @param inRecord The record.
+   * @return The result line.
+   */
+  String solve(final String inRecord) {
+    String[] fields = SEPARATOR.split(inRecord);
+    int values = fields.length - 4;
+
+    if (values < 1) {
+      return inRecord + "\tERROR\texpected 5 fields";
+    }
+
+    try {
+      // The name is made of all the words before the values
+      String name = String.join(" ", Arrays.copyOfRange(fields, 0, values));
+      int cp = Integer.parseInt(fields[values]);
+      int hp = Integer.parseInt(fields[values + 1]);
+      int sd = Integer.parseInt(fields[values + 2]);
+      Limit limit = limits.computeIfAbsent(fields[values + 3], Limit::new);
+      List<CandidateList> candidates = new ArrayList<>();
+
+      if (SpeciesIndex.IDENTIFY.equals(name)) {
+        candidates.addAll(pokedex.getSpeciesIndex().identify(limit, cp, hp, sd));
+      } else {
+        List<Pokemon> pokemons = species.computeIfAbsent(name.toLowerCase(), this::findPokemons);
+
+        if (pokemons.isEmpty()) {
+          return inRecord + "\tERROR\tunknown species";
+        }
+
+        for (Pokemon pokemon : pokemons) {
+          CandidateList candidateList = pokemon.getIV(limit, cp, hp, sd);
+
+          if (!candidateList.isEmpty()) {
+            candidates.add(candidateList);
+          }
+        }
+      }
+
+      return format(inRecord, candidates);
+    } catch (RuntimeException e) {
+      LOGGER.debug("Invalid record: {}", inRecord, e);
+      return inRecord + "\tERROR\t" + e;
+    }
+  }
+
+  private List<Pokemon> findPokemons(final String inName) {
+    Pokemon pokemon = pokedex.getPokemon(inName);
+
+    if (pokemon != null) {
+      List<Pokemon> list = new ArrayList<>();
+      list.add(pokemon);
+      return list;
+    }
+
+    List<Pokemon> list = pokedex.getPokemonsFromPartialName(inName);
+    list.sort(Pokemon.BY_NAME);
+    return list;
+  }
+
+  private String format(final String inRecord, final List<CandidateList> inCandidates) {
+    StringBuilder sb = new StringBuilder(inRecord);
+    int size = 0;
+
+    for (CandidateList candidateList : inCandidates) {
+      size += candidateList.size();
+    }
+
+    sb.append('\t').append(size);
+
+    for (CandidateList candidateList : inCandidates) {
+      String name = candidateList.getPokemon().getName();
+
+      for (Integer level : candidateList.getPossibleLevels()) {
+        String trueLevel = Double.toString(level.doubleValue() / 2.0);
+
+        for (IVLevel ivLevel : candidateList.getIVLevels(level)) {
+          sb.append('\t').append(name).append(':').append(trueLevel).append(':').append(ivLevel);
+        }
+      }
+    }
+
+    return sb.toString();
+  }
+
+  private String result(final Future<String> inFuture) throws IOException {
+    try {
+      return inFuture.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Batch search interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Batch search failed", e.getCause());
+    }
+  }
+}
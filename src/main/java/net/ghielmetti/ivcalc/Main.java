@@ -1,11 +1,19 @@
 package net.ghielmetti.ivcalc;
 
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Locale;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.data.SpeciesIndex;
 import net.ghielmetti.ivcalc.gui.PokemonController;
 import net.ghielmetti.ivcalc.gui.model.PokemonModel;
 import net.ghielmetti.ivcalc.pokedex.Pokedex;
@@ -17,7 +25,9 @@ import net.ghielmetti.ivcalc.tools.PreferenceStore;
  * @author Leopoldo Ghielmetti
  */
 public class Main {
+  private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
   private static final Logger OUTPUT = LoggerFactory.getLogger("Output");
+  private static final String BATCH  = "--batch";
 
   private Main() {
     // nothing to do
@@ -25,7 +35,9 @@ public class Main {
 
   /**
    * If the main is called without arguments, starts the GUI.<br>
-   * If the arguments are given, compute the Pokémon without opening the GUI.
+   * If the arguments are given, compute the Pokémon without opening the GUI.<br>
+   * With <code>--batch [file]</code> the scans are read from the file (or the standard input) and computed in a
+   * single run.
    *
    * @param inArguments The arguments.
    */
@@ -43,6 +55,8 @@ public class Main {
 
     if (inArguments.length == 0) {
       startPokemonGUI();
+    } else if (BATCH.equals(inArguments[0]) && inArguments.length <= 2) {
+      batchSearch(inArguments);
     } else if (inArguments.length == 5) {
       searchPokemons(inArguments);
     } else {
@@ -50,14 +64,51 @@ public class Main {
     }
   }
 
+  /**
+   * Searches for matching Pokémons for all the scans of a file or of the standard input.<br>
+   * The results are written on the standard output and not with the output logger used by the other commands: they are
+   * data to be read by other programs (one line per scan), so they must not be formatted or filtered by the logging
+   * configuration.
+   *
+   * @param inArguments The program arguments.
+   */
+  void batchSearch(final String[] inArguments) {
+    String file = inArguments.length > 1 ? inArguments[1] : "-";
+
+    if ("-".equals(file)) {
+      // The standard input isn't closed, it doesn't belong to this method
+      batchSearch(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), file);
+    } else {
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+        batchSearch(reader, file);
+      } catch (IOException e) {
+        LOGGER.error("Unable to read the scans of \"{}\"", file, e);
+      }
+    }
+  }
+
   /**
    * Searches for matching Pokémons.
    *
    * @param inArguments The program arguments.
    */
   void searchPokemons(final String[] inArguments) {
-    PokemonModel model = new PokemonModel(null, null, null);
-    model.setPokemons(new Pokedex().getPokemonsFromPartialName(inArguments[0]));
+    Pokedex pokedex = new Pokedex();
+    PokemonModel model = new PokemonModel(null, pokedex, null);
+
+    if (SpeciesIndex.IDENTIFY.equals(inArguments[0])) {
+      model.setIdentify(true);
+    } else {
+      List<Pokemon> pokemons = pokedex.getPokemonsFromPartialName(inArguments[0]);
+
+      if (pokemons.isEmpty()) {
+        OUTPUT.error("Unknown Pokémon \"{}\"", inArguments[0]);
+        return;
+      }
+
+      model.setPokemons(pokemons);
+    }
+
     model.setCP(Integer.valueOf(inArguments[1]));
     model.setHP(Integer.valueOf(inArguments[2]));
     model.setSD(Integer.valueOf(inArguments[3]));
@@ -65,14 +116,25 @@ public class Main {
     model.searchCandidates();
   }
 
+  private void batchSearch(final BufferedReader inReader, final String inFile) {
+    try {
+      int parallelism = Integer.getInteger("ivcalc.parallelism", Runtime.getRuntime().availableProcessors()).intValue();
+      int count = new BatchSearch(new Pokedex(), parallelism).run(inReader, System.out);
+      LOGGER.info("{} scans processed", Integer.valueOf(count));
+    } catch (Exception e) {
+      LOGGER.error("Unable to process the scans of \"{}\"", inFile, e);
+    }
+  }
+
   /** Displays the help information on the console. */
   void showHelp() {
     OUTPUT.error("Wrong number of arguments, you should specify 5 arguments:\n" //
-        + "  1. The Pokémon name (or a partial name)\n" //
+        + "  1. The Pokémon name (or a partial name, \"" + SpeciesIndex.IDENTIFY + "\" to identify the species)\n" //
         + "  2. The CP\n" //
         + "  3. The HP\n" //
         + "  3. The SD\n" //
-        + "  5. The code representing the Pokémon appreciation.");
+        + "  5. The code representing the Pokémon appreciation.\n" //
+        + "or " + BATCH + " [file] to read the scans (one per line with the same 5 values) from a file or the standard input.");
   }
 
   /** Starts the Pokémon GUI. */
@@ -0,0 +1,160 @@
+package net.ghielmetti.ivcalc.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.ghielmetti.ivcalc.pokedex.Multiplier;
+
+/**
+ * Lookup table of the CP and HP of a Pokémon for every level and {@link IVLevel}.<br>
+ * The CP and the HP only depend on the base values, the level and the IVs, so they are computed once and then read from
+ * arrays. The CPs are computed by slices of 256 values (one level and one stamina IV) the first time the slice is
+ * requested, the HP only depends on the stamina IV and is computed with the table (16 values per level).<br>
+ * The tables are shared between the Pokémon with the same base values and the most recently used are kept in a cache
+ * of limited size, each {@link Pokemon} gets its table with {@link Pokemon#getCPTable()}.<br>
+ * A level without a multiplier (see {@link Multiplier#getMultiplierValue(int)}) has no CP nor HP, asking for it throws
+ * an {@link IllegalArgumentException}.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class CPTable {
+  /** The maximum number of tables kept in the cache. */
+  public static final int                     CACHE_SIZE = 16;
+  private static final Map<Long, CPTable>     cache      = new LinkedHashMap<Long, CPTable>(CACHE_SIZE, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Long, CPTable> inEldest) {
+      return size() > CACHE_SIZE;
+    }
+  };
+  private final int                           baseAttack;
+  private final int                           baseDefense;
+  private final int                           baseStamina;
+  private final AtomicReferenceArray<short[]> cpSlices;
+  private final short[][]                     hpPerLevel;
+
+  private CPTable(final int inBaseAttack, final int inBaseDefense, final int inBaseStamina) {
+    Multiplier multipliers = Multiplier.getInstance();
+    int levels = multipliers.getMaxLevel() + 1;
+
+    baseAttack = inBaseAttack;
+    baseDefense = inBaseDefense;
+    baseStamina = inBaseStamina;
+    cpSlices = new AtomicReferenceArray<>(levels * 16);
+    hpPerLevel = new short[levels][];
+
+    for (int level = 0; level < levels; level++) {
+      double multiplier = multipliers.getMultiplierValue(level);
+
+      if (multiplier == 0) {
+        // Unknown level, there is no table
+        continue;
+      }
+
+      hpPerLevel[level] = new short[16];
+
+      for (int s = 0; s <= 15; s++) {
+        hpPerLevel[level][s] = (short) computeHP(multiplier, s);
+      }
+    }
+  }
+
+  /**
+   * Returns the table for the given base values, creating it if not in the cache.
+   *
+   * @param inBaseAttack The base attack.
+   * @param inBaseDefense The base defense.
+   * @param inBaseStamina The base stamina.
+   * @return The {@link CPTable}.
+   */
+  static CPTable of(final int inBaseAttack, final int inBaseDefense, final int inBaseStamina) {
+    Long key = Long.valueOf((long) inBaseAttack << 40 | (long) inBaseDefense << 20 | inBaseStamina);
+
+    synchronized (cache) {
+      CPTable table = cache.get(key);
+
+      if (table == null) {
+        table = new CPTable(inBaseAttack, inBaseDefense, inBaseStamina);
+        cache.put(key, table);
+      }
+
+      return table;
+    }
+  }
+
+  /**
+   * Returns the CP for the given level and {@link IVLevel} code.
+   *
+   * @param inLevel The level.
+   * @param inCode The code of the {@link IVLevel} (see {@link IVCode}).
+   * @return The CP.
+   * @throws IllegalArgumentException If the level is unknown.
+   */
+  public int getCP(final int inLevel, final int inCode) {
+    return getCPs(inLevel, IVCode.stamina(inCode))[inCode >> 4];
+  }
+
+  /**
+   * Returns the CP of all the {@link IVLevel}s with the given level and stamina IV, indexed by
+   * <code>attack &lt;&lt; 4 | defense</code>.<br>
+   * The returned array is shared and must not be modified.
+   *
+   * @param inLevel The level (between 0 and {@link Multiplier#getMaxLevel()}).
+   * @param inIVStamina The stamina IV (between 0 and 15).
+   * @return The CPs.
+   * @throws IllegalArgumentException If the level is unknown.
+   */
+  public short[] getCPs(final int inLevel, final int inIVStamina) {
+    checkLevel(inLevel);
+
+    int index = inLevel << 4 | inIVStamina;
+    short[] cps = cpSlices.get(index);
+
+    if (cps == null) {
+      // Two threads can compute the same slice at the same time, but the result is the same
+      double multiplier = Multiplier.getInstance().getMultiplierValue(inLevel);
+      cps = new short[256];
+
+      for (int ad = 0; ad < 256; ad++) {
+        cps[ad] = (short) computeCP(multiplier, ad << 4 | inIVStamina);
+      }
+
+      cpSlices.set(index, cps);
+    }
+
+    return cps;
+  }
+
+  /**
+   * Returns the HP for the given level and stamina IV.
+   *
+   * @param inLevel The level.
+   * @param inIVStamina The stamina IV (between 0 and 15).
+   * @return The HP.
+   * @throws IllegalArgumentException If the level is unknown.
+   */
+  public int getHP(final int inLevel, final int inIVStamina) {
+    checkLevel(inLevel);
+
+    return hpPerLevel[inLevel][inIVStamina];
+  }
+
+  private void checkLevel(final int inLevel) {
+    if (inLevel < 0 || inLevel >= hpPerLevel.length || hpPerLevel[inLevel] == null) {
+      throw new IllegalArgumentException("Unknown level " + inLevel);
+    }
+  }
+
+  private int computeCP(final double inMultiplier, final int inCode) {
+    double a = (baseAttack + IVCode.attack(inCode)) * inMultiplier;
+    double d = (baseDefense + IVCode.defense(inCode)) * inMultiplier;
+    double s = (baseStamina + IVCode.stamina(inCode)) * inMultiplier;
+    return Pokemon.computeCP(a, d, s);
+  }
+
+  private int computeHP(final double inMultiplier, final int inIVStamina) {
+    return Math.max((int) Math.floor((baseStamina + inIVStamina) * inMultiplier), 10);
+  }
+}
@@ -1,33 +1,44 @@
 package net.ghielmetti.ivcalc.data;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 import java.util.SortedMap;
-import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 
 /**
  * Defines a list of Candidates.<br>
- * The half levels are considered by default.
+ * The half levels are considered by default.<br>
+ * The candidates of each level are stored in an {@link IVMask}, they are returned in the {@link IVLevel} natural order.
+ * <br>
+ * The values derived from the candidates (CP at level 40, CP ranges and IV percentages histogram) are computed once and again
+ * only when the candidates or the half levels flag change.
  *
  * @author Leopoldo Ghielmetti
  */
 public final class CandidateList {
-  private static final String                          LF             = System.getProperty("line.separator");
-  private final Pokemon                                pokemon;
-  private final Limit                                  limit;
-  private final SortedMap<Integer, SortedSet<IVLevel>> ivPerLevel     = new TreeMap<>();
-  private int                                          sizeFull;
-  private int                                          sizeHalf;
-  private boolean                                      withHalfLevels = true;
+  private static final String              LF             = System.getProperty("line.separator");
+  private static final int[]               ORDER          = sortedCodes();
+  private final Pokemon                    pokemon;
+  private final Limit                      limit;
+  private final SortedMap<Integer, IVMask> ivPerLevel     = new TreeMap<>();
+  private boolean                          withHalfLevels = true;
+  private Projections                      projections;
+
+  /** The values derived from the candidates. */
+  private static final class Projections {
+    private final Map<Integer, ImmutablePair<Integer, Integer>> cpRanges   = new TreeMap<>();
+    private final SortedMap<Integer, Integer>                   ivPercents = new TreeMap<>();
+    private int                                                  minCP40;
+    private int                                                  maxCP40;
+  }
 
   /**
    * Copy constructor for CandidateList object
@@ -37,12 +48,10 @@ public final class CandidateList {
   public CandidateList(final CandidateList inCandidateList) {
     pokemon = inCandidateList.pokemon;
     limit = inCandidateList.limit;
-    sizeFull = inCandidateList.sizeFull;
-    sizeHalf = inCandidateList.sizeHalf;
     withHalfLevels = inCandidateList.withHalfLevels;
 
-    for (Entry<Integer, SortedSet<IVLevel>> element : inCandidateList.ivPerLevel.entrySet()) {
-      ivPerLevel.put(element.getKey(), new TreeSet<>(element.getValue()));
+    for (Entry<Integer, IVMask> element : inCandidateList.ivPerLevel.entrySet()) {
+      ivPerLevel.put(element.getKey(), new IVMask(element.getValue()));
     }
   }
 
@@ -80,20 +89,25 @@ public final class CandidateList {
    * @param inIVLevel The {@link IVLevel}.
    */
   public void addIVLevel(final Integer inLevel, final IVLevel inIVLevel) {
-    SortedSet<IVLevel> list = ivPerLevel.get(inLevel);
-
-    if (list == null) {
-      list = new TreeSet<>();
-      ivPerLevel.put(inLevel, list);
-    }
+    addIVCode(inLevel, inIVLevel.getCode());
+  }
 
-    list.add(inIVLevel);
+  /**
+   * Add the {@link IVLevel} with the specified code to the candidates list for the level.
+   *
+   * @param inLevel The Pokémon level.
+   * @param inCode The code of the {@link IVLevel} (see {@link IVCode}).
+   */
+  public void addIVCode(final Integer inLevel, final int inCode) {
+    IVMask mask = ivPerLevel.get(inLevel);
 
-    if ((inLevel.intValue() & 1) == 0) {
-      sizeFull++;
-    } else {
-      sizeHalf++;
+    if (mask == null) {
+      mask = new IVMask();
+      ivPerLevel.put(inLevel, mask);
     }
+
+    mask.set(inCode);
+    projections = null;
   }
 
   @Override
@@ -131,34 +145,72 @@ public final class CandidateList {
    * @param inCandidateList The filter list.
    */
   public void filter(final CandidateList inCandidateList) {
-    Set<IVLevel> ivLevels = new HashSet<>();
+    IVMask ivLevels = new IVMask();
 
-    inCandidateList.ivPerLevel.entrySet().stream().forEach(e -> {
-      if (toTake(e.getKey())) {
-        ivLevels.addAll(e.getValue());
+    for (Entry<Integer, IVMask> element : inCandidateList.ivPerLevel.entrySet()) {
+      if (toTake(element.getKey())) {
+        ivLevels.addAll(element.getValue());
       }
-    });
+    }
 
-    ivPerLevel.values().stream().forEach(v -> v.retainAll(ivLevels));
+    ivPerLevel.values().forEach(mask -> mask.retainAll(ivLevels));
     ivPerLevel.entrySet().removeIf(e -> e.getValue().isEmpty());
+    projections = null;
   }
 
   /**
    * Returns a list of possible IVLevels for the specified level.
    *
    * @param inLevel The level.
-   * @return A {@link List} of {@link IVLevel} or <code>null</code> if none.
+   * @return A {@link List} of {@link IVLevel} (empty if none).
    */
   public List<IVLevel> getIVLevels(final Integer inLevel) {
     List<IVLevel> list = new ArrayList<>();
+    IVMask mask = ivPerLevel.get(inLevel);
 
-    if (toTake(inLevel)) {
-      list.addAll(ivPerLevel.get(inLevel));
+    if (mask != null && toTake(inLevel)) {
+      for (int code : ORDER) {
+        if (mask.get(code)) {
+          list.add(IVLevel.valueOf(code));
+        }
+      }
     }
 
     return list;
   }
 
+  /**
+   * Returns the read only {@link IVMask} of the {@link IVLevel}s for the specified level.
+   *
+   * @param inLevel The level.
+   * @return The {@link IVMask} (empty if none).
+   */
+  public IVMask getIVMask(final Integer inLevel) {
+    IVMask mask = ivPerLevel.get(inLevel);
+    return mask == null || !toTake(inLevel) ? new IVMask().toReadOnly() : mask.toReadOnly();
+  }
+
+  /**
+   * Returns the number of candidates for each IV percentage (<code>total * 100 / 45</code>).
+   *
+   * @return A read only {@link SortedMap} with the count of the candidates by IV percentage, only the percentages with
+   *         at least one candidate are present.
+   */
+  public SortedMap<Integer, Integer> getIVPercentHistogram() {
+    return Collections.unmodifiableSortedMap(getProjections().ivPercents);
+  }
+
+  /**
+   * Returns the minimum and maximum CP of the candidates at the specified level.
+   *
+   * @param inLevel The level.
+   * @return An {@link ImmutablePair} with the minimum and the maximum CP or <code>null</code> if there are no candidates
+   *         at this level.
+   */
+  public ImmutablePair<Integer, Integer> getCPRange(final Integer inLevel) {
+    return getProjections().cpRanges.get(inLevel);
+  }
+
   /**
    * Returns the {@link Limit} used to define these candidates.
    *
@@ -174,17 +226,16 @@ public final class CandidateList {
    * @return The max CP.
    */
   public int getMaxCP() {
-    int max = 0;
-
-    for (Entry<Integer, SortedSet<IVLevel>> entry : ivPerLevel.entrySet()) {
-      if (toTake(entry.getKey())) {
-        for (IVLevel ivLevel : entry.getValue()) {
-          max = Math.max(max, pokemon.getCPForLevel(80, ivLevel));
-        }
-      }
-    }
+    return getProjections().maxCP40;
+  }
 
-    return max;
+  /**
+   * Returns the possible minimum CP at level 40 for this list.
+   *
+   * @return The min CP (0 if the list is empty).
+   */
+  public int getMinCP() {
+    return getProjections().minCP40;
   }
 
   /**
@@ -240,7 +291,10 @@ public final class CandidateList {
    * @param inWithHalfLevels <code>true</code> if the half levels are considered.
    */
   public void setWithHalfLevels(final boolean inWithHalfLevels) {
-    withHalfLevels = inWithHalfLevels;
+    if (withHalfLevels != inWithHalfLevels) {
+      withHalfLevels = inWithHalfLevels;
+      projections = null;
+    }
   }
 
   /**
@@ -249,11 +303,15 @@ public final class CandidateList {
    * @return The size.
    */
   public int size() {
-    if (withHalfLevels) {
-      return sizeFull + sizeHalf;
+    int size = 0;
+
+    for (Entry<Integer, IVMask> entry : ivPerLevel.entrySet()) {
+      if (toTake(entry.getKey())) {
+        size += entry.getValue().cardinality();
+      }
     }
 
-    return sizeFull;
+    return size;
   }
 
   @Override
@@ -267,11 +325,11 @@ public final class CandidateList {
         .append("  Base stamina: ").append(baseValues.getRight()).append(LF) //
         .append(LF);
 
-    for (Entry<Integer, SortedSet<IVLevel>> entry : ivPerLevel.entrySet()) {
-      if (toTake(entry.getKey())) {
-        String trueLevel = Double.toString(entry.getKey().doubleValue() / 2.0);
+    for (Integer level : ivPerLevel.keySet()) {
+      if (toTake(level)) {
+        String trueLevel = Double.toString(level.doubleValue() / 2.0);
 
-        for (IVLevel ivLevel : entry.getValue()) {
+        for (IVLevel ivLevel : getIVLevels(level)) {
           sb.append(trueLevel).append(" ").append(ivLevel).append(LF);
         }
       }
@@ -280,6 +338,64 @@ public final class CandidateList {
     return sb.toString();
   }
 
+  private Projections getProjections() {
+    Projections current = projections;
+
+    if (current == null) {
+      current = new Projections();
+      CPTable table = pokemon.getCPTable();
+      int[] totals = new int[46];
+      int min = Integer.MAX_VALUE;
+      int max = 0;
+
+      for (Entry<Integer, IVMask> entry : ivPerLevel.entrySet()) {
+        if (toTake(entry.getKey())) {
+          IVMask mask = entry.getValue();
+          int level = entry.getKey().intValue();
+          int levelMin = Integer.MAX_VALUE;
+          int levelMax = 0;
+
+          for (int code = mask.nextSetBit(0); code >= 0; code = mask.nextSetBit(code + 1)) {
+            int cp40 = table.getCP(80, code);
+            int cp = table.getCP(level, code);
+            min = Math.min(min, cp40);
+            max = Math.max(max, cp40);
+            levelMin = Math.min(levelMin, cp);
+            levelMax = Math.max(levelMax, cp);
+            totals[IVCode.total(code)]++;
+          }
+
+          current.cpRanges.put(entry.getKey(), ImmutablePair.of(Integer.valueOf(levelMin), Integer.valueOf(levelMax)));
+        }
+      }
+
+      for (int total = 0; total < totals.length; total++) {
+        if (totals[total] > 0) {
+          current.ivPercents.put(Integer.valueOf(total * 100 / 45), Integer.valueOf(totals[total]));
+        }
+      }
+
+      current.minCP40 = max == 0 ? 0 : min;
+      current.maxCP40 = max;
+      projections = current;
+    }
+
+    return current;
+  }
+
+  /**
+   * Returns all the {@link IVLevel} codes in the {@link IVLevel} natural order.
+   *
+   * @return The sorted codes.
+   */
+  private static int[] sortedCodes() {
+    return IntStream.range(0, IVCode.COUNT) //
+        .mapToObj(IVLevel::valueOf) //
+        .sorted() //
+        .mapToInt(IVLevel::getCode) //
+        .toArray();
+  }
+
   private boolean toTake(final Integer inLevel) {
     return withHalfLevels || (inLevel.intValue() & 1) == 0;
   }
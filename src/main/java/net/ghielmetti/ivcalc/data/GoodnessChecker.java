@@ -18,6 +18,7 @@ public final class GoodnessChecker implements Serializable {
   private int                  minAttack;
   private int                  minDefense;
   private int                  minStamina;
+  private transient IVMask     mask;
 
   /**
    * Copy constructor.
@@ -98,6 +99,33 @@ public final class GoodnessChecker implements Serializable {
     return true;
   }
 
+  /**
+   * Returns the read only {@link IVMask} of all the {@link IVLevel}s that are good for this checker.<br>
+   * The mask is computed once and again only when a minimum is changed.
+   *
+   * @return The mask.
+   */
+  public IVMask getMask() {
+    IVMask good = mask;
+
+    if (good == null) {
+      IVMask newMask = new IVMask();
+
+      for (int a = minAttack; a <= 15; a++) {
+        for (int d = minDefense; d <= 15; d++) {
+          for (int s = Math.max(minStamina, minTotal - a - d); s <= 15; s++) {
+            newMask.set(IVCode.encode(a, d, s));
+          }
+        }
+      }
+
+      good = newMask.toReadOnly();
+      mask = good;
+    }
+
+    return good;
+  }
+
   /**
    * Getter for the min attack property.
    *
@@ -158,10 +186,20 @@ public final class GoodnessChecker implements Serializable {
    * @return <code>true</code> if it's good.
    */
   public boolean isGood(final IVLevel inIVLevel) {
-    return inIVLevel.getTotal() >= minTotal //
-        && inIVLevel.getStamina() >= minStamina //
-        && inIVLevel.getAttack() >= minAttack //
-        && inIVLevel.getDefense() >= minDefense;
+    return isGood(inIVLevel.getCode());
+  }
+
+  /**
+   * Checks if the {@link IVLevel} with the given code is good for this checker.
+   *
+   * @param inCode The code of the {@link IVLevel} to check (see {@link IVCode}).
+   * @return <code>true</code> if it's good.
+   */
+  public boolean isGood(final int inCode) {
+    return IVCode.total(inCode) >= minTotal //
+        && IVCode.stamina(inCode) >= minStamina //
+        && IVCode.attack(inCode) >= minAttack //
+        && IVCode.defense(inCode) >= minDefense;
   }
 
   /**
@@ -178,6 +216,8 @@ public final class GoodnessChecker implements Serializable {
     } else {
       minAttack = inMinAttack;
     }
+
+    mask = null;
   }
 
   /**
@@ -194,6 +234,8 @@ public final class GoodnessChecker implements Serializable {
     } else {
       minDefense = inMinDefense;
     }
+
+    mask = null;
   }
 
   /**
@@ -210,6 +252,8 @@ public final class GoodnessChecker implements Serializable {
     } else {
       minStamina = inMinStamina;
     }
+
+    mask = null;
   }
 
   /**
@@ -226,6 +270,8 @@ public final class GoodnessChecker implements Serializable {
     } else {
       minTotal = inMinTotal;
     }
+
+    mask = null;
   }
 
   @Override
@@ -0,0 +1,110 @@
+package net.ghielmetti.ivcalc.data;
+
+/**
+ * Packed representation of an {@link IVLevel}.<br>
+ * The three IVs are packed in a 12 bits <code>int</code> (<code>attack &lt;&lt; 8 | defense &lt;&lt; 4 |
+ * stamina</code>), so the hot paths can work on primitive values without allocating objects. The code is also the index
+ * of the {@link IVLevel} in an {@link IVMask} and in {@link IVLevel#valueOf(int)}.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class IVCode {
+  /** The number of possible codes. */
+  public static final int COUNT = 4096;
+
+  private IVCode() {
+    // nothing to do
+  }
+
+  /**
+   * Returns the attack IV of the code.
+   *
+   * @param inCode The code.
+   * @return The attack IV.
+   */
+  public static int attack(final int inCode) {
+    return inCode >> 8 & 15;
+  }
+
+  /**
+   * Returns the defense IV of the code.
+   *
+   * @param inCode The code.
+   * @return The defense IV.
+   */
+  public static int defense(final int inCode) {
+    return inCode >> 4 & 15;
+  }
+
+  /**
+   * Packs the IVs in a code.
+   *
+   * @param inIVAttack The attack IV (between 0 and 15)
+   * @param inIVDefense The defense IV (between 0 and 15)
+   * @param inIVStamina The stamina IV (between 0 and 15)
+   * @return The code.
+   */
+  public static int encode(final int inIVAttack, final int inIVDefense, final int inIVStamina) {
+    return inIVAttack << 8 | inIVDefense << 4 | inIVStamina;
+  }
+
+  /**
+   * Returns <code>true</code> if the attack has the highest value.
+   *
+   * @param inCode The code.
+   * @return <code>true</code> if it's the strongest.
+   */
+  public static boolean isAttack(final int inCode) {
+    return attack(inCode) == maxIV(inCode);
+  }
+
+  /**
+   * Returns <code>true</code> if the defense has the highest value.
+   *
+   * @param inCode The code.
+   * @return <code>true</code> if it's the strongest.
+   */
+  public static boolean isDefense(final int inCode) {
+    return defense(inCode) == maxIV(inCode);
+  }
+
+  /**
+   * Returns <code>true</code> if the stamina has the highest value.
+   *
+   * @param inCode The code.
+   * @return <code>true</code> if it's the strongest.
+   */
+  public static boolean isStamina(final int inCode) {
+    return stamina(inCode) == maxIV(inCode);
+  }
+
+  /**
+   * Returns the highest IV of the code.
+   *
+   * @param inCode The code.
+   * @return The max IV.
+   */
+  public static int maxIV(final int inCode) {
+    return Math.max(attack(inCode), Math.max(defense(inCode), stamina(inCode)));
+  }
+
+  /**
+   * Returns the stamina IV of the code.
+   *
+   * @param inCode The code.
+   * @return The stamina IV.
+   */
+  public static int stamina(final int inCode) {
+    return inCode & 15;
+  }
+
+  /**
+   * Returns the total of the IVs of the code (from 0 to 45).
+   *
+   * @param inCode The code.
+   * @return The sum of the IVs.
+   */
+  public static int total(final int inCode) {
+    return attack(inCode) + defense(inCode) + stamina(inCode);
+  }
+}
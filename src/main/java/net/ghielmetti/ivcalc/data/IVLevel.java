@@ -3,10 +3,14 @@ package net.ghielmetti.ivcalc.data;
 /**
  * This object represent a group of IV that makes a Pokémon possibility.<br>
  * Each IV can take a value from 0 to 15 and together makes a possibility. So there are 4096 different {@link IVLevel}s.
+ * <br>
+ * The {@link IVLevel}s are immutable, the canonical instances returned by {@link #valueOf(int)} should be used instead of
+ * allocating new ones.
  *
  * @author Leopoldo Ghielmetti
  */
 public final class IVLevel implements Comparable<IVLevel> {
+  private static final IVLevel[] LEVELS = new IVLevel[IVCode.COUNT];
   private final int     sum;
   private final int     attack;
   private final int     defense;
@@ -39,6 +43,34 @@ public final class IVLevel implements Comparable<IVLevel> {
     isStamina = maxIV == stamina;
   }
 
+  static {
+    for (int code = 0; code < IVCode.COUNT; code++) {
+      LEVELS[code] = new IVLevel(IVCode.attack(code), IVCode.defense(code), IVCode.stamina(code));
+    }
+  }
+
+  /**
+   * Returns the canonical {@link IVLevel} for the given IVs.
+   *
+   * @param inIVAttack The attack IV (between 0 and 15)
+   * @param inIVDefense The defense IV (between 0 and 15)
+   * @param inIVStamina The stamina IV (between 0 and 15)
+   * @return The {@link IVLevel}.
+   */
+  public static IVLevel valueOf(final int inIVAttack, final int inIVDefense, final int inIVStamina) {
+    return LEVELS[IVCode.encode(inIVAttack, inIVDefense, inIVStamina)];
+  }
+
+  /**
+   * Returns the canonical {@link IVLevel} for the given code.
+   *
+   * @param inCode The code (see {@link IVCode}).
+   * @return The {@link IVLevel}.
+   */
+  public static IVLevel valueOf(final int inCode) {
+    return LEVELS[inCode];
+  }
+
   @Override
   public int compareTo(final IVLevel inLevel) {
     if (sum < inLevel.sum) {
@@ -89,6 +121,15 @@ public final class IVLevel implements Comparable<IVLevel> {
     return attack;
   }
 
+  /**
+   * Returns the packed code of this {@link IVLevel} (see {@link IVCode}).
+   *
+   * @return The code.
+   */
+  public int getCode() {
+    return IVCode.encode(attack, defense, stamina);
+  }
+
   /**
    * Returns the defense IV.
    *
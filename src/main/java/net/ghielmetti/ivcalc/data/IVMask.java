@@ -0,0 +1,307 @@
+package net.ghielmetti.ivcalc.data;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of {@link IVLevel}s stored as a mask of 4096 bits.<br>
+ * Each {@link IVLevel} is identified by its {@link IVCode} (<code>attack &lt;&lt; 8 | defense &lt;&lt; 4 | stamina</code>), so
+ * the sets can be intersected, merged and iterated working on 64 bits words instead of objects.<br>
+ * A mask can be read only, in this case all the modifying methods throws an {@link UnsupportedOperationException}.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class IVMask {
+  /** The number of bits of a mask (one for each possible {@link IVLevel}). */
+  public static final int SIZE  = IVCode.COUNT;
+  private static final int WORDS = SIZE / 64;
+  private final long[]     words;
+  private final boolean    readOnly;
+
+  /** Creates a new empty mask. */
+  public IVMask() {
+    words = new long[WORDS];
+    readOnly = false;
+  }
+
+  /**
+   * Copy constructor, the copy is always modifiable.
+   *
+   * @param inMask The mask to copy.
+   */
+  public IVMask(final IVMask inMask) {
+    words = inMask.words.clone();
+    readOnly = false;
+  }
+
+  private IVMask(final long[] inWords, final boolean inReadOnly) {
+    words = inWords;
+    readOnly = inReadOnly;
+  }
+
+  /**
+   * Returns the index of the specified IVs in a mask.
+   *
+   * @param inIVAttack The attack IV (between 0 and 15)
+   * @param inIVDefense The defense IV (between 0 and 15)
+   * @param inIVStamina The stamina IV (between 0 and 15)
+   * @return The index.
+   */
+  public static int index(final int inIVAttack, final int inIVDefense, final int inIVStamina) {
+    return IVCode.encode(inIVAttack, inIVDefense, inIVStamina);
+  }
+
+  /**
+   * Returns the index of the specified {@link IVLevel} in a mask.
+   *
+   * @param inIVLevel The {@link IVLevel}.
+   * @return The index.
+   */
+  public static int index(final IVLevel inIVLevel) {
+    return inIVLevel.getCode();
+  }
+
+  /**
+   * Creates a mask from its bytes (see {@link #toByteArray()}).
+   *
+   * @param inBytes The bytes, the missing ones are considered 0.
+   * @return The mask.
+   */
+  public static IVMask valueOf(final byte[] inBytes) {
+    IVMask mask = new IVMask();
+
+    for (int i = 0; i < inBytes.length && i < SIZE / 8; i++) {
+      mask.words[i >> 3] |= (inBytes[i] & 0xFFL) << ((i & 7) << 3);
+    }
+
+    return mask;
+  }
+
+  /**
+   * Adds the specified {@link IVLevel} to this mask.
+   *
+   * @param inIVLevel The {@link IVLevel}.
+   */
+  public void add(final IVLevel inIVLevel) {
+    set(index(inIVLevel));
+  }
+
+  /**
+   * Adds to this mask all the {@link IVLevel}s of the given mask (union).
+   *
+   * @param inMask The other mask.
+   * @return This mask.
+   */
+  public IVMask addAll(final IVMask inMask) {
+    checkWritable();
+
+    for (int i = 0; i < WORDS; i++) {
+      words[i] |= inMask.words[i];
+    }
+
+    return this;
+  }
+
+  /**
+   * Returns the number of {@link IVLevel}s in this mask.
+   *
+   * @return The number of bits set.
+   */
+  public int cardinality() {
+    int count = 0;
+
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+
+    return count;
+  }
+
+  /**
+   * Removes the bit at the specified index.
+   *
+   * @param inIndex The index.
+   */
+  public void clear(final int inIndex) {
+    checkWritable();
+    words[inIndex >> 6] &= ~(1L << inIndex);
+  }
+
+  /**
+   * Returns <code>true</code> if the {@link IVLevel} is in this mask.
+   *
+   * @param inIVLevel The {@link IVLevel}.
+   * @return <code>true</code> if present.
+   */
+  public boolean contains(final IVLevel inIVLevel) {
+    return get(index(inIVLevel));
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    return Arrays.equals(words, ((IVMask) obj).words);
+  }
+
+  /**
+   * Calls the consumer with the index of each bit set, in increasing order.
+   *
+   * @param inConsumer The consumer.
+   */
+  public void forEach(final IntConsumer inConsumer) {
+    for (int i = 0; i < WORDS; i++) {
+      long word = words[i];
+
+      while (word != 0) {
+        inConsumer.accept(i << 6 | Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+  }
+
+  /**
+   * Returns <code>true</code> if the bit at the specified index is set.
+   *
+   * @param inIndex The index.
+   * @return <code>true</code> if set.
+   */
+  public boolean get(final int inIndex) {
+    return (words[inIndex >> 6] & 1L << inIndex) != 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(words);
+  }
+
+  /**
+   * Returns <code>true</code> if this mask and the given one have at least one {@link IVLevel} in common.
+   *
+   * @param inMask The other mask.
+   * @return <code>true</code> if they intersects.
+   */
+  public boolean intersects(final IVMask inMask) {
+    for (int i = 0; i < WORDS; i++) {
+      if ((words[i] & inMask.words[i]) != 0) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Returns <code>true</code> if the mask is empty.
+   *
+   * @return <code>true</code> if empty.
+   */
+  public boolean isEmpty() {
+    for (long word : words) {
+      if (word != 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns the index of the first bit set starting from the specified index.
+   *
+   * @param inFromIndex The index where to start.
+   * @return The index of the bit or -1 if none.
+   */
+  public int nextSetBit(final int inFromIndex) {
+    if (inFromIndex >= SIZE) {
+      return -1;
+    }
+
+    int i = inFromIndex >> 6;
+    long word = words[i] & -1L << inFromIndex;
+
+    while (word == 0) {
+      if (++i == WORDS) {
+        return -1;
+      }
+
+      word = words[i];
+    }
+
+    return i << 6 | Long.numberOfTrailingZeros(word);
+  }
+
+  /**
+   * Keeps in this mask only the {@link IVLevel}s also present in the given mask (intersection).
+   *
+   * @param inMask The other mask.
+   * @return This mask.
+   */
+  public IVMask retainAll(final IVMask inMask) {
+    checkWritable();
+
+    for (int i = 0; i < WORDS; i++) {
+      words[i] &= inMask.words[i];
+    }
+
+    return this;
+  }
+
+  /**
+   * Sets the bit at the specified index.
+   *
+   * @param inIndex The index.
+   */
+  public void set(final int inIndex) {
+    checkWritable();
+    words[inIndex >> 6] |= 1L << inIndex;
+  }
+
+  /**
+   * Returns the bytes of this mask, the bit with index <code>i</code> is the bit <code>i % 8</code> of the byte
+   * <code>i / 8</code>.<br>
+   * The trailing bytes without bits set are omitted, so the array is empty if the mask is empty.
+   *
+   * @return The bytes.
+   */
+  public byte[] toByteArray() {
+    int length = SIZE / 8;
+
+    while (length > 0 && (words[length - 1 >> 3] >>> ((length - 1 & 7) << 3) & 0xFF) == 0) {
+      length--;
+    }
+
+    byte[] bytes = new byte[length];
+
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (words[i >> 3] >>> ((i & 7) << 3));
+    }
+
+    return bytes;
+  }
+
+  /**
+   * Returns a read only view of this mask.<br>
+   * The view reflects the changes made to this mask.
+   *
+   * @return The read only mask.
+   */
+  public IVMask toReadOnly() {
+    return readOnly ? this : new IVMask(words, true);
+  }
+
+  @Override
+  public String toString() {
+    return "IVMask[cardinality=" + cardinality() + "]";
+  }
+
+  private void checkWritable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException("The mask is read only");
+    }
+  }
+}
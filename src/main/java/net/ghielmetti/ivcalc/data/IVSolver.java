@@ -0,0 +1,103 @@
+package net.ghielmetti.ivcalc.data;
+
+import net.ghielmetti.ivcalc.pokedex.Multiplier;
+
+/**
+ * Computes the possible {@link IVLevel}s of a Pokémon given the CP, HP and stardust seen in the game.<br>
+ * Instead of testing all the 4096 IV combinations for every level, the solver first selects the stamina IVs that
+ * produce the given HP. Then, since the CP grows with each IV, the attack and defense IVs are bounded using the CP
+ * before being enumerated, so only few combinations are really tested.<br>
+ * The CP and HP are read from the {@link CPTable} of the Pokémon. The result is exactly the same as testing every
+ * combination.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class IVSolver {
+  private final Pokemon pokemon;
+  private final CPTable table;
+
+  /**
+   * Creates a solver for the given Pokémon.
+   *
+   * @param inPokemon The Pokémon.
+   */
+  public IVSolver(final Pokemon inPokemon) {
+    pokemon = inPokemon;
+    table = inPokemon.getCPTable();
+  }
+
+  /**
+   * Returns a list of possible IV for the Pokémon given the game characteristics.
+   *
+   * @param inLimit The {@link Limit} that constraints the possible {@link IVLevel}s.
+   * @param inCP The given CP.
+   * @param inHP The given HP.
+   * @param inStardust The given stardust.
+   * @return A {@link CandidateList}.
+   */
+  public CandidateList solve(final Limit inLimit, final int inCP, final int inHP, final int inStardust) {
+    CandidateList candidates = new CandidateList(pokemon, inLimit);
+    IVMask mask = inLimit.getMask();
+
+    if (!mask.isEmpty()) {
+      Multiplier multipliers = Multiplier.getInstance();
+
+      for (int level = multipliers.getFirstLevel(inStardust); level <= multipliers.getLastLevel(inStardust); level++) {
+        solveLevel(candidates, mask, level, inCP, inHP);
+      }
+    }
+
+    return candidates;
+  }
+
+  /**
+   * Adds to the candidates all the {@link IVLevel}s matching the CP and HP at the given level.
+   *
+   * @param inCandidates The list where the candidates are added.
+   * @param inMask The {@link IVMask} of the allowed {@link IVLevel}s.
+   * @param inLevel The level.
+   * @param inCP The given CP.
+   * @param inHP The given HP.
+   */
+  private void solveLevel(final CandidateList inCandidates, final IVMask inMask, final int inLevel, final int inCP, final int inHP) {
+    for (int s = 0; s <= 15; s++) {
+      int hp = table.getHP(inLevel, s);
+
+      if (hp > inHP) {
+        // The HP only grows with the stamina
+        break;
+      }
+
+      if (hp == inHP) {
+        short[] cps = table.getCPs(inLevel, s);
+
+        for (int a = 0; a <= 15; a++) {
+          if (cps[a << 4] > inCP) {
+            // Even the lowest defense gives a too high CP, the next attacks will be even higher
+            break;
+          }
+
+          if (cps[a << 4 | 15] >= inCP) {
+            solveDefense(inCandidates, inMask, inLevel, cps, a, s, inCP);
+          }
+        }
+      }
+    }
+  }
+
+  private void solveDefense(final CandidateList inCandidates, final IVMask inMask, final int inLevel, final short[] inCPs, final int inIVAttack, final int inIVStamina, final int inCP) {
+    for (int d = 0; d <= 15; d++) {
+      int cp = inCPs[inIVAttack << 4 | d];
+
+      if (cp > inCP) {
+        break;
+      }
+
+      int code = IVCode.encode(inIVAttack, d, inIVStamina);
+
+      if (cp == inCP && inMask.get(code)) {
+        inCandidates.addIVCode(Integer.valueOf(inLevel), code);
+      }
+    }
+  }
+}
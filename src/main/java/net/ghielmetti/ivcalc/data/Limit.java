@@ -1,5 +1,7 @@
 package net.ghielmetti.ivcalc.data;
 
+import net.ghielmetti.ivcalc.pokedex.IVMap;
+
 /**
  * A {@link Limit} represent a mask for the Pokémon levels.<br>
  * Once defined, a limit allow to check if a particular {@link IVLevel} matches the filter. This correspond to the
@@ -146,6 +148,15 @@ public final class Limit implements Comparable<Limit> {
     return level;
   }
 
+  /**
+   * Returns the precomputed read only {@link IVMask} of all the {@link IVLevel}s matching this limit.
+   *
+   * @return The mask.
+   */
+  public IVMask getMask() {
+    return IVMap.getMask(this);
+  }
+
   /**
    * Returns the strength specifier for this limit.
    *
@@ -1,39 +1,45 @@
 package net.ghielmetti.ivcalc.data;
 
-import java.awt.Image;
-import java.net.URL;
-import java.util.Collection;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import javax.swing.Icon;
-import javax.swing.ImageIcon;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 
-import net.ghielmetti.ivcalc.pokedex.IVMap;
 import net.ghielmetti.ivcalc.pokedex.Multiplier;
+import net.ghielmetti.ivcalc.pokedex.PokemonNames;
 import net.ghielmetti.ivcalc.pokedex.Type;
+import net.ghielmetti.ivcalc.tools.SpriteCache;
 
 /**
- * Represent a Pokémon with his characteristics.
+ * Represent a Pokémon with his characteristics.<br>
+ * The natural order is by number and then by the (not translated) name, so it doesn't change with the language. The
+ * lists shown to the user are sorted with {@link #BY_NAME}.
  *
  * @author Leopoldo Ghielmetti
  */
 public final class Pokemon implements Comparable<Pokemon> {
-  private final ImageIcon icon;
-  private final ImageIcon smallIcon;
-  private final int       number;
-  private final String    name;
-  private final int       baseAttack;
-  private final int       baseDefense;
-  private final int       baseStamina;
-  private final Type[]    types;
+  /** Sorts the Pokémons by name in the current language, the order changes when the language changes. */
+  public static final Comparator<Pokemon> BY_NAME = Comparator.comparing(Pokemon::getName);
+  private final int                       number;
+  private final String                    name;
+  private final int                       baseAttack;
+  private final int                       baseDefense;
+  private final int                       baseStamina;
+  private final Type[]                    types;
+  private final boolean                   translated;
+  private Reference<CPTable>              cpTable = new WeakReference<>(null);
+  private StatBounds                      statBounds;
 
   /**
-   * Creates a new Pokémon.
+   * Creates a new Pokémon.<br>
+   * If the name is the name of the Pokémon with this number in any language, the Pokémon is always named in the
+   * current language (see {@link PokemonNames}).
    *
    * @param inNumber The Pokémon number in the Pokédex.
    * @param inName The Pokémon name.
@@ -49,16 +55,7 @@ public final class Pokemon implements Comparable<Pokemon> {
     baseDefense = inBaseDefense;
     baseStamina = inBaseStamina;
     types = inTypes;
-
-    URL iconURL = getClass().getResource("/images/" + inNumber + ".png");
-
-    if (iconURL == null) {
-      icon = null;
-      smallIcon = null;
-    } else {
-      icon = new ImageIcon(iconURL);
-      smallIcon = new ImageIcon(icon.getImage().getScaledInstance(32, 32, Image.SCALE_SMOOTH));
-    }
+    translated = PokemonNames.getInstance().getNumber(inName) == inNumber;
   }
 
   /**
@@ -69,13 +66,14 @@ public final class Pokemon implements Comparable<Pokemon> {
    * @param inStamina The stamina points.
    * @return The CP.
    */
-  private static int computeCP(final double inAttack, final double inDefense, final double inStamina) {
+  static int computeCP(final double inAttack, final double inDefense, final double inStamina) {
     return Math.max((int) Math.floor(Math.sqrt(inStamina * inDefense) * inAttack / 10.0), 10);
   }
 
   @Override
   public int compareTo(final Pokemon inOther) {
-    return name.compareTo(inOther.name);
+    int result = Integer.compare(number, inOther.number);
+    return result == 0 ? name.compareTo(inOther.name) : result;
   }
 
   @Override
@@ -90,6 +88,9 @@ public final class Pokemon implements Comparable<Pokemon> {
       return false;
     }
     Pokemon other = (Pokemon) obj;
+    if (number != other.number) {
+      return false;
+    }
     if (name == null) {
       if (other.name != null) {
         return false;
@@ -117,11 +118,7 @@ public final class Pokemon implements Comparable<Pokemon> {
    * @return The CP.
    */
   public int getCPForLevel(final int inLevel, final IVLevel inIVLevel) {
-    double multiplier = Multiplier.getInstance().getMultiplier(inLevel).doubleValue();
-    double a = (baseAttack + inIVLevel.getAttack()) * multiplier;
-    double d = (baseDefense + inIVLevel.getDefense()) * multiplier;
-    double s = (baseStamina + inIVLevel.getStamina()) * multiplier;
-    return computeCP(a, d, s);
+    return getCPTable().getCP(inLevel, inIVLevel.getCode());
   }
 
   /**
@@ -133,23 +130,40 @@ public final class Pokemon implements Comparable<Pokemon> {
    */
   public Map<Integer, Integer> getCPForStardust(final int inStardust, final IVLevel inIV) {
     Map<Integer, Integer> cpList = new HashMap<>();
-    List<ImmutablePair<Integer, Double>> candidates = Multiplier.getInstance().getMultipliers(inStardust);
-    for (ImmutablePair<Integer, Double> candidate : candidates) {
-      double a = (baseAttack + inIV.getAttack()) * candidate.getRight().doubleValue();
-      double d = (baseDefense + inIV.getDefense()) * candidate.getRight().doubleValue();
-      double s = (baseStamina + inIV.getStamina()) * candidate.getRight().doubleValue();
-      cpList.put(candidate.getLeft(), Integer.valueOf(computeCP(a, d, s)));
+    Multiplier multipliers = Multiplier.getInstance();
+    CPTable table = getCPTable();
+    int code = inIV.getCode();
+    for (int level = multipliers.getFirstLevel(inStardust); level <= multipliers.getLastLevel(inStardust); level++) {
+      cpList.put(Integer.valueOf(level), Integer.valueOf(table.getCP(level, code)));
     }
     return cpList;
   }
 
   /**
-   * Returns the icon of this Pokémon (if present).
+   * Returns the {@link CPTable} of this Pokémon.<br>
+   * The table is only weakly referenced, so the memory is released when it's removed from the cache of the tables.
+   *
+   * @return The {@link CPTable}.
+   */
+  public CPTable getCPTable() {
+    CPTable table = cpTable.get();
+
+    if (table == null) {
+      table = CPTable.of(baseAttack, baseDefense, baseStamina);
+      cpTable = new WeakReference<>(table);
+    }
+
+    return table;
+  }
+
+  /**
+   * Returns the icon of this Pokémon (if present).<br>
+   * The sprite is decoded by the {@link SpriteCache} the first time the icon is painted.
    *
    * @return The icon or <code>null</code>.
    */
   public Icon getIcon() {
-    return icon;
+    return SpriteCache.getInstance().getIcon(number);
   }
 
   /**
@@ -162,29 +176,7 @@ public final class Pokemon implements Comparable<Pokemon> {
    * @return A {@link CandidateList}.
    */
   public CandidateList getIV(final Limit inLimit, final int inCP, final int inHP, final int inStardust) {
-    List<ImmutablePair<Integer, Double>> multipliers = Multiplier.getInstance().getMultipliers(inStardust);
-    Collection<IVLevel> levels = IVMap.getIVLevels(inLimit);
-    CandidateList candidates = new CandidateList(this, inLimit);
-
-    if (!levels.isEmpty()) {
-      for (ImmutablePair<Integer, Double> multiplier : multipliers) {
-        for (IVLevel level : levels) {
-          double s = (baseStamina + level.getStamina()) * multiplier.getRight().doubleValue();
-
-          if (Math.max((int) Math.floor(s), 10) == inHP) {
-            double a = (baseAttack + level.getAttack()) * multiplier.getRight().doubleValue();
-            double d = (baseDefense + level.getDefense()) * multiplier.getRight().doubleValue();
-            int cp = computeCP(a, d, s);
-
-            if (cp == inCP) {
-              candidates.addIVLevel(multiplier.getLeft(), level);
-            }
-          }
-        }
-      }
-    }
-
-    return candidates;
+    return new IVSolver(this).solve(inLimit, inCP, inHP, inStardust);
   }
 
   /**
@@ -194,23 +186,17 @@ public final class Pokemon implements Comparable<Pokemon> {
    * @return An {@link ImmutablePair} with the minimum and the maximum CP values.
    */
   public ImmutablePair<Integer, Integer> getMinMaxCP(final int inLevel) {
-    double multiplier = Multiplier.getInstance().getMultiplier(inLevel).doubleValue();
-    double aMax = (baseAttack + 15) * multiplier;
-    double dMax = (baseDefense + 15) * multiplier;
-    double sMax = (baseStamina + 15) * multiplier;
-    double aMin = baseAttack * multiplier;
-    double dMin = baseDefense * multiplier;
-    double sMin = baseStamina * multiplier;
-    return ImmutablePair.of(Integer.valueOf(computeCP(aMin, dMin, sMin)), Integer.valueOf(computeCP(aMax, dMax, sMax)));
+    StatBounds bounds = getStatBounds();
+    return ImmutablePair.of(Integer.valueOf(bounds.getMinCP(inLevel)), Integer.valueOf(bounds.getMaxCP(inLevel)));
   }
 
   /**
-   * Returns the name of the Pokémon.
+   * Returns the name of the Pokémon in the current language.
    *
    * @return The name.
    */
   public String getName() {
-    return name;
+    return translated ? PokemonNames.getInstance().getName(number) : name;
   }
 
   /**
@@ -223,12 +209,29 @@ public final class Pokemon implements Comparable<Pokemon> {
   }
 
   /**
-   * Returns a small version of the icon of this Pokémon (if present).
+   * Returns a small version of the icon of this Pokémon (if present).<br>
+   * The sprite is decoded by the {@link SpriteCache} the first time the icon is painted.
    *
    * @return The icon or <code>null</code>.
    */
   public Icon getSmallIcon() {
-    return smallIcon;
+    return SpriteCache.getInstance().getSmallIcon(number);
+  }
+
+  /**
+   * Returns the lowest and highest CP and values this Pokémon can have at each level.
+   *
+   * @return The {@link StatBounds}.
+   */
+  public StatBounds getStatBounds() {
+    StatBounds bounds = statBounds;
+
+    if (bounds == null) {
+      bounds = StatBounds.of(baseAttack, baseDefense, baseStamina);
+      statBounds = bounds;
+    }
+
+    return bounds;
   }
 
   /**
@@ -248,7 +251,7 @@ public final class Pokemon implements Comparable<Pokemon> {
    * @return An {@link ImmutableTriple} of values in the order (Attack, Defense, Stamina).
    */
   public ImmutableTriple<Integer, Integer, Integer> getValues(final int inLevel, final IVLevel inIVLevel) {
-    double multiplier = Multiplier.getInstance().getMultiplier(inLevel).doubleValue();
+    double multiplier = Multiplier.getInstance().getMultiplierValue(inLevel);
     double a = (baseAttack + inIVLevel.getAttack()) * multiplier;
     double d = (baseDefense + inIVLevel.getDefense()) * multiplier;
     double s = (baseStamina + inIVLevel.getStamina()) * multiplier;
@@ -265,6 +268,6 @@ public final class Pokemon implements Comparable<Pokemon> {
 
   @Override
   public String toString() {
-    return name;
+    return getName();
   }
 }
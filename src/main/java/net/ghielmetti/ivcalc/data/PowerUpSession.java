@@ -0,0 +1,235 @@
+package net.ghielmetti.ivcalc.data;
+
+import net.ghielmetti.ivcalc.pokedex.Multiplier;
+import net.ghielmetti.ivcalc.pokedex.Pokedex;
+
+/**
+ * Narrows the possible {@link IVLevel}s of a Pokémon with successive observations.<br>
+ * The session starts with the CP, HP and stardust seen in the game, then after each power-up the new values are given
+ * to {@link #powerUp(int, int, int)}. A power-up raises the level by one half level, so only the candidates still
+ * matching the new values at their new level are kept. The candidates are kept as one {@link IVMask} per level and
+ * narrowed in place reading the {@link CPTable} of the Pokémon, nothing is recomputed from scratch.<br>
+ * Evolving a Pokémon keeps its level and IVs, so the values seen after an evolution are given to
+ * {@link #evolve(Pokedex, Pokemon, int, int)} to narrow the candidates using the table of the evolved species.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class PowerUpSession {
+  private Pokemon        pokemon;
+  private final Limit    limit;
+  private CPTable        table;
+  private final IVMask[] masks;
+  private int            observations;
+
+  /**
+   * Starts a new session with the first observation.
+   *
+   * @param inPokemon The Pokémon.
+   * @param inLimit The {@link Limit} given by the appraisal.
+   * @param inCP The CP seen in the game.
+   * @param inHP The HP seen in the game.
+   * @param inStardust The stardust needed to power up.
+   */
+  public PowerUpSession(final Pokemon inPokemon, final Limit inLimit, final int inCP, final int inHP, final int inStardust) {
+    Multiplier multipliers = Multiplier.getInstance();
+
+    pokemon = inPokemon;
+    limit = inLimit;
+    table = inPokemon.getCPTable();
+    masks = new IVMask[multipliers.getMaxLevel() + 1];
+    observations = 1;
+
+    for (int level = multipliers.getFirstLevel(inStardust); level <= multipliers.getLastLevel(inStardust); level++) {
+      IVMask mask = new IVMask(inLimit.getMask());
+      retainMatching(mask, level, inCP, inHP);
+      masks[level] = mask.isEmpty() ? null : mask;
+    }
+  }
+
+  /**
+   * Starts a new session from already known candidates, for example the saved candidates of a pre-evolution.<br>
+   * The half levels are always taken, even if hidden by the list (see {@link CandidateList#setWithHalfLevels(boolean)}),
+   * because the true level can be one of them.
+   *
+   * @param inCandidates The candidates.
+   */
+  public PowerUpSession(final CandidateList inCandidates) {
+    CandidateList allLevels = new CandidateList(inCandidates);
+    allLevels.setWithHalfLevels(true);
+
+    pokemon = inCandidates.getPokemon();
+    limit = inCandidates.getLimit();
+    table = pokemon.getCPTable();
+    masks = new IVMask[Multiplier.getInstance().getMaxLevel() + 1];
+    observations = 1;
+
+    for (Integer level : allLevels.getPossibleLevels()) {
+      if (level.intValue() >= 0 && level.intValue() < masks.length) {
+        IVMask mask = new IVMask(allLevels.getIVMask(level));
+        masks[level.intValue()] = mask.isEmpty() ? null : mask;
+      }
+    }
+  }
+
+  /**
+   * Narrows the candidates with the values seen after the Pokémon evolved.<br>
+   * The level and the IVs don't change with the evolution, so only the candidates matching the new values with the base
+   * values of the evolution are kept. From now on the session follows the evolved Pokémon.
+   *
+   * @param inPokedex The {@link Pokedex} that knows the evolutions.
+   * @param inEvolution The evolved Pokémon, an offspring of the current one.
+   * @param inCP The CP seen after the evolution.
+   * @param inHP The HP seen after the evolution.
+   * @return <code>true</code> if only one {@link IVLevel} is still possible.
+   * @throws IllegalArgumentException If the Pokémon isn't an offspring of the current one.
+   */
+  public boolean evolve(final Pokedex inPokedex, final Pokemon inEvolution, final int inCP, final int inHP) {
+    if (!inPokedex.getOffsprings(pokemon.getName()).contains(inEvolution)) {
+      throw new IllegalArgumentException(inEvolution + " isn't an evolution of " + pokemon);
+    }
+
+    pokemon = inEvolution;
+    table = inEvolution.getCPTable();
+
+    for (int level = 0; level < masks.length; level++) {
+      if (masks[level] != null) {
+        retainMatching(masks[level], level, inCP, inHP);
+
+        if (masks[level].isEmpty()) {
+          masks[level] = null;
+        }
+      }
+    }
+
+    observations++;
+    return isSolved();
+  }
+
+  /**
+   * Returns the candidates still possible after all the observations, at the level of the last observation.
+   *
+   * @return A {@link CandidateList}.
+   */
+  public CandidateList getCandidates() {
+    CandidateList candidates = new CandidateList(pokemon, limit);
+
+    for (int level = 0; level < masks.length; level++) {
+      if (masks[level] != null) {
+        Integer boxedLevel = Integer.valueOf(level);
+        masks[level].forEach(code -> candidates.addIVCode(boxedLevel, code));
+      }
+    }
+
+    return candidates;
+  }
+
+  /**
+   * Returns the {@link IVLevel} if only one is still possible.
+   *
+   * @return The {@link IVLevel} or <code>null</code> if there are none or more than one.
+   */
+  public IVLevel getIVLevel() {
+    IVMask all = getIVMask();
+    return all.cardinality() == 1 ? IVLevel.valueOf(all.nextSetBit(0)) : null;
+  }
+
+  /**
+   * Returns all the {@link IVLevel}s still possible, whatever the level.
+   *
+   * @return The read only {@link IVMask}.
+   */
+  public IVMask getIVMask() {
+    IVMask all = new IVMask();
+
+    for (IVMask mask : masks) {
+      if (mask != null) {
+        all.addAll(mask);
+      }
+    }
+
+    return all.toReadOnly();
+  }
+
+  /**
+   * Returns the number of observations given to this session.
+   *
+   * @return The number of observations.
+   */
+  public int getObservations() {
+    return observations;
+  }
+
+  /**
+   * Returns the Pokémon.
+   *
+   * @return The Pokémon.
+   */
+  public Pokemon getPokemon() {
+    return pokemon;
+  }
+
+  /**
+   * Returns <code>true</code> if no candidate matches all the observations.
+   *
+   * @return <code>true</code> if empty.
+   */
+  public boolean isEmpty() {
+    for (IVMask mask : masks) {
+      if (mask != null) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns <code>true</code> if only one {@link IVLevel} is still possible, so no more stardust is needed to know it.
+   *
+   * @return <code>true</code> if solved.
+   */
+  public boolean isSolved() {
+    return getIVMask().cardinality() == 1;
+  }
+
+  /**
+   * Narrows the candidates with the values seen after a power-up.
+   *
+   * @param inCP The new CP seen in the game.
+   * @param inHP The new HP seen in the game.
+   * @param inStardust The new stardust needed to power up.
+   * @return <code>true</code> if only one {@link IVLevel} is still possible.
+   */
+  public boolean powerUp(final int inCP, final int inHP, final int inStardust) {
+    Multiplier multipliers = Multiplier.getInstance();
+    int firstLevel = multipliers.getFirstLevel(inStardust);
+    int lastLevel = multipliers.getLastLevel(inStardust);
+
+    // The levels are scanned downward so each mask can be moved one level up in the same array
+    for (int level = masks.length - 1; level >= 0; level--) {
+      IVMask mask = masks[level];
+      masks[level] = null;
+
+      if (mask != null && level + 1 >= firstLevel && level + 1 <= lastLevel) {
+        retainMatching(mask, level + 1, inCP, inHP);
+        masks[level + 1] = mask.isEmpty() ? null : mask;
+      }
+    }
+
+    observations++;
+    return isSolved();
+  }
+
+  @Override
+  public String toString() {
+    return "PowerUpSession[pokemon=" + pokemon + ", limit=" + limit + ", observations=" + observations + ", candidates=" + getIVMask().cardinality() + "]";
+  }
+
+  private void retainMatching(final IVMask inMask, final int inLevel, final int inCP, final int inHP) {
+    for (int code = inMask.nextSetBit(0); code >= 0; code = inMask.nextSetBit(code + 1)) {
+      if (table.getHP(inLevel, IVCode.stamina(code)) != inHP || table.getCP(inLevel, code) != inCP) {
+        inMask.clear(code);
+      }
+    }
+  }
+}
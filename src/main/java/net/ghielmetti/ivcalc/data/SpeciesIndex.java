@@ -0,0 +1,169 @@
+package net.ghielmetti.ivcalc.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+
+import net.ghielmetti.ivcalc.pokedex.Multiplier;
+
+/**
+ * Reverse index to identify the Pokémon species from the CP, HP and stardust seen in the game.<br>
+ * The HP only depends on the level and the stamina IV, so for each level and HP the index stores which species and
+ * stamina IVs give it, together with the lowest and the highest CP they can have. A query only computes the CPs of the
+ * few species that can match, without having to select them first.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class SpeciesIndex {
+  /** The name asking to identify the species instead of searching the Pokémons matching a name. */
+  public static final String        IDENTIFY = "?";
+  private final Pokemon[]           species;
+  private final int[][]             baseValues;
+  private final Map<Integer, Entry> entries  = new HashMap<>();
+
+  /** The species and stamina IVs matching a level and an HP. */
+  private static final class Entry {
+    private final int[]   speciesStamina;
+    private final short[] minCP;
+    private final short[] maxCP;
+
+    private Entry(final int inSize) {
+      speciesStamina = new int[inSize];
+      minCP = new short[inSize];
+      maxCP = new short[inSize];
+    }
+  }
+
+  /**
+   * Creates the index for the given Pokémons.
+   *
+   * @param inPokemons The Pokémons to index.
+   */
+  public SpeciesIndex(final Collection<Pokemon> inPokemons) {
+    species = inPokemons.toArray(new Pokemon[0]);
+    Arrays.sort(species);
+    baseValues = new int[species.length][];
+
+    for (int i = 0; i < species.length; i++) {
+      ImmutableTriple<Integer, Integer, Integer> values = species[i].getBaseValues();
+      baseValues[i] = new int[]{values.getLeft().intValue(), values.getMiddle().intValue(), values.getRight().intValue()};
+    }
+
+    Multiplier multipliers = Multiplier.getInstance();
+
+    for (int level = 0; level <= multipliers.getMaxLevel(); level++) {
+      double multiplier = multipliers.getMultiplierValue(level);
+
+      if (multiplier > 0) {
+        indexLevel(level, multiplier);
+      }
+    }
+  }
+
+  private static Integer key(final int inLevel, final int inHP) {
+    return Integer.valueOf(inLevel << 16 | inHP);
+  }
+
+  /**
+   * Returns all the species, levels and {@link IVLevel}s matching the given game characteristics.
+   *
+   * @param inLimit The {@link Limit} that constraints the possible {@link IVLevel}s.
+   * @param inCP The given CP.
+   * @param inHP The given HP.
+   * @param inStardust The given stardust.
+   * @return A {@link List} of {@link CandidateList}, one for each matching species in name order (see
+   *         {@link Pokemon#BY_NAME}).
+   */
+  public List<CandidateList> identify(final Limit inLimit, final int inCP, final int inHP, final int inStardust) {
+    IVMask mask = inLimit.getMask();
+
+    if (mask.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    Multiplier multipliers = Multiplier.getInstance();
+    Map<Integer, CandidateList> result = new TreeMap<>();
+
+    for (int level = multipliers.getFirstLevel(inStardust); level <= multipliers.getLastLevel(inStardust); level++) {
+      Entry entry = entries.get(key(level, inHP));
+
+      if (entry != null) {
+        double multiplier = multipliers.getMultiplierValue(level);
+
+        for (int i = 0; i < entry.speciesStamina.length; i++) {
+          if (entry.minCP[i] <= inCP && inCP <= entry.maxCP[i]) {
+            int index = entry.speciesStamina[i] >> 4;
+            solve(result, inLimit, mask, index, level, multiplier, entry.speciesStamina[i] & 15, inCP);
+          }
+        }
+      }
+    }
+
+    // The species are indexed by number, the names depend on the language when identifying
+    List<CandidateList> list = new ArrayList<>(result.values());
+    list.sort(Comparator.comparing(CandidateList::getPokemon, Pokemon.BY_NAME));
+    return list;
+  }
+
+  private void indexLevel(final int inLevel, final double inMultiplier) {
+    Map<Integer, List<Integer>> found = new HashMap<>();
+
+    for (int i = 0; i < species.length; i++) {
+      for (int s = 0; s <= 15; s++) {
+        int hp = Math.max((int) Math.floor((baseValues[i][2] + s) * inMultiplier), 10);
+        found.computeIfAbsent(key(inLevel, hp), k -> new ArrayList<>()).add(Integer.valueOf(i << 4 | s));
+      }
+    }
+
+    for (Map.Entry<Integer, List<Integer>> e : found.entrySet()) {
+      Entry entry = new Entry(e.getValue().size());
+
+      for (int j = 0; j < entry.speciesStamina.length; j++) {
+        int value = e.getValue().get(j).intValue();
+        int[] base = baseValues[value >> 4];
+        double s = (base[2] + (value & 15)) * inMultiplier;
+        entry.speciesStamina[j] = value;
+        entry.minCP[j] = (short) Pokemon.computeCP(base[0] * inMultiplier, base[1] * inMultiplier, s);
+        entry.maxCP[j] = (short) Pokemon.computeCP((base[0] + 15) * inMultiplier, (base[1] + 15) * inMultiplier, s);
+      }
+
+      entries.put(e.getKey(), entry);
+    }
+  }
+
+  private void solve(final Map<Integer, CandidateList> inResult, final Limit inLimit, final IVMask inMask, final int inIndex, final int inLevel, final double inMultiplier, final int inIVStamina, final int inCP) {
+    int[] base = baseValues[inIndex];
+    double s = (base[2] + inIVStamina) * inMultiplier;
+
+    for (int a = 0; a <= 15; a++) {
+      double aValue = (base[0] + a) * inMultiplier;
+
+      if (Pokemon.computeCP(aValue, base[1] * inMultiplier, s) > inCP) {
+        // Even the lowest defense gives a too high CP, the next attacks will be even higher
+        break;
+      }
+
+      for (int d = 0; d <= 15; d++) {
+        int cp = Pokemon.computeCP(aValue, (base[1] + d) * inMultiplier, s);
+
+        if (cp > inCP) {
+          break;
+        }
+
+        int code = IVCode.encode(a, d, inIVStamina);
+
+        if (cp == inCP && inMask.get(code)) {
+          inResult.computeIfAbsent(Integer.valueOf(inIndex), k -> new CandidateList(species[inIndex], inLimit)).addIVCode(Integer.valueOf(inLevel), code);
+        }
+      }
+    }
+  }
+}
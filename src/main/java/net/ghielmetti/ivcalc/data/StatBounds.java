@@ -0,0 +1,147 @@
+package net.ghielmetti.ivcalc.data;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.ghielmetti.ivcalc.pokedex.Multiplier;
+
+/**
+ * The lowest and highest CP and values a Pokémon can have at each level.<br>
+ * The bounds only depend on the base values and the level (the lowest with all the IVs at 0, the highest with all the
+ * IVs at 15), so they are computed once for all the levels and shared between the Pokémons with the same base values.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class StatBounds {
+  private static final Map<Long, StatBounds> cache = new ConcurrentHashMap<>();
+  private final short[]                      minCP;
+  private final short[]                      maxCP;
+  private final short[]                      minValues;
+  private final short[]                      maxValues;
+
+  private StatBounds(final int inBaseAttack, final int inBaseDefense, final int inBaseStamina) {
+    Multiplier multipliers = Multiplier.getInstance();
+    int levels = multipliers.getMaxLevel() + 1;
+
+    minCP = new short[levels];
+    maxCP = new short[levels];
+    minValues = new short[levels * 3];
+    maxValues = new short[levels * 3];
+
+    for (int level = 0; level < levels; level++) {
+      double multiplier = multipliers.getMultiplierValue(level);
+      double aMin = inBaseAttack * multiplier;
+      double dMin = inBaseDefense * multiplier;
+      double sMin = inBaseStamina * multiplier;
+      double aMax = (inBaseAttack + 15) * multiplier;
+      double dMax = (inBaseDefense + 15) * multiplier;
+      double sMax = (inBaseStamina + 15) * multiplier;
+
+      minCP[level] = (short) Pokemon.computeCP(aMin, dMin, sMin);
+      maxCP[level] = (short) Pokemon.computeCP(aMax, dMax, sMax);
+      minValues[level * 3] = (short) aMin;
+      minValues[level * 3 + 1] = (short) dMin;
+      minValues[level * 3 + 2] = (short) sMin;
+      maxValues[level * 3] = (short) aMax;
+      maxValues[level * 3 + 1] = (short) dMax;
+      maxValues[level * 3 + 2] = (short) sMax;
+    }
+  }
+
+  /**
+   * Returns the bounds for the given base values.
+   *
+   * @param inBaseAttack The base attack.
+   * @param inBaseDefense The base defense.
+   * @param inBaseStamina The base stamina.
+   * @return The {@link StatBounds}.
+   */
+  static StatBounds of(final int inBaseAttack, final int inBaseDefense, final int inBaseStamina) {
+    Long key = Long.valueOf((long) inBaseAttack << 40 | (long) inBaseDefense << 20 | inBaseStamina);
+    return cache.computeIfAbsent(key, k -> new StatBounds(inBaseAttack, inBaseDefense, inBaseStamina));
+  }
+
+  /**
+   * Returns the highest attack value at the given level.
+   *
+   * @param inLevel The level.
+   * @return The attack.
+   */
+  public int getMaxAttack(final int inLevel) {
+    return isValid(inLevel) ? maxValues[inLevel * 3] : 0;
+  }
+
+  /**
+   * Returns the highest CP at the given level.
+   *
+   * @param inLevel The level.
+   * @return The CP.
+   */
+  public int getMaxCP(final int inLevel) {
+    return isValid(inLevel) ? maxCP[inLevel] : Pokemon.computeCP(0, 0, 0);
+  }
+
+  /**
+   * Returns the highest defense value at the given level.
+   *
+   * @param inLevel The level.
+   * @return The defense.
+   */
+  public int getMaxDefense(final int inLevel) {
+    return isValid(inLevel) ? maxValues[inLevel * 3 + 1] : 0;
+  }
+
+  /**
+   * Returns the highest stamina value at the given level.
+   *
+   * @param inLevel The level.
+   * @return The stamina.
+   */
+  public int getMaxStamina(final int inLevel) {
+    return isValid(inLevel) ? maxValues[inLevel * 3 + 2] : 0;
+  }
+
+  /**
+   * Returns the lowest attack value at the given level.
+   *
+   * @param inLevel The level.
+   * @return The attack.
+   */
+  public int getMinAttack(final int inLevel) {
+    return isValid(inLevel) ? minValues[inLevel * 3] : 0;
+  }
+
+  /**
+   * Returns the lowest CP at the given level.
+   *
+   * @param inLevel The level.
+   * @return The CP.
+   */
+  public int getMinCP(final int inLevel) {
+    return isValid(inLevel) ? minCP[inLevel] : Pokemon.computeCP(0, 0, 0);
+  }
+
+  /**
+   * Returns the lowest defense value at the given level.
+   *
+   * @param inLevel The level.
+   * @return The defense.
+   */
+  public int getMinDefense(final int inLevel) {
+    return isValid(inLevel) ? minValues[inLevel * 3 + 1] : 0;
+  }
+
+  /**
+   * Returns the lowest stamina value at the given level.
+   *
+   * @param inLevel The level.
+   * @return The stamina.
+   */
+  public int getMinStamina(final int inLevel) {
+    return isValid(inLevel) ? minValues[inLevel * 3 + 2] : 0;
+  }
+
+  private boolean isValid(final int inLevel) {
+    return inLevel >= 0 && inLevel < minCP.length;
+  }
+}
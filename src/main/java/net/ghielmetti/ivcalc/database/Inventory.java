@@ -0,0 +1,235 @@
+package net.ghielmetti.ivcalc.database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.IVCode;
+import net.ghielmetti.ivcalc.data.IVMask;
+import net.ghielmetti.ivcalc.data.Pokemon;
+
+/**
+ * The collection of the scanned Pokémons, stored in the {@link PokemonDatabase}.<br>
+ * Every scan is stored with his candidates and the values derived from them (IV totals, IVs of the best candidate and
+ * max CP at level 40) in indexed columns, so an {@link InventoryQuery} filters and sorts many thousands of entries
+ * without scanning the table. The results are read through an {@link InventoryCursor}, one entry at a time.<br>
+ * The saved candidates have one entry for each name and Pokémon, updated when they are saved again and removed with
+ * them (see {@link PokemonDatabase#saveCandidates(CandidateList, String)}).<br>
+ * Many scans can be added with a single write in a {@link Transaction} (see {@link PokemonDatabase#beginTransaction()}).
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class Inventory {
+  private static final Logger   LOGGER         = LoggerFactory.getLogger(Inventory.class);
+  private static final String   INSERT         = "insert into inventory (level, date, ivs, minTotal, maxTotal, attack, defense, stamina, maxCP, name, pokemon) values (?,?,?,?,?,?,?,?,?,?,?)";
+  private static final String   UPDATE         = "update inventory set level=?, date=?, ivs=?, minTotal=?, maxTotal=?, attack=?, defense=?, stamina=?, maxCP=? where name=? and pokemon=?";
+  private static final String   LAST_ID        = "select last_insert_rowid()";
+  private static final String   DELETE         = "delete from inventory where id=?";
+  private static final String   DELETE_BY_NAME = "delete from inventory where name=? and pokemon in (%s)";
+  private final PokemonDatabase database;
+
+  /**
+   * Creates the inventory.
+   *
+   * @param inDatabase The {@link PokemonDatabase} where the entries are stored.
+   */
+  Inventory(final PokemonDatabase inDatabase) {
+    database = inDatabase;
+  }
+
+  /**
+   * Adds a scanned Pokémon.
+   *
+   * @param inCandidates The final candidates of the Pokémon.
+   * @param inDate The date of the scan, in milliseconds since the epoch.
+   * @return The identifier of the new entry or -1 if there are no candidates or the entry can't be added.
+   */
+  public long add(final CandidateList inCandidates, final long inDate) {
+    IVMask ivs = getIVs(inCandidates);
+
+    if (ivs.isEmpty()) {
+      LOGGER.warn("No candidates to add for {}", inCandidates.getPokemon());
+      return -1;
+    }
+
+    synchronized (database) {
+      try {
+        PreparedStatement stmt = database.prepare(INSERT);
+        setValues(stmt, inCandidates, ivs, inDate);
+        stmt.setString(10, null);
+        stmt.setInt(11, inCandidates.getPokemon().getNumber());
+        stmt.execute();
+
+        try (ResultSet rs = database.prepare(LAST_ID).executeQuery()) {
+          rs.next();
+          return rs.getLong(1);
+        }
+      } catch (SQLException e) {
+        LOGGER.error("Unable to add {} to the inventory", inCandidates.getPokemon(), e);
+        database.setRollbackOnly();
+        return -1;
+      }
+    }
+  }
+
+  /**
+   * Creates a new query of the entries.
+   *
+   * @return The {@link InventoryQuery}, that selects all the entries until restricted.
+   */
+  public InventoryQuery query() {
+    return new InventoryQuery(this);
+  }
+
+  /**
+   * Removes an entry.
+   *
+   * @param inId The identifier of the entry (see {@link InventoryEntry#getId()}).
+   */
+  public void remove(final long inId) {
+    synchronized (database) {
+      try {
+        PreparedStatement stmt = database.prepare(DELETE);
+        stmt.setLong(1, inId);
+        stmt.execute();
+      } catch (SQLException e) {
+        LOGGER.error("Unable to remove the entry {} from the inventory", Long.valueOf(inId), e);
+        database.setRollbackOnly();
+      }
+    }
+  }
+
+  /**
+   * Removes the entries of the candidates saved with the specified name.
+   *
+   * @param inPokemons The Pokémons of the entries.
+   * @param inName The name of the saved candidates.
+   */
+  public void remove(final List<Pokemon> inPokemons, final String inName) {
+    synchronized (database) {
+      try {
+        PreparedStatement stmt = database.prepare(String.format(DELETE_BY_NAME, PokemonDatabase.placeholders(inPokemons.size())));
+        stmt.setString(1, inName);
+        PokemonDatabase.setNumbers(stmt, 2, inPokemons);
+        stmt.execute();
+      } catch (SQLException e) {
+        LOGGER.error("Unable to remove {} from the inventory", inName, e);
+        database.setRollbackOnly();
+      }
+    }
+  }
+
+  /**
+   * Adds or updates the entry of the candidates saved with the specified name.<br>
+   * The entry is removed if there are no candidates.
+   *
+   * @param inCandidates The saved candidates.
+   * @param inName The name of the saved candidates.
+   * @param inDate The date of the save, in milliseconds since the epoch.
+   */
+  public void save(final CandidateList inCandidates, final String inName, final long inDate) {
+    IVMask ivs = getIVs(inCandidates);
+
+    if (ivs.isEmpty()) {
+      remove(Collections.singletonList(inCandidates.getPokemon()), inName);
+      return;
+    }
+
+    synchronized (database) {
+      try {
+        PreparedStatement stmt = database.prepare(UPDATE);
+        setValues(stmt, inCandidates, ivs, inDate);
+        stmt.setString(10, inName);
+        stmt.setInt(11, inCandidates.getPokemon().getNumber());
+
+        if (stmt.executeUpdate() == 0) {
+          stmt = database.prepare(INSERT);
+          setValues(stmt, inCandidates, ivs, inDate);
+          stmt.setString(10, inName);
+          stmt.setInt(11, inCandidates.getPokemon().getNumber());
+          stmt.execute();
+        }
+      } catch (SQLException e) {
+        LOGGER.error("Unable to save {} in the inventory", inName, e);
+        database.setRollbackOnly();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "Inventory";
+  }
+
+  /**
+   * Executes a query.
+   *
+   * @param inQuery The {@link InventoryQuery}.
+   * @return The {@link InventoryCursor} on the results (without results if the query fails).
+   */
+  InventoryCursor open(final InventoryQuery inQuery) {
+    synchronized (database) {
+      PreparedStatement stmt = null;
+
+      try {
+        // Not cached: the statement is used until the cursor is closed
+        stmt = database.getConnection().prepareStatement(inQuery.toSQL());
+        List<Long> parameters = inQuery.getParameters();
+
+        for (int i = 0; i < parameters.size(); i++) {
+          stmt.setLong(i + 1, parameters.get(i).longValue());
+        }
+
+        return new InventoryCursor(database, stmt, stmt.executeQuery());
+      } catch (SQLException e) {
+        LOGGER.error("Unable to query the inventory", e);
+        return new InventoryCursor(database, stmt, null);
+      }
+    }
+  }
+
+  /** Returns the union of the candidates of all the levels. */
+  private static IVMask getIVs(final CandidateList inCandidates) {
+    IVMask ivs = new IVMask();
+
+    for (Integer level : inCandidates.getPossibleLevels()) {
+      ivs.addAll(inCandidates.getIVMask(level));
+    }
+
+    return ivs;
+  }
+
+  /** Sets the values derived from the candidates as the first 9 parameters of an insert or an update. */
+  private static void setValues(final PreparedStatement inStatement, final CandidateList inCandidates, final IVMask inIVs, final long inDate) throws SQLException {
+    int minTotal = 45;
+    int maxTotal = 0;
+    int best = -1;
+
+    for (int code = inIVs.nextSetBit(0); code >= 0; code = inIVs.nextSetBit(code + 1)) {
+      int total = IVCode.total(code);
+      minTotal = Math.min(minTotal, total);
+
+      // The codes are in increasing attack order, so the best has the highest attack among the highest totals
+      if (total >= maxTotal) {
+        maxTotal = total;
+        best = code;
+      }
+    }
+
+    inStatement.setInt(1, inCandidates.getPossibleLevels().get(0).intValue());
+    inStatement.setLong(2, inDate);
+    inStatement.setBytes(3, inIVs.toByteArray());
+    inStatement.setInt(4, minTotal);
+    inStatement.setInt(5, maxTotal);
+    inStatement.setInt(6, IVCode.attack(best));
+    inStatement.setInt(7, IVCode.defense(best));
+    inStatement.setInt(8, IVCode.stamina(best));
+    inStatement.setInt(9, inCandidates.getMaxCP());
+  }
+}
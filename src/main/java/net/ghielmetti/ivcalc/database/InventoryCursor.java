@@ -0,0 +1,104 @@
+package net.ghielmetti.ivcalc.database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ghielmetti.ivcalc.data.IVCode;
+import net.ghielmetti.ivcalc.data.IVMask;
+
+/**
+ * The results of an {@link InventoryQuery}, read from the database one entry at a time so the results are never all in
+ * memory. The cursor is closed when all the results have been read, otherwise it must be closed explicitly (usually
+ * in a try-with-resources block).
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class InventoryCursor implements AutoCloseable {
+  private static final Logger     LOGGER = LoggerFactory.getLogger(InventoryCursor.class);
+  private final PokemonDatabase   database;
+  private final PreparedStatement statement;
+  private final ResultSet         resultSet;
+  private InventoryEntry          entry;
+  private boolean                 closed;
+
+  /**
+   * Creates a cursor.
+   *
+   * @param inDatabase The {@link PokemonDatabase}.
+   * @param inStatement The statement of the query, closed with this cursor (can be <code>null</code>).
+   * @param inResultSet The results of the query (<code>null</code> if there are no results).
+   */
+  InventoryCursor(final PokemonDatabase inDatabase, final PreparedStatement inStatement, final ResultSet inResultSet) {
+    database = inDatabase;
+    statement = inStatement;
+    resultSet = inResultSet;
+    closed = inResultSet == null;
+  }
+
+  @Override
+  public void close() {
+    synchronized (database) {
+      if (resultSet != null) {
+        try {
+          resultSet.close();
+        } catch (SQLException e) {
+          LOGGER.debug("Unable to close the results", e);
+        }
+      }
+
+      if (statement != null) {
+        try {
+          statement.close();
+        } catch (SQLException e) {
+          LOGGER.debug("Unable to close the statement", e);
+        }
+      }
+
+      closed = true;
+      entry = null;
+    }
+  }
+
+  /**
+   * Returns the current entry.
+   *
+   * @return The {@link InventoryEntry} read by the last {@link #next()} or <code>null</code> if there is none.
+   */
+  public InventoryEntry get() {
+    return entry;
+  }
+
+  /**
+   * Reads the next entry.
+   *
+   * @return <code>true</code> if there is a next entry, <code>false</code> when all the results have been read.
+   */
+  public boolean next() {
+    synchronized (database) {
+      if (closed) {
+        return false;
+      }
+
+      try {
+        if (resultSet.next()) {
+          entry = new InventoryEntry(resultSet.getLong(1), resultSet.getInt(2), resultSet.getInt(3), resultSet.getLong(4), IVMask.valueOf(resultSet.getBytes(5)), resultSet.getInt(6), resultSet.getInt(7), IVCode.encode(resultSet.getInt(8), resultSet.getInt(9), resultSet.getInt(10)), resultSet.getInt(11));
+          return true;
+        }
+      } catch (SQLException e) {
+        LOGGER.error("Unable to read the inventory", e);
+      }
+
+      close();
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "InventoryCursor[closed=" + closed + ", entry=" + entry + "]";
+  }
+}
@@ -0,0 +1,169 @@
+package net.ghielmetti.ivcalc.database;
+
+import net.ghielmetti.ivcalc.data.IVCode;
+import net.ghielmetti.ivcalc.data.IVMask;
+
+/**
+ * A scanned Pokémon stored in the {@link Inventory}: his candidates and the values derived from them.<br>
+ * The best candidate is the one with the highest IV total (and the highest attack among them).
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class InventoryEntry {
+  private final long   id;
+  private final int    pokemon;
+  private final int    level;
+  private final long   date;
+  private final IVMask ivs;
+  private final int    minTotal;
+  private final int    maxTotal;
+  private final int    bestCode;
+  private final int    maxCP;
+
+  /**
+   * Creates an entry.
+   *
+   * @param inId The identifier in the {@link Inventory}.
+   * @param inPokemon The Pokémon number in the Pokédex.
+   * @param inLevel The lowest possible level.
+   * @param inDate The date of the scan, in milliseconds since the epoch.
+   * @param inIVs The {@link IVMask} of the candidates.
+   * @param inMinTotal The lowest IV total of the candidates.
+   * @param inMaxTotal The highest IV total of the candidates.
+   * @param inBestCode The {@link IVCode} of the best candidate.
+   * @param inMaxCP The highest CP at level 40 of the candidates.
+   */
+  InventoryEntry(final long inId, final int inPokemon, final int inLevel, final long inDate, final IVMask inIVs, final int inMinTotal, final int inMaxTotal, final int inBestCode, final int inMaxCP) {
+    id = inId;
+    pokemon = inPokemon;
+    level = inLevel;
+    date = inDate;
+    ivs = new IVMask(inIVs).toReadOnly();
+    minTotal = inMinTotal;
+    maxTotal = inMaxTotal;
+    bestCode = inBestCode;
+    maxCP = inMaxCP;
+  }
+
+  /**
+   * Returns the attack IV of the best candidate.
+   *
+   * @return The attack IV.
+   */
+  public int getAttack() {
+    return IVCode.attack(bestCode);
+  }
+
+  /**
+   * Returns the date of the scan.
+   *
+   * @return The date in milliseconds since the epoch.
+   */
+  public long getDate() {
+    return date;
+  }
+
+  /**
+   * Returns the defense IV of the best candidate.
+   *
+   * @return The defense IV.
+   */
+  public int getDefense() {
+    return IVCode.defense(bestCode);
+  }
+
+  /**
+   * Returns the identifier of this entry.
+   *
+   * @return The identifier, to be used with {@link Inventory#remove(long)}.
+   */
+  public long getId() {
+    return id;
+  }
+
+  /**
+   * Returns the candidates.
+   *
+   * @return The read only {@link IVMask} of the candidates.
+   */
+  public IVMask getIVs() {
+    return ivs;
+  }
+
+  /**
+   * Returns the lowest possible level.
+   *
+   * @return The level.
+   */
+  public int getLevel() {
+    return level;
+  }
+
+  /**
+   * Returns the highest CP at level 40 of the candidates.
+   *
+   * @return The CP.
+   */
+  public int getMaxCP() {
+    return maxCP;
+  }
+
+  /**
+   * Returns the IV percentage of the best candidate.
+   *
+   * @return The percentage, from 0 to 100.
+   */
+  public int getMaxIVPercent() {
+    return maxTotal * 100 / 45;
+  }
+
+  /**
+   * Returns the highest IV total of the candidates.
+   *
+   * @return The total, from 0 to 45.
+   */
+  public int getMaxTotal() {
+    return maxTotal;
+  }
+
+  /**
+   * Returns the IV percentage of the worst candidate.
+   *
+   * @return The percentage, from 0 to 100.
+   */
+  public int getMinIVPercent() {
+    return minTotal * 100 / 45;
+  }
+
+  /**
+   * Returns the lowest IV total of the candidates.
+   *
+   * @return The total, from 0 to 45.
+   */
+  public int getMinTotal() {
+    return minTotal;
+  }
+
+  /**
+   * Returns the Pokémon number.
+   *
+   * @return The number in the Pokédex.
+   */
+  public int getPokemonNumber() {
+    return pokemon;
+  }
+
+  /**
+   * Returns the stamina IV of the best candidate.
+   *
+   * @return The stamina IV.
+   */
+  public int getStamina() {
+    return IVCode.stamina(bestCode);
+  }
+
+  @Override
+  public String toString() {
+    return "InventoryEntry[id=" + id + ", pokemon=" + pokemon + ", level=" + level + ", IV=" + getMinIVPercent() + "-" + getMaxIVPercent() + "%, maxCP=" + maxCP + "]";
+  }
+}
@@ -0,0 +1,223 @@
+package net.ghielmetti.ivcalc.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.ghielmetti.ivcalc.data.Pokemon;
+
+/**
+ * A query of the {@link Inventory}, built by restricting and sorting the entries:
+ *
+ * <pre>
+ * try (InventoryCursor cursor = inventory.query().minIVPercent(93).orderByMaxCP().open()) {
+ *   while (cursor.next()) {
+ *     InventoryEntry entry = cursor.get();
+ *     ...
+ *   }
+ * }
+ * </pre>
+ *
+ * Every restriction and order is served by an index of the inventory.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class InventoryQuery {
+  private static final String SELECT        = "select id, pokemon, level, date, ivs, minTotal, maxTotal, attack, defense, stamina, maxCP from inventory";
+  private static final String ORDER_BY_ID   = "id";
+  private static final String ORDER_BY_CP   = "maxCP desc, id desc";
+  private static final String SORT_BY_CP    = "+maxCP desc, id desc";
+  private static final String ORDER_BY_IV   = "maxTotal desc, maxCP desc, id desc";
+  private static final String ORDER_BY_DATE = "date desc, id desc";
+  private final Inventory     inventory;
+  private final List<Integer> pokemons      = new ArrayList<>();
+  private int                 minTotal;
+  private int                 minCP;
+  private long                since         = Long.MIN_VALUE;
+  private String              order         = ORDER_BY_ID;
+  private int                 limit;
+
+  /**
+   * Creates a query of all the entries.
+   *
+   * @param inInventory The {@link Inventory} to query.
+   */
+  InventoryQuery(final Inventory inInventory) {
+    inventory = inInventory;
+  }
+
+  /**
+   * Returns at most the given number of entries.
+   *
+   * @param inLimit The maximum number of entries (0 for all the entries).
+   * @return This query.
+   */
+  public InventoryQuery limit(final int inLimit) {
+    limit = inLimit;
+    return this;
+  }
+
+  /**
+   * Selects the entries with a candidate of at least the given IV percentage.
+   *
+   * @param inPercent The IV percentage (from 0 to 100).
+   * @return This query.
+   */
+  public InventoryQuery minIVPercent(final int inPercent) {
+    // The lowest total with a percentage not lower than the requested one
+    minTotal = (inPercent * 45 + 99) / 100;
+    return this;
+  }
+
+  /**
+   * Selects the entries with a max CP at level 40 of at least the given value.
+   *
+   * @param inCP The CP.
+   * @return This query.
+   */
+  public InventoryQuery minMaxCP(final int inCP) {
+    minCP = inCP;
+    return this;
+  }
+
+  /**
+   * Executes this query.
+   *
+   * @return The {@link InventoryCursor} on the results, to be closed when done.
+   */
+  public InventoryCursor open() {
+    return inventory.open(this);
+  }
+
+  /**
+   * Sorts the entries by date of the scan, the most recent first.
+   *
+   * @return This query.
+   */
+  public InventoryQuery orderByDate() {
+    order = ORDER_BY_DATE;
+    return this;
+  }
+
+  /**
+   * Sorts the entries by IV of the best candidate, the highest first (and then by max CP).
+   *
+   * @return This query.
+   */
+  public InventoryQuery orderByIV() {
+    order = ORDER_BY_IV;
+    return this;
+  }
+
+  /**
+   * Sorts the entries by max CP at level 40, the highest first.
+   *
+   * @return This query.
+   */
+  public InventoryQuery orderByMaxCP() {
+    order = ORDER_BY_CP;
+    return this;
+  }
+
+  /**
+   * Selects the entries of the given Pokémons (all the Pokémons if never called).
+   *
+   * @param inPokemons The Pokémons.
+   * @return This query.
+   */
+  public InventoryQuery pokemons(final List<Pokemon> inPokemons) {
+    for (Pokemon pokemon : inPokemons) {
+      pokemons.add(Integer.valueOf(pokemon.getNumber()));
+    }
+
+    return this;
+  }
+
+  /**
+   * Selects the entries scanned since the given date.
+   *
+   * @param inDate The date in milliseconds since the epoch.
+   * @return This query.
+   */
+  public InventoryQuery since(final long inDate) {
+    since = inDate;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "InventoryQuery[" + toSQL() + "]";
+  }
+
+  /**
+   * Returns the values of the parameters of the SQL query, in order.
+   *
+   * @return The values.
+   */
+  List<Long> getParameters() {
+    List<Long> parameters = new ArrayList<>();
+
+    for (Integer pokemon : pokemons) {
+      parameters.add(Long.valueOf(pokemon.longValue()));
+    }
+
+    if (minTotal > 0) {
+      parameters.add(Long.valueOf(minTotal));
+    }
+
+    if (minCP > 0) {
+      parameters.add(Long.valueOf(minCP));
+    }
+
+    if (since != Long.MIN_VALUE) {
+      parameters.add(Long.valueOf(since));
+    }
+
+    if (limit > 0) {
+      parameters.add(Long.valueOf(limit));
+    }
+
+    return parameters;
+  }
+
+  /**
+   * Returns the SQL query, the parameters are given by {@link #getParameters()}.
+   *
+   * @return The SQL query.
+   */
+  String toSQL() {
+    List<String> conditions = new ArrayList<>();
+
+    if (!pokemons.isEmpty()) {
+      conditions.add("pokemon in (" + String.join(",", Collections.nCopies(pokemons.size(), "?")) + ")");
+    }
+
+    if (minTotal > 0) {
+      conditions.add("maxTotal>=?");
+    }
+
+    if (minCP > 0) {
+      conditions.add("maxCP>=?");
+    }
+
+    if (since != Long.MIN_VALUE) {
+      conditions.add("date>=?");
+    }
+
+    StringBuilder sql = new StringBuilder(SELECT);
+
+    if (!conditions.isEmpty()) {
+      sql.append(" where ").append(String.join(" and ", conditions));
+    }
+
+    // With the "+" the CP index isn't used to sort, so the few entries with the IVs are found with the IV index and then
+    // sorted instead of scanning all the entries in CP order
+    sql.append(" order by ").append(minTotal > 0 && ORDER_BY_CP.equals(order) ? SORT_BY_CP : order);
+
+    if (limit > 0) {
+      sql.append(" limit ?");
+    }
+
+    return sql.toString();
+  }
+}
@@ -0,0 +1,28 @@
+package net.ghielmetti.ivcalc.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A change of the structure of the {@link PokemonDatabase} from the previous version to {@link #getVersion()}.<br>
+ * The migrations are applied in order when the database is opened, each one in a {@link Transaction}, so a database
+ * is never left between two versions.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+interface Migration {
+  /**
+   * Returns the version of the database after this migration.
+   *
+   * @return The version.
+   */
+  int getVersion();
+
+  /**
+   * Changes the structure of the database and converts the data.
+   *
+   * @param inConnection The connection to the database.
+   * @throws SQLException If the migration fails.
+   */
+  void migrate(Connection inConnection) throws SQLException;
+}
@@ -0,0 +1,84 @@
+package net.ghielmetti.ivcalc.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import net.ghielmetti.ivcalc.data.IVMask;
+
+/**
+ * Migration to the version 2 of the {@link PokemonDatabase}.<br>
+ * The saved candidates are stored with a row for each level, with all the IVs of the level packed in the bytes of an
+ * {@link IVMask}, instead of a row for each IV. The codes are indexed by name and the names by Pokémon and limit, so
+ * the queries don't scan the tables anymore.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+final class MigrationV2 implements Migration {
+  /** The version after this migration. */
+  static final int            VERSION            = 2;
+  private static final String RENAME_TABLE_CODES = "ALTER TABLE codes RENAME TO codes_v1;";
+  private static final String CREATE_TABLE_CODES = "CREATE TABLE codes (id integer primary key autoincrement, names_id integer not null, level integer not null, ivs blob not null);";
+  private static final String CREATE_INDEX_CODES = "CREATE UNIQUE INDEX IF NOT EXISTS u_codes ON codes (names_id, level);";
+  private static final String CREATE_INDEX_NAMES = "CREATE INDEX IF NOT EXISTS i_names_limit ON names (pokemon, level, strength, attack, defense, hp);";
+  private static final String SELECT_CODES_V1    = "select names_id, level, ivAttack, ivDefense, ivStamina from codes_v1 order by names_id, level";
+  private static final String INSERT_CODES       = "insert into codes (names_id, level, ivs) values (?,?,?)";
+  private static final String DROP_TABLE_CODES   = "DROP TABLE codes_v1;";
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public void migrate(final Connection inConnection) throws SQLException {
+    try (Statement stmt = inConnection.createStatement()) {
+      stmt.execute(RENAME_TABLE_CODES);
+      stmt.execute(CREATE_TABLE_CODES);
+      stmt.execute(CREATE_INDEX_CODES);
+      stmt.execute(CREATE_INDEX_NAMES);
+    }
+
+    try (Statement select = inConnection.createStatement(); //
+        ResultSet rs = select.executeQuery(SELECT_CODES_V1); //
+        PreparedStatement insert = inConnection.prepareStatement(INSERT_CODES)) {
+      IVMask mask = null;
+      int namesId = 0;
+      int level = 0;
+
+      while (rs.next()) {
+        if (mask == null || rs.getInt(1) != namesId || rs.getInt(2) != level) {
+          addBatch(insert, namesId, level, mask);
+          mask = new IVMask();
+          namesId = rs.getInt(1);
+          level = rs.getInt(2);
+        }
+
+        mask.set(IVMask.index(rs.getInt(3), rs.getInt(4), rs.getInt(5)));
+      }
+
+      addBatch(insert, namesId, level, mask);
+      insert.executeBatch();
+    }
+
+    try (Statement stmt = inConnection.createStatement()) {
+      stmt.execute(DROP_TABLE_CODES);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MigrationV2";
+  }
+
+  private static void addBatch(final PreparedStatement inInsert, final int inNamesId, final int inLevel, final IVMask inMask) throws SQLException {
+    if (inMask != null) {
+      inInsert.setInt(1, inNamesId);
+      inInsert.setInt(2, inLevel);
+      inInsert.setBytes(3, inMask.toByteArray());
+      inInsert.addBatch();
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package net.ghielmetti.ivcalc.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Migration to the version 3 of the {@link PokemonDatabase}.<br>
+ * Adds the table of the {@link Inventory}, with the values derived from the candidates in indexed columns so the
+ * {@link InventoryQuery}s filter and sort without scanning the table.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+final class MigrationV3 implements Migration {
+  /** The version after this migration. */
+  static final int            VERSION                = 3;
+  private static final String CREATE_TABLE_INVENTORY = "CREATE TABLE IF NOT EXISTS inventory (id integer primary key autoincrement, pokemon integer not null, level integer not null, date integer not null, ivs blob not null, minTotal integer not null, maxTotal integer not null, attack integer not null, defense integer not null, stamina integer not null, maxCP integer not null);";
+  private static final String CREATE_INDEX_POKEMON   = "CREATE INDEX IF NOT EXISTS i_inventory_pokemon ON inventory (pokemon, maxTotal);";
+  private static final String CREATE_INDEX_TOTAL     = "CREATE INDEX IF NOT EXISTS i_inventory_total ON inventory (maxTotal, maxCP);";
+  private static final String CREATE_INDEX_CP        = "CREATE INDEX IF NOT EXISTS i_inventory_cp ON inventory (maxCP);";
+  private static final String CREATE_INDEX_DATE      = "CREATE INDEX IF NOT EXISTS i_inventory_date ON inventory (date);";
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public void migrate(final Connection inConnection) throws SQLException {
+    try (Statement stmt = inConnection.createStatement()) {
+      stmt.execute(CREATE_TABLE_INVENTORY);
+      stmt.execute(CREATE_INDEX_POKEMON);
+      stmt.execute(CREATE_INDEX_TOTAL);
+      stmt.execute(CREATE_INDEX_CP);
+      stmt.execute(CREATE_INDEX_DATE);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MigrationV3";
+  }
+}
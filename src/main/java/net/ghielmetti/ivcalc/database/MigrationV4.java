@@ -0,0 +1,37 @@
+package net.ghielmetti.ivcalc.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Migration to the version 4 of the {@link PokemonDatabase}.<br>
+ * Adds the name of the saved candidates to the {@link Inventory}, so the entry of a saved Pokémon is updated when his
+ * candidates are saved again and removed with them. The entries added without a name are kept as they are.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+final class MigrationV4 implements Migration {
+  /** The version after this migration. */
+  static final int            VERSION                 = 4;
+  private static final String ALTER_TABLE_INVENTORY  = "ALTER TABLE inventory ADD COLUMN name text;";
+  private static final String CREATE_INDEX_INVENTORY  = "CREATE UNIQUE INDEX IF NOT EXISTS u_inventory_name ON inventory (name, pokemon);";
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public void migrate(final Connection inConnection) throws SQLException {
+    try (Statement stmt = inConnection.createStatement()) {
+      stmt.execute(ALTER_TABLE_INVENTORY);
+      stmt.execute(CREATE_INDEX_INVENTORY);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MigrationV4";
+  }
+}
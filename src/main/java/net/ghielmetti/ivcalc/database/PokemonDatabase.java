@@ -7,50 +7,85 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import net.ghielmetti.ivcalc.data.CandidateList;
 import net.ghielmetti.ivcalc.data.GoodnessChecker;
-import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.IVMask;
 import net.ghielmetti.ivcalc.data.Limit;
 import net.ghielmetti.ivcalc.data.Pokemon;
 
 /**
- * Class that allows the management of the database of ths application.
+ * Class that allows the management of the database of ths application.<br>
+ * The database is in WAL journal mode and the prepared statements are kept open while the connection is open (they
+ * are prepared again after a rollback, the driver discards a statement that fails). Many changes can be grouped in a
+ * {@link Transaction} (see {@link #beginTransaction()}), so they are written at once.<br>
+ * The saved candidates and the checkers are read with a second connection, so a read never waits for a write being
+ * committed (the log lets the readers run during a write), it sees only the committed changes.<br>
+ * A new database is created with the version 1 structure, then every database is upgraded to the latest version by
+ * the {@link Migration}s when opened.<br>
+ * The candidates of a whole evolution family are read or removed with a single query, the Pokémons in an
+ * <code>IN</code> list. The scanned Pokémons are stored in the {@link Inventory} (see {@link #getInventory()}), the
+ * saved candidates are kept there under their name.
  *
  * @author Leopoldo Ghielmetti
  */
 public class PokemonDatabase {
-  private static final Logger          LOGGER                = LoggerFactory.getLogger(PokemonDatabase.class);
-  private static final String          CREATE_TABLE_VERSION  = "CREATE TABLE IF NOT EXISTS version (version integer not null);";
-  private static final String          CREATE_TABLE_NAMES    = "CREATE TABLE IF NOT EXISTS names (id integer primary key autoincrement, name text not null, pokemon integer not null, level integer not null, strength integer not null, attack boolean not null, defense boolean not null, hp boolean not null);";
-  private static final String          CREATE_INDEX_NAMES    = "CREATE UNIQUE INDEX IF NOT EXISTS u_names ON names (name, pokemon);";
-  private static final String          CREATE_TABLE_CODES    = "CREATE TABLE IF NOT EXISTS codes (id integer primary key autoincrement, names_id integer not null, level integer not null, ivAttack integer not null, ivDefense integer not null, ivStamina integer not null);";
-  private static final String          CREATE_TABLE_CHECKERS = "CREATE TABLE IF NOT EXISTS checkers (id integer primary key autoincrement, name text not null, minTotal integer not null, minAttack integer not null, minDefense integer not null, minStamina integer not null);";
-  private static final String          CREATE_INDEX_CHECKERS = "CREATE UNIQUE INDEX IF NOT EXISTS u_checkers ON checkers (name);";
-  private static final PokemonDatabase database              = new PokemonDatabase();
-  private final String                 name                  = System.getProperty("user.home") + "/.ivcalc.db";
-  private int                          dbVersion;
-  private Connection                   connection;
-
-  private PokemonDatabase() {
-    // nothing to do
+  private static final Logger                  LOGGER                = LoggerFactory.getLogger(PokemonDatabase.class);
+  private static final String                  CREATE_TABLE_VERSION  = "CREATE TABLE IF NOT EXISTS version (version integer not null);";
+  private static final String                  CREATE_TABLE_NAMES    = "CREATE TABLE IF NOT EXISTS names (id integer primary key autoincrement, name text not null, pokemon integer not null, level integer not null, strength integer not null, attack boolean not null, defense boolean not null, hp boolean not null);";
+  private static final String                  CREATE_INDEX_NAMES    = "CREATE UNIQUE INDEX IF NOT EXISTS u_names ON names (name, pokemon);";
+  private static final String                  CREATE_TABLE_CODES    = "CREATE TABLE IF NOT EXISTS codes (id integer primary key autoincrement, names_id integer not null, level integer not null, ivAttack integer not null, ivDefense integer not null, ivStamina integer not null);";
+  private static final String                  CREATE_TABLE_CHECKERS = "CREATE TABLE IF NOT EXISTS checkers (id integer primary key autoincrement, name text not null, minTotal integer not null, minAttack integer not null, minDefense integer not null, minStamina integer not null);";
+  private static final String                  CREATE_INDEX_CHECKERS = "CREATE UNIQUE INDEX IF NOT EXISTS u_checkers ON checkers (name);";
+  private static final String                  UPDATE_VERSION        = "update version set version=?";
+  private static final String                  JOURNAL_MODE_WAL      = "PRAGMA journal_mode=WAL;";
+  private static final String                  SELECT_CODES          = "select names.pokemon, codes.level, codes.ivs from names join codes on codes.names_id=names.id where names.name=? and names.pokemon in (%s)";
+  private static final String                  INSERT_CODES          = "insert into codes (names_id, level, ivs) values (?,?,?)";
+  private static final String                  DELETE_CODES          = "delete from codes where names_id=?";
+  private static final String                  DELETE_CODES_BY_NAME  = "delete from codes where names_id in (select id from names where name=? and pokemon in (%s))";
+  private static final String                  SELECT_NAMES          = "select name from names where pokemon in (%s) and level=? and strength=? and attack=? and defense=? and hp=?";
+  private static final String                  SELECT_NAME_ID        = "select id from names where name=? and pokemon=?";
+  private static final String                  INSERT_NAME           = "insert into names (level, strength, attack, defense, hp, name, pokemon) values (?,?,?,?,?,?,?)";
+  private static final String                  UPDATE_NAME           = "update names set level=?, strength=?, attack=?, defense=?, hp=? where name=? and pokemon=?";
+  private static final String                  DELETE_NAME           = "delete from names where name=? and pokemon in (%s)";
+  private static final String                  SELECT_CHECKERS       = "select name, minTotal, minAttack, minDefense, minStamina from checkers";
+  private static final String                  INSERT_CHECKER        = "insert into checkers (minTotal, minAttack, minDefense, minStamina, name) values (?,?,?,?,?)";
+  private static final String                  UPDATE_CHECKER        = "update checkers set minTotal=?, minAttack=?, minDefense=?, minStamina=? where name=?";
+  private static final String                  DELETE_CHECKER        = "delete from checkers where name=?";
+  private static final List<Migration>         MIGRATIONS            = Arrays.asList(new MigrationV2(), new MigrationV3(), new MigrationV4());
+  private static final PokemonDatabase         database              = new PokemonDatabase(System.getProperty("user.home") + "/.ivcalc.db");
+  private final String                         name;
+  private final Map<String, PreparedStatement> statements            = new HashMap<>();
+  /** The statements of the read connection, guarded by {@link #readLock}. */
+  private final Map<String, PreparedStatement> readStatements        = new HashMap<>();
+  private final Object                         readLock              = new Object();
+  private final Inventory                      inventory             = new Inventory(this);
+  private int                                  dbVersion;
+  private Connection                           connection;
+  private Connection                           readConnection;
+  private int                                  transactionDepth;
+  private boolean                              rollbackOnly;
+
+  /**
+   * Creates a database.
+   *
+   * @param inName The name of the database file.
+   */
+  PokemonDatabase(final String inName) {
+    name = inName;
   }
 
   /** Close the database connection. */
   public static void close() {
-    if (database.connection != null) {
-      try {
-        database.connection.close();
-      } catch (SQLException e) {
-        LOGGER.debug("Unable to close database", e);
-      }
-    }
-
-    database.connection = null;
+    database.disconnect();
   }
 
   /**
@@ -63,6 +98,25 @@ public class PokemonDatabase {
     return database;
   }
 
+  /**
+   * Starts a {@link Transaction}: the changes made until it's closed are written at once or not at all.
+   *
+   * @return The {@link Transaction}.
+   */
+  public synchronized Transaction beginTransaction() {
+    if (transactionDepth == 0) {
+      try {
+        connection.setAutoCommit(false);
+        rollbackOnly = false;
+      } catch (SQLException e) {
+        LOGGER.error("Unable to start a transaction", e);
+      }
+    }
+
+    transactionDepth++;
+    return new Transaction(this);
+  }
+
   /** Creates the structure for a V1 database. */
   public void createDbStructureV1() {
     dbVersion = 1;
@@ -102,35 +156,74 @@ public class PokemonDatabase {
   }
 
   /**
-   * Gets the saved candidates for a given Pokémon and his ancestors.
+   * Returns the inventory of the scanned Pokémons.
+   *
+   * @return The {@link Inventory}.
+   */
+  public Inventory getInventory() {
+    return inventory;
+  }
+
+  /**
+   * Gets the saved candidates for a given Pokémon.
    *
-   * @param inPokemon The Pokémon type (it searches also for all the possible ancestors).
+   * @param inPokemon The Pokémon type.
    * @param inName The name of the saved instance.
    * @param inLimit The Limit of the searched Pokémon.
    * @return The {@link CandidateList} retrieved from the database.
    */
   public CandidateList getSavedCandidates(final Pokemon inPokemon, final String inName, final Limit inLimit) {
-    CandidateList list = new CandidateList(inPokemon, inLimit);
+    return getSavedCandidates(Collections.singletonList(inPokemon), inName, inLimit);
+  }
 
-    try (PreparedStatement stmt = connection.prepareStatement("select level, ivAttack, ivDefense, ivStamina from codes where names_id=(select id from names where name=? and pokemon=?)")) {
-      stmt.setString(1, inName);
-      stmt.setInt(2, inPokemon.getNumber());
+  /**
+   * Gets the saved candidates for the first of the given Pokémons (usually a Pokémon and his ancestors) that has
+   * candidates saved with this name.
+   *
+   * @param inPokemons The Pokémons, in order of preference.
+   * @param inName The name of the saved instance.
+   * @param inLimit The Limit of the searched Pokémon.
+   * @return The {@link CandidateList} retrieved from the database (empty and of the first Pokémon if none is found).
+   * @throws IllegalArgumentException If there are no Pokémons.
+   */
+  public CandidateList getSavedCandidates(final List<Pokemon> inPokemons, final String inName, final Limit inLimit) {
+    if (inPokemons.isEmpty()) {
+      throw new IllegalArgumentException("No Pokémons to get the candidates of");
+    }
 
-      try (ResultSet rs = stmt.executeQuery()) {
-        while (rs.next()) {
-          int level = rs.getInt(1);
-          int ivAttack = rs.getInt(2);
-          int ivDefense = rs.getInt(3);
-          int ivStamina = rs.getInt(4);
+    Map<Integer, CandidateList> lists = new HashMap<>();
+
+    for (Pokemon pokemon : inPokemons) {
+      lists.putIfAbsent(Integer.valueOf(pokemon.getNumber()), new CandidateList(pokemon, inLimit));
+    }
+
+    synchronized (readLock) {
+      try {
+        PreparedStatement stmt = prepareRead(String.format(SELECT_CODES, placeholders(inPokemons.size())));
+        stmt.setString(1, inName);
+        setNumbers(stmt, 2, inPokemons);
 
-          list.addIVLevel(Integer.valueOf(level), new IVLevel(ivAttack, ivDefense, ivStamina));
+        try (ResultSet rs = stmt.executeQuery()) {
+          while (rs.next()) {
+            CandidateList list = lists.get(Integer.valueOf(rs.getInt(1)));
+            Integer level = Integer.valueOf(rs.getInt(2));
+            IVMask.valueOf(rs.getBytes(3)).forEach(code -> list.addIVCode(level, code));
+          }
         }
+      } catch (SQLException e) {
+        LOGGER.error("Unable to read candidates", e);
       }
-    } catch (SQLException e) {
-      LOGGER.error("Unable to read candidates", e);
     }
 
-    return list;
+    for (Pokemon pokemon : inPokemons) {
+      CandidateList list = lists.get(Integer.valueOf(pokemon.getNumber()));
+
+      if (!list.isEmpty()) {
+        return list;
+      }
+    }
+
+    return lists.get(Integer.valueOf(inPokemons.get(0).getNumber()));
   }
 
   /**
@@ -141,44 +234,59 @@ public class PokemonDatabase {
   public List<GoodnessChecker> listGoodnessCheckers() {
     List<GoodnessChecker> list = new ArrayList<>();
 
-    try (PreparedStatement stmt = connection.prepareStatement("select name, minTotal, minAttack, minDefense, minStamina from checkers"); //
-        ResultSet rs = stmt.executeQuery();) {
-      while (rs.next()) {
-        list.add(new GoodnessChecker(rs.getString(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5)));
+    synchronized (readLock) {
+      try (ResultSet rs = prepareRead(SELECT_CHECKERS).executeQuery()) {
+        while (rs.next()) {
+          list.add(new GoodnessChecker(rs.getString(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5)));
+        }
+      } catch (SQLException e) {
+        LOGGER.error("Unable to list checkers", e);
       }
-    } catch (SQLException e) {
-      LOGGER.error("Unable to list checkers", e);
     }
 
     return list;
   }
 
   /**
-   * Lists all the names of the stored candidates for the given Pokémon (and his ancestors).
+   * Lists all the names of the stored candidates for the given Pokémon.
    *
    * @param inPokemon The Pokémon to search.
    * @param inLimit The Limit of this Pokémon.
    * @return A {@link List} of names.
    */
   public List<String> listSavedCandidates(final Pokemon inPokemon, final Limit inLimit) {
-    List<String> list = new ArrayList<>();
+    return inPokemon == null ? new ArrayList<>() : listSavedCandidates(Collections.singletonList(inPokemon), inLimit);
+  }
 
-    if (inPokemon != null && inLimit != null) {
-      try (PreparedStatement stmt = connection.prepareStatement("select name from names where pokemon=? and level=? and strength=? and attack=? and defense=? and hp=?")) {
-        stmt.setInt(1, inPokemon.getNumber());
-        stmt.setInt(2, inLimit.getLevel());
-        stmt.setInt(3, inLimit.getStrength());
-        stmt.setBoolean(4, inLimit.isAttack());
-        stmt.setBoolean(5, inLimit.isDefense());
-        stmt.setBoolean(6, inLimit.isHP());
+  /**
+   * Lists all the names of the stored candidates for the given Pokémons (usually a Pokémon and his ancestors).
+   *
+   * @param inPokemons The Pokémons to search.
+   * @param inLimit The Limit of these Pokémons.
+   * @return A {@link List} of names.
+   */
+  public List<String> listSavedCandidates(final List<Pokemon> inPokemons, final Limit inLimit) {
+    List<String> list = new ArrayList<>();
 
-        try (ResultSet rs = stmt.executeQuery()) {
-          while (rs.next()) {
-            list.add(rs.getString(1));
+    if (!inPokemons.isEmpty() && inLimit != null) {
+      synchronized (readLock) {
+        try {
+          PreparedStatement stmt = prepareRead(String.format(SELECT_NAMES, placeholders(inPokemons.size())));
+          int index = setNumbers(stmt, 1, inPokemons);
+          stmt.setInt(index, inLimit.getLevel());
+          stmt.setInt(index + 1, inLimit.getStrength());
+          stmt.setBoolean(index + 2, inLimit.isAttack());
+          stmt.setBoolean(index + 3, inLimit.isDefense());
+          stmt.setBoolean(index + 4, inLimit.isHP());
+
+          try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+              list.add(rs.getString(1));
+            }
           }
+        } catch (SQLException e) {
+          LOGGER.error("Unable to retrieve the pokemon names", e);
         }
-      } catch (SQLException e) {
-        LOGGER.error("Unable to retrieve the pokemon names", e);
       }
     }
 
@@ -191,9 +299,16 @@ public class PokemonDatabase {
       try {
         connection = DriverManager.getConnection("jdbc:sqlite:" + name);
 
+        try (Statement stmt = connection.createStatement()) {
+          // The changes are appended to a log, so a transaction is written with a single sync
+          stmt.execute(JOURNAL_MODE_WAL);
+        }
+
         if (getDbVersion() == 0) {
           createDbStructureV1();
         }
+
+        migrate();
       } catch (SQLException e) {
         LOGGER.error("Unable to open database", e);
       }
@@ -206,31 +321,49 @@ public class PokemonDatabase {
    * @param inName The name of the {@link GoodnessChecker} to remove.
    */
   public void removeGoodnessChecker(final String inName) {
-    try (PreparedStatement stmt = connection.prepareStatement("delete from checkers where name=?")) {
+    try {
+      PreparedStatement stmt = prepare(DELETE_CHECKER);
       stmt.setString(1, inName);
       stmt.execute();
     } catch (SQLException e) {
       LOGGER.error("Unable to remove the checker \"{}\"", inName, e);
+      setRollbackOnly();
     }
   }
 
   /**
    * Removes the specified saved candidate.
    *
-   * @param inPokemon The Pokémon to delete (it also deletes all ancestors Pokémon).
+   * @param inPokemon The Pokémon to delete.
    * @param inName The name to delete.
    */
   public void removeSavedCandidates(final Pokemon inPokemon, final String inName) {
-    try (PreparedStatement stmt1 = connection.prepareStatement("delete from codes where names_id=(select id from names where name=? and pokemon=?)")) {
+    removeSavedCandidates(Collections.singletonList(inPokemon), inName);
+  }
+
+  /**
+   * Removes the candidates saved with the specified name for all the given Pokémons (usually a Pokémon and his
+   * ancestors).
+   *
+   * @param inPokemons The Pokémons to delete.
+   * @param inName The name to delete.
+   */
+  public void removeSavedCandidates(final List<Pokemon> inPokemons, final String inName) {
+    String numbers = placeholders(inPokemons.size());
+
+    try (Transaction transaction = beginTransaction()) {
+      PreparedStatement stmt1 = prepare(String.format(DELETE_CODES_BY_NAME, numbers));
       stmt1.setString(1, inName);
-      stmt1.setInt(2, inPokemon.getNumber());
+      setNumbers(stmt1, 2, inPokemons);
       stmt1.execute();
 
-      try (PreparedStatement stmt2 = connection.prepareStatement("delete from names where name=? and pokemon=?")) {
-        stmt2.setString(1, inName);
-        stmt2.setInt(2, inPokemon.getNumber());
-        stmt2.execute();
-      }
+      PreparedStatement stmt2 = prepare(String.format(DELETE_NAME, numbers));
+      stmt2.setString(1, inName);
+      setNumbers(stmt2, 2, inPokemons);
+      stmt2.execute();
+
+      inventory.remove(inPokemons, inName);
+      transaction.commit();
     } catch (SQLException e) {
       LOGGER.error("Unable to remove the candidate", e);
     }
@@ -243,28 +376,26 @@ public class PokemonDatabase {
    * @param inName The same to use.
    */
   public void saveCandidates(final CandidateList inCandidates, final String inName) {
-    try {
+    try (Transaction transaction = beginTransaction()) {
       int index = saveName(inCandidates.getLimit(), inName, inCandidates.getPokemon().getNumber());
 
-      try (PreparedStatement stmt = connection.prepareStatement("delete from codes where names_id=?")) {
+      PreparedStatement delete = prepare(DELETE_CODES);
+      delete.setInt(1, index);
+      delete.execute();
+
+      PreparedStatement stmt = prepare(INSERT_CODES);
+
+      for (Integer level : inCandidates.getPossibleLevels()) {
         stmt.setInt(1, index);
-        stmt.execute();
+        stmt.setInt(2, level.intValue());
+        stmt.setBytes(3, inCandidates.getIVMask(level).toByteArray());
+        stmt.addBatch();
       }
 
-      try (PreparedStatement stmt = connection.prepareStatement("insert into codes (names_id, level, ivAttack, ivDefense, ivStamina) values (?,?,?,?,?)")) {
-        for (Integer level : inCandidates.getPossibleLevels()) {
-          for (IVLevel ivLevel : inCandidates.getIVLevels(level)) {
-            stmt.setInt(1, index);
-            stmt.setInt(2, level.intValue());
-            stmt.setInt(3, ivLevel.getAttack());
-            stmt.setInt(4, ivLevel.getDefense());
-            stmt.setInt(5, ivLevel.getStamina());
-            stmt.addBatch();
-          }
-        }
+      stmt.executeBatch();
 
-        stmt.executeBatch();
-      }
+      inventory.save(inCandidates, inName, System.currentTimeMillis());
+      transaction.commit();
     } catch (SQLException e) {
       LOGGER.error("Unable to save the candidate", e);
     }
@@ -277,62 +408,242 @@ public class PokemonDatabase {
    */
   public void saveGoodnessChecker(final GoodnessChecker inChecker) {
     try {
-      try (PreparedStatement stmt = connection.prepareStatement("update checkers set minTotal=?, minAttack=?, minDefense=?, minStamina=? where name=?")) {
-        stmt.setInt(1, inChecker.getMinTotal());
-        stmt.setInt(2, inChecker.getMinAttack());
-        stmt.setInt(3, inChecker.getMinDefense());
-        stmt.setInt(4, inChecker.getMinStamina());
-        stmt.setString(5, inChecker.getName());
-
-        if (stmt.executeUpdate() == 0) {
-          // No updates made, try insert
-          try (PreparedStatement stmt1 = connection.prepareStatement("insert into checkers (minTotal, minAttack, minDefense, minStamina, name) values (?,?,?,?,?)")) {
-            stmt1.setInt(1, inChecker.getMinTotal());
-            stmt1.setInt(2, inChecker.getMinAttack());
-            stmt1.setInt(3, inChecker.getMinDefense());
-            stmt1.setInt(4, inChecker.getMinStamina());
-            stmt1.setString(5, inChecker.getName());
-            stmt1.execute();
-          }
-        }
+      PreparedStatement stmt = prepare(UPDATE_CHECKER);
+      stmt.setInt(1, inChecker.getMinTotal());
+      stmt.setInt(2, inChecker.getMinAttack());
+      stmt.setInt(3, inChecker.getMinDefense());
+      stmt.setInt(4, inChecker.getMinStamina());
+      stmt.setString(5, inChecker.getName());
+
+      if (stmt.executeUpdate() == 0) {
+        // No updates made, try insert
+        PreparedStatement stmt1 = prepare(INSERT_CHECKER);
+        stmt1.setInt(1, inChecker.getMinTotal());
+        stmt1.setInt(2, inChecker.getMinAttack());
+        stmt1.setInt(3, inChecker.getMinDefense());
+        stmt1.setInt(4, inChecker.getMinStamina());
+        stmt1.setString(5, inChecker.getName());
+        stmt1.execute();
       }
     } catch (SQLException e) {
       LOGGER.error("Unable to save the checker \"{}\"", inChecker.getName(), e);
+      setRollbackOnly();
     }
   }
 
-  private int saveName(final Limit inLimit, final String inName, final int inNumber) throws SQLException {
-    try (PreparedStatement stmt = connection.prepareStatement("update names set level=?, strength=?, attack=?, defense=?, hp=? where name=? and pokemon=?")) {
-      stmt.setInt(1, inLimit.getLevel());
-      stmt.setInt(2, inLimit.getStrength());
-      stmt.setBoolean(3, inLimit.isAttack());
-      stmt.setBoolean(4, inLimit.isDefense());
-      stmt.setBoolean(5, inLimit.isHP());
-      stmt.setString(6, inName);
-      stmt.setInt(7, inNumber);
+  /** Closes the prepared statements and the connections. */
+  synchronized void disconnect() {
+    closeStatements();
 
-      if (stmt.executeUpdate() == 0) {
-        try (PreparedStatement stmt1 = connection.prepareStatement("insert into names (level, strength, attack, defense, hp, name, pokemon) values (?,?,?,?,?,?,?)")) {
-          stmt1.setInt(1, inLimit.getLevel());
-          stmt1.setInt(2, inLimit.getStrength());
-          stmt1.setBoolean(3, inLimit.isAttack());
-          stmt1.setBoolean(4, inLimit.isDefense());
-          stmt1.setBoolean(5, inLimit.isHP());
-          stmt1.setString(6, inName);
-          stmt1.setInt(7, inNumber);
-          stmt1.execute();
+    synchronized (readLock) {
+      closeStatements(readStatements);
+
+      if (readConnection != null) {
+        try {
+          readConnection.close();
+        } catch (SQLException e) {
+          LOGGER.debug("Unable to close the read connection", e);
         }
       }
+
+      readConnection = null;
     }
 
-    try (PreparedStatement stmt = connection.prepareStatement("select id from names where name=? and pokemon=?")) {
-      stmt.setString(1, inName);
-      stmt.setInt(2, inNumber);
+    if (connection != null) {
+      try {
+        connection.close();
+      } catch (SQLException e) {
+        LOGGER.debug("Unable to close database", e);
+      }
+    }
+
+    connection = null;
+    dbVersion = 0;
+    transactionDepth = 0;
+  }
+
+  /**
+   * Ends a {@link Transaction}: when the outermost transaction is closed the changes are written if all the transactions
+   * have been committed, otherwise they are discarded.
+   *
+   * @param inCommitted <code>true</code> if the transaction has been committed.
+   * @return <code>true</code> if the changes have been written (or, for an inner transaction, can still be written),
+   *         <code>false</code> if they have been discarded.
+   */
+  synchronized boolean endTransaction(final boolean inCommitted) {
+    if (transactionDepth == 0) {
+      return false;
+    }
+
+    if (!inCommitted) {
+      rollbackOnly = true;
+    }
+
+    if (--transactionDepth > 0) {
+      return !rollbackOnly;
+    }
+
+    boolean written = false;
 
-      try (ResultSet rs = stmt.executeQuery()) {
-        rs.next();
-        return rs.getInt(1);
+    try {
+      if (rollbackOnly) {
+        connection.rollback();
+        // The statement that failed can't be executed anymore
+        closeStatements();
+      } else {
+        connection.commit();
+        written = true;
       }
+    } catch (SQLException e) {
+      LOGGER.error("Unable to end the transaction", e);
+    } finally {
+      try {
+        connection.setAutoCommit(true);
+      } catch (SQLException e) {
+        LOGGER.error("Unable to restore the auto commit", e);
+      }
+    }
+
+    return written;
+  }
+
+  /**
+   * Returns the connection to the database.
+   *
+   * @return The {@link Connection} (<code>null</code> if not open).
+   */
+  Connection getConnection() {
+    return connection;
+  }
+
+  /**
+   * Returns the prepared statement of the query, prepared the first time it's used and kept until disconnected.
+   *
+   * @param inSQL The SQL query.
+   * @return The {@link PreparedStatement}.
+   * @throws SQLException If the statement can't be prepared.
+   */
+  PreparedStatement prepare(final String inSQL) throws SQLException {
+    PreparedStatement stmt = statements.get(inSQL);
+
+    if (stmt == null) {
+      stmt = connection.prepareStatement(inSQL);
+      statements.put(inSQL, stmt);
+    }
+
+    return stmt;
+  }
+
+  /** After an error in a {@link Transaction}, all its changes are discarded. */
+  synchronized void setRollbackOnly() {
+    if (transactionDepth > 0) {
+      rollbackOnly = true;
+    }
+  }
+
+  /** Returns the placeholders of an <code>IN</code> list with the given number of values. */
+  static String placeholders(final int inCount) {
+    return String.join(",", Collections.nCopies(inCount, "?"));
+  }
+
+  /** Sets the numbers of the Pokémons as the parameters starting at the given index, returns the next index. */
+  static int setNumbers(final PreparedStatement inStatement, final int inIndex, final List<Pokemon> inPokemons) throws SQLException {
+    int index = inIndex;
+
+    for (Pokemon pokemon : inPokemons) {
+      inStatement.setInt(index++, pokemon.getNumber());
+    }
+
+    return index;
+  }
+
+  /** Closes the prepared statements, they are prepared again when used. */
+  private void closeStatements() {
+    closeStatements(statements);
+  }
+
+  /** Closes the given prepared statements and removes them. */
+  private static void closeStatements(final Map<String, PreparedStatement> inStatements) {
+    for (PreparedStatement stmt : inStatements.values()) {
+      try {
+        stmt.close();
+      } catch (SQLException e) {
+        LOGGER.debug("Unable to close statement", e);
+      }
+    }
+
+    inStatements.clear();
+  }
+
+  /** Applies the {@link Migration}s not yet applied, stopping at the first failing. */
+  private void migrate() {
+    for (Migration migration : MIGRATIONS) {
+      if (migration.getVersion() > dbVersion) {
+        try (Transaction transaction = beginTransaction()) {
+          migration.migrate(connection);
+
+          PreparedStatement stmt = prepare(UPDATE_VERSION);
+          stmt.setInt(1, migration.getVersion());
+          stmt.execute();
+          transaction.commit();
+          dbVersion = migration.getVersion();
+          LOGGER.info("Database migrated to version {}", Integer.valueOf(dbVersion));
+        } catch (SQLException e) {
+          LOGGER.error("Unable to migrate the database to version {}", Integer.valueOf(migration.getVersion()), e);
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the prepared statement of the query on the read connection, opened the first time it's used. To be called
+   * holding {@link #readLock}.
+   */
+  private PreparedStatement prepareRead(final String inSQL) throws SQLException {
+    if (readConnection == null) {
+      readConnection = DriverManager.getConnection("jdbc:sqlite:" + name);
+    }
+
+    PreparedStatement stmt = readStatements.get(inSQL);
+
+    if (stmt == null) {
+      stmt = readConnection.prepareStatement(inSQL);
+      readStatements.put(inSQL, stmt);
+    }
+
+    return stmt;
+  }
+
+  private int saveName(final Limit inLimit, final String inName, final int inNumber) throws SQLException {
+    PreparedStatement stmt = prepare(UPDATE_NAME);
+    stmt.setInt(1, inLimit.getLevel());
+    stmt.setInt(2, inLimit.getStrength());
+    stmt.setBoolean(3, inLimit.isAttack());
+    stmt.setBoolean(4, inLimit.isDefense());
+    stmt.setBoolean(5, inLimit.isHP());
+    stmt.setString(6, inName);
+    stmt.setInt(7, inNumber);
+
+    if (stmt.executeUpdate() == 0) {
+      PreparedStatement stmt1 = prepare(INSERT_NAME);
+      stmt1.setInt(1, inLimit.getLevel());
+      stmt1.setInt(2, inLimit.getStrength());
+      stmt1.setBoolean(3, inLimit.isAttack());
+      stmt1.setBoolean(4, inLimit.isDefense());
+      stmt1.setBoolean(5, inLimit.isHP());
+      stmt1.setString(6, inName);
+      stmt1.setInt(7, inNumber);
+      stmt1.execute();
+    }
+
+    PreparedStatement select = prepare(SELECT_NAME_ID);
+    select.setString(1, inName);
+    select.setInt(2, inNumber);
+
+    try (ResultSet rs = select.executeQuery()) {
+      rs.next();
+      return rs.getInt(1);
     }
   }
 }
@@ -0,0 +1,62 @@
+package net.ghielmetti.ivcalc.database;
+
+/**
+ * A transaction of the {@link PokemonDatabase}, to be used in a try-with-resources block:
+ *
+ * <pre>
+ * try (Transaction transaction = database.beginTransaction()) {
+ *   ...
+ *   transaction.commit();
+ * }
+ * </pre>
+ *
+ * The changes are written when the block is closed if {@link #commit()} was called, otherwise they are discarded. A
+ * transaction started while another is active is part of it: the changes are written only when the outermost
+ * transaction is closed and they are all discarded if any of the transactions isn't committed. {@link #isWritten()}
+ * tells, once closed, if the changes have been written.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class Transaction implements AutoCloseable {
+  private final PokemonDatabase database;
+  private boolean               committed;
+  private boolean               closed;
+  private boolean               written;
+
+  /**
+   * Creates a transaction.
+   *
+   * @param inDatabase The {@link PokemonDatabase}.
+   */
+  Transaction(final PokemonDatabase inDatabase) {
+    database = inDatabase;
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      written = database.endTransaction(committed);
+    }
+  }
+
+  /** Marks the changes of this transaction to be written when it's closed. */
+  public void commit() {
+    committed = true;
+  }
+
+  /**
+   * Tells if the changes of this transaction have been written (or, for an inner transaction, can still be written).
+   * They aren't when the transaction isn't committed or when an operation failed and marked it as rollback only.
+   *
+   * @return <code>true</code> if the transaction is closed and the changes are written, <code>false</code> otherwise.
+   */
+  public boolean isWritten() {
+    return written;
+  }
+
+  @Override
+  public String toString() {
+    return "Transaction[committed=" + committed + ", closed=" + closed + ", written=" + written + "]";
+  }
+}
@@ -0,0 +1,536 @@
+package net.ghielmetti.ivcalc.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.GoodnessChecker;
+import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.data.Pokemon;
+
+/**
+ * Write-behind access to the {@link PokemonDatabase}, so the Swing listeners never wait for the disk.<br>
+ * The changes are queued and written by a dedicated thread, all the changes queued meanwhile in a single
+ * {@link Transaction}. A change replaces the one still pending for the same candidates or checker, so only the last is
+ * written, the {@link Inventory} entry of the saved candidates with them. The reads see the pending changes and the
+ * queue is flushed when the application exits.<br>
+ * When the {@link Transaction} is rolled back the changes are written again one by one, each in its own transaction,
+ * so a change that fails doesn't keep the others pending. A failed change is tried again up to {@link #MAX_ATTEMPTS}
+ * times, then it's discarded and reported to the error handler (see {@link #setErrorHandler(Consumer)}).<br>
+ * The reads don't wait for the writer, the {@link PokemonDatabase} reads with its own connection. The names of the
+ * saved candidates are cached by Pokémons and {@link Limit}, the cached names of a Pokémon are discarded when his
+ * candidates are written.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class WriteBehindStore {
+  /** The number of times a change is written before being discarded. */
+  static final int                                                     MAX_ATTEMPTS = 3;
+  private static final Logger                                          LOGGER       = LoggerFactory.getLogger(WriteBehindStore.class);
+  private final PokemonDatabase                                        database;
+  private final Executor                                               writer;
+  /** The pending candidates, <code>null</code> for the removed ones. */
+  private final Map<ImmutablePair<Pokemon, String>, CandidateList>     candidates   = new LinkedHashMap<>();
+  /** The pending checkers, <code>null</code> for the removed ones. */
+  private final Map<String, GoodnessChecker>                           checkers     = new LinkedHashMap<>();
+  /** The names saved in the database, by Pokémons and limit. */
+  private final Map<ImmutablePair<List<Pokemon>, Limit>, List<String>> names        = new HashMap<>();
+  /** The number of failed writes of the pending changes, by key of the candidates or name of the checker. */
+  private final Map<Object, Integer>                                   failures     = new HashMap<>();
+  /** Notified with the name of a discarded change, <code>null</code> if they are only logged. */
+  private Consumer<String>                                             errorHandler;
+  /** Incremented when saved candidates are written, so the names read meanwhile aren't cached. */
+  private long                                                         generation;
+  private boolean                                                      scheduled;
+  private long                                                         hits;
+  private long                                                         misses;
+
+  /** The store is created by the class loader the first time it's requested, so it's thread safe. */
+  private static final class Holder {
+    private static final WriteBehindStore INSTANCE = create();
+
+    private Holder() {
+      // nothing to do
+    }
+
+    private static WriteBehindStore create() {
+      WriteBehindStore store = new WriteBehindStore(PokemonDatabase.getInstance(), Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "database-writer");
+        thread.setDaemon(true);
+        return thread;
+      }));
+
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        if (!store.flush()) {
+          LOGGER.error("Some pending changes are lost");
+        }
+      }, "database-flush"));
+      return store;
+    }
+  }
+
+  /**
+   * Creates a store.
+   *
+   * @param inDatabase The {@link PokemonDatabase} where the changes are written.
+   * @param inWriter The {@link Executor} that writes the changes.
+   */
+  WriteBehindStore(final PokemonDatabase inDatabase, final Executor inWriter) {
+    database = inDatabase;
+    writer = inWriter;
+  }
+
+  /**
+   * Returns the instance of this store.
+   *
+   * @return The store instance.
+   */
+  public static WriteBehindStore getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Writes all the pending changes, waiting until they are written. If the {@link Transaction} is rolled back they are
+   * written one by one, the changes that still fail stay pending until they have been tried {@link #MAX_ATTEMPTS} times.
+   *
+   * @return <code>true</code> if there are no pending changes or if they have been written, <code>false</code> if some
+   *         of them failed.
+   */
+  public boolean flush() {
+    synchronized (database) {
+      Map<ImmutablePair<Pokemon, String>, CandidateList> pendingCandidates;
+      Map<String, GoodnessChecker> pendingCheckers;
+
+      synchronized (this) {
+        scheduled = false;
+        pendingCandidates = new LinkedHashMap<>(candidates);
+        pendingCheckers = new LinkedHashMap<>(checkers);
+      }
+
+      if (pendingCandidates.isEmpty() && pendingCheckers.isEmpty()) {
+        return true;
+      }
+
+      if (write(pendingCandidates, pendingCheckers)) {
+        synchronized (this) {
+          removeWritten(pendingCandidates, pendingCheckers);
+        }
+
+        return true;
+      }
+
+      LOGGER.warn("Unable to write {} pending changes at once, they are written one by one", Integer.valueOf(pendingCandidates.size() + pendingCheckers.size()));
+
+      Map<ImmutablePair<Pokemon, String>, CandidateList> failedCandidates = new LinkedHashMap<>();
+      Map<String, GoodnessChecker> failedCheckers = new LinkedHashMap<>();
+
+      for (Entry<ImmutablePair<Pokemon, String>, CandidateList> entry : pendingCandidates.entrySet()) {
+        if (!write(Collections.singletonMap(entry.getKey(), entry.getValue()), Collections.emptyMap())) {
+          failedCandidates.put(entry.getKey(), entry.getValue());
+        }
+      }
+
+      for (Entry<String, GoodnessChecker> entry : pendingCheckers.entrySet()) {
+        if (!write(Collections.emptyMap(), Collections.singletonMap(entry.getKey(), entry.getValue()))) {
+          failedCheckers.put(entry.getKey(), entry.getValue());
+        }
+      }
+
+      pendingCandidates.keySet().removeAll(failedCandidates.keySet());
+      pendingCheckers.keySet().removeAll(failedCheckers.keySet());
+      List<String> discarded = new ArrayList<>();
+      Consumer<String> handler;
+
+      synchronized (this) {
+        removeWritten(pendingCandidates, pendingCheckers);
+
+        failedCandidates.forEach((key, value) -> {
+          if (Objects.equals(candidates.get(key), value) && isDiscarded(key)) {
+            candidates.remove(key);
+            discarded.add(key.getRight());
+          }
+        });
+
+        failedCheckers.forEach((key, value) -> {
+          if (Objects.equals(checkers.get(key), value) && isDiscarded(key)) {
+            checkers.remove(key);
+            discarded.add(key);
+          }
+        });
+
+        if (!candidates.isEmpty() || !checkers.isEmpty()) {
+          schedule();
+        }
+
+        handler = errorHandler;
+      }
+
+      // The handler is notified outside the locks, it may read the store
+      if (handler != null) {
+        discarded.forEach(handler);
+      }
+
+      return failedCandidates.isEmpty() && failedCheckers.isEmpty();
+    }
+  }
+
+  /**
+   * Returns the number of times the names of the saved candidates have been found in the cache.
+   *
+   * @return The number of hits.
+   */
+  public synchronized long getCacheHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of times the names of the saved candidates have been read from the database.
+   *
+   * @return The number of misses.
+   */
+  public synchronized long getCacheMisses() {
+    return misses;
+  }
+
+  /**
+   * Gets the saved candidates, including the pending changes.
+   *
+   * @param inPokemon The Pokémon.
+   * @param inName The name of the saved instance.
+   * @param inLimit The Limit of the searched Pokémon.
+   * @return The {@link CandidateList} (empty if there are no candidates with this name).
+   * @see PokemonDatabase#getSavedCandidates(Pokemon, String, Limit)
+   */
+  public CandidateList getSavedCandidates(final Pokemon inPokemon, final String inName, final Limit inLimit) {
+    return getSavedCandidates(Collections.singletonList(inPokemon), inName, inLimit);
+  }
+
+  /**
+   * Gets the saved candidates of the first of the given Pokémons that has candidates with this name, including the
+   * pending changes.
+   *
+   * @param inPokemons The Pokémons, in order of preference.
+   * @param inName The name of the saved instance.
+   * @param inLimit The Limit of the searched Pokémon.
+   * @return The {@link CandidateList} (empty if there are no candidates with this name).
+   * @throws IllegalArgumentException If there are no Pokémons.
+   * @see PokemonDatabase#getSavedCandidates(List, String, Limit)
+   */
+  public CandidateList getSavedCandidates(final List<Pokemon> inPokemons, final String inName, final Limit inLimit) {
+    if (inPokemons.isEmpty()) {
+      throw new IllegalArgumentException("No Pokémons to get the candidates of");
+    }
+
+    Map<Pokemon, CandidateList> pending = new HashMap<>();
+
+    synchronized (this) {
+      for (Pokemon pokemon : inPokemons) {
+        ImmutablePair<Pokemon, String> key = ImmutablePair.of(pokemon, inName);
+
+        if (candidates.containsKey(key)) {
+          pending.put(pokemon, copy(candidates.get(key), pokemon, inLimit));
+        }
+      }
+    }
+
+    List<Pokemon> others = new ArrayList<>(inPokemons);
+    others.removeAll(pending.keySet());
+
+    // The pending changes are removed only once written, so a change written meanwhile is still found in the copy
+    if (!others.isEmpty()) {
+      CandidateList saved = database.getSavedCandidates(others, inName, inLimit);
+      pending.putIfAbsent(saved.getPokemon(), saved);
+    }
+
+    for (Pokemon pokemon : inPokemons) {
+      CandidateList list = pending.get(pokemon);
+
+      if (list != null && !list.isEmpty()) {
+        return list;
+      }
+    }
+
+    return new CandidateList(inPokemons.get(0), inLimit);
+  }
+
+  /**
+   * Lists all the saved {@link GoodnessChecker}s, including the pending changes.
+   *
+   * @return A {@link List} of {@link GoodnessChecker}.
+   * @see PokemonDatabase#listGoodnessCheckers()
+   */
+  public List<GoodnessChecker> listGoodnessCheckers() {
+    Map<String, GoodnessChecker> list = new LinkedHashMap<>();
+    Map<String, GoodnessChecker> pending;
+
+    // The pending changes are copied before reading, so a change written meanwhile is still applied
+    synchronized (this) {
+      pending = new LinkedHashMap<>(checkers);
+    }
+
+    for (GoodnessChecker checker : database.listGoodnessCheckers()) {
+      list.put(checker.getName(), checker);
+    }
+
+    for (Entry<String, GoodnessChecker> entry : pending.entrySet()) {
+      if (entry.getValue() == null) {
+        list.remove(entry.getKey());
+      } else {
+        list.put(entry.getKey(), new GoodnessChecker(entry.getKey(), entry.getValue()));
+      }
+    }
+
+    return new ArrayList<>(list.values());
+  }
+
+  /**
+   * Lists all the names of the saved candidates, including the pending changes.
+   *
+   * @param inPokemon The Pokémon to search.
+   * @param inLimit The Limit of this Pokémon.
+   * @return A {@link List} of names.
+   * @see PokemonDatabase#listSavedCandidates(Pokemon, Limit)
+   */
+  public List<String> listSavedCandidates(final Pokemon inPokemon, final Limit inLimit) {
+    return inPokemon == null ? new ArrayList<>() : listSavedCandidates(Collections.singletonList(inPokemon), inLimit);
+  }
+
+  /**
+   * Lists all the names of the saved candidates of the given Pokémons, including the pending changes.
+   *
+   * @param inPokemons The Pokémons to search.
+   * @param inLimit The Limit of these Pokémons.
+   * @return A {@link List} of names.
+   * @see PokemonDatabase#listSavedCandidates(List, Limit)
+   */
+  public List<String> listSavedCandidates(final List<Pokemon> inPokemons, final Limit inLimit) {
+    ImmutablePair<List<Pokemon>, Limit> key = ImmutablePair.of(new ArrayList<>(inPokemons), inLimit);
+
+    while (true) {
+      long start;
+
+      synchronized (this) {
+        List<String> cached = names.get(key);
+
+        if (cached != null) {
+          hits++;
+          return withPendingNames(cached, inPokemons, inLimit);
+        }
+
+        start = generation;
+      }
+
+      List<String> saved = database.listSavedCandidates(inPokemons, inLimit);
+
+      synchronized (this) {
+        misses++;
+
+        // Saved candidates written meanwhile may be missing from the names and no longer pending, they are read again
+        if (generation == start) {
+          names.put(key, saved);
+          return withPendingNames(saved, inPokemons, inLimit);
+        }
+      }
+    }
+  }
+
+  /**
+   * Queues the removal of a {@link GoodnessChecker}.
+   *
+   * @param inName The name of the {@link GoodnessChecker} to remove.
+   */
+  public synchronized void removeGoodnessChecker(final String inName) {
+    checkers.put(inName, null);
+    failures.remove(inName);
+    schedule();
+  }
+
+  /**
+   * Queues the removal of the saved candidates.
+   *
+   * @param inPokemon The Pokémon.
+   * @param inName The name to delete.
+   */
+  public synchronized void removeSavedCandidates(final Pokemon inPokemon, final String inName) {
+    ImmutablePair<Pokemon, String> key = ImmutablePair.of(inPokemon, inName);
+    candidates.put(key, null);
+    failures.remove(key);
+    schedule();
+  }
+
+  /**
+   * Queues the removal of the candidates saved with this name for all the given Pokémons, they are removed at once.
+   *
+   * @param inPokemons The Pokémons.
+   * @param inName The name to delete.
+   */
+  public synchronized void removeSavedCandidates(final List<Pokemon> inPokemons, final String inName) {
+    for (Pokemon pokemon : inPokemons) {
+      ImmutablePair<Pokemon, String> key = ImmutablePair.of(pokemon, inName);
+      candidates.put(key, null);
+      failures.remove(key);
+    }
+
+    schedule();
+  }
+
+  /**
+   * Queues the save of the candidates, a copy is taken so they can still be changed.
+   *
+   * @param inCandidates The {@link CandidateList} to save.
+   * @param inName The name to use.
+   */
+  public synchronized void saveCandidates(final CandidateList inCandidates, final String inName) {
+    ImmutablePair<Pokemon, String> key = ImmutablePair.of(inCandidates.getPokemon(), inName);
+    candidates.put(key, new CandidateList(inCandidates));
+    failures.remove(key);
+    schedule();
+  }
+
+  /**
+   * Queues the save of a {@link GoodnessChecker}, a copy is taken so it can still be changed.
+   *
+   * @param inChecker The {@link GoodnessChecker} to save.
+   */
+  public synchronized void saveGoodnessChecker(final GoodnessChecker inChecker) {
+    checkers.put(inChecker.getName(), new GoodnessChecker(inChecker.getName(), inChecker));
+    failures.remove(inChecker.getName());
+    schedule();
+  }
+
+  /**
+   * Sets the handler notified when a change is discarded because it can't be written, called by the writer thread.
+   *
+   * @param inHandler The handler, notified with the name of the candidates or of the checker (<code>null</code> to
+   *          only log the discarded changes).
+   */
+  public synchronized void setErrorHandler(final Consumer<String> inHandler) {
+    errorHandler = inHandler;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "WriteBehindStore[candidates=" + candidates.size() + ", checkers=" + checkers.size() + ", hits=" + hits + ", misses=" + misses + "]";
+  }
+
+  /** Returns a copy of the pending candidates for the Pokémon and the limit, empty if they are removed. */
+  private static CandidateList copy(final CandidateList inPending, final Pokemon inPokemon, final Limit inLimit) {
+    CandidateList list = new CandidateList(inPokemon, inLimit);
+
+    if (inPending != null) {
+      for (Integer level : inPending.getPossibleLevels()) {
+        inPending.getIVMask(level).forEach(code -> list.addIVCode(level, code));
+      }
+    }
+
+    return list;
+  }
+
+  /** Returns a copy of the saved names with the pending changes of the Pokémons, to be called holding the lock. */
+  private List<String> withPendingNames(final List<String> inSaved, final List<Pokemon> inPokemons, final Limit inLimit) {
+    List<String> list = new ArrayList<>(inSaved);
+
+    for (Entry<ImmutablePair<Pokemon, String>, CandidateList> entry : candidates.entrySet()) {
+      if (inPokemons.contains(entry.getKey().getLeft())) {
+        String name = entry.getKey().getRight();
+        list.remove(name);
+
+        if (entry.getValue() != null && entry.getValue().getLimit().equals(inLimit)) {
+          list.add(name);
+        }
+      }
+    }
+
+    return list;
+  }
+
+  /**
+   * Counts a failed write of the change, returns <code>true</code> if it's discarded because it failed
+   * {@link #MAX_ATTEMPTS} times. To be called holding the lock.
+   */
+  private boolean isDiscarded(final Object inKey) {
+    int attempts = failures.getOrDefault(inKey, Integer.valueOf(0)).intValue() + 1;
+    failures.put(inKey, Integer.valueOf(attempts));
+
+    if (attempts < MAX_ATTEMPTS) {
+      LOGGER.warn("Unable to write {}, attempt {} of {}", inKey, Integer.valueOf(attempts), Integer.valueOf(MAX_ATTEMPTS));
+      return false;
+    }
+
+    LOGGER.error("Unable to write {}, the change is discarded after {} attempts", inKey, Integer.valueOf(MAX_ATTEMPTS));
+    failures.remove(inKey);
+    return true;
+  }
+
+  /** Removes the written changes still pending and the cached names of their Pokémons, to be called holding the lock. */
+  private void removeWritten(final Map<ImmutablePair<Pokemon, String>, CandidateList> inCandidates, final Map<String, GoodnessChecker> inCheckers) {
+    // The changes queued while writing are kept for the next write
+    inCandidates.forEach(candidates::remove);
+    inCheckers.forEach(checkers::remove);
+    failures.keySet().removeAll(inCandidates.keySet());
+    failures.keySet().removeAll(inCheckers.keySet());
+
+    for (ImmutablePair<Pokemon, String> key : inCandidates.keySet()) {
+      names.keySet().removeIf(cached -> cached.getLeft().contains(key.getLeft()));
+    }
+
+    if (!inCandidates.isEmpty()) {
+      generation++;
+    }
+  }
+
+  /** Asks the writer to write the pending changes, unless it has already been asked. */
+  private void schedule() {
+    if (!scheduled) {
+      scheduled = true;
+      writer.execute(this::flush);
+    }
+  }
+
+  /** Writes the changes in a single {@link Transaction}, returns <code>true</code> if they have been written. */
+  private boolean write(final Map<ImmutablePair<Pokemon, String>, CandidateList> inCandidates, final Map<String, GoodnessChecker> inCheckers) {
+    Transaction transaction = database.beginTransaction();
+
+    try {
+      // The removals of the same name are made at once
+      Map<String, List<Pokemon>> removals = new LinkedHashMap<>();
+
+      for (Entry<ImmutablePair<Pokemon, String>, CandidateList> entry : inCandidates.entrySet()) {
+        if (entry.getValue() == null) {
+          removals.computeIfAbsent(entry.getKey().getRight(), name -> new ArrayList<>()).add(entry.getKey().getLeft());
+        } else {
+          database.saveCandidates(entry.getValue(), entry.getKey().getRight());
+        }
+      }
+
+      removals.forEach((name, pokemons) -> database.removeSavedCandidates(pokemons, name));
+
+      for (Entry<String, GoodnessChecker> entry : inCheckers.entrySet()) {
+        if (entry.getValue() == null) {
+          database.removeGoodnessChecker(entry.getKey());
+        } else {
+          database.saveGoodnessChecker(entry.getValue());
+        }
+      }
+
+      transaction.commit();
+    } finally {
+      transaction.close();
+    }
+
+    return transaction.isWritten();
+  }
+}
@@ -17,6 +17,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import net.ghielmetti.ivcalc.LatestRelease;
+import net.ghielmetti.ivcalc.database.WriteBehindStore;
 import net.ghielmetti.ivcalc.gui.dialog.LanguageDialog;
 import net.ghielmetti.ivcalc.gui.dialog.OptionsDialog;
 import net.ghielmetti.ivcalc.gui.dialog.TeamDialog;
@@ -41,6 +42,21 @@ public class PokemonController implements Observer {
   private Team                   team;
   private PokemonView            view;
   private PokemonModel           model;
+  private Pokedex                pokedex;
+
+  /** Creates a controller with a new {@link Pokedex}. */
+  public PokemonController() {
+    this(null);
+  }
+
+  /**
+   * Creates a controller reusing a {@link Pokedex} (the Pokédex doesn't depend on the language nor on the team).
+   *
+   * @param inPokedex The {@link Pokedex} or <code>null</code> to create a new one when started.
+   */
+  private PokemonController(final Pokedex inPokedex) {
+    pokedex = inPokedex;
+  }
 
   /** Starts the controller. */
   public void start() {
@@ -48,7 +64,11 @@ public class PokemonController implements Observer {
       if (getTeam() != null) {
         Translations.initialize();
         team.initialize();
-        Pokedex pokedex = new Pokedex();
+
+        if (pokedex == null) {
+          pokedex = new Pokedex();
+        }
+
         model = new PokemonModel(team, pokedex, new GoodnessCheckerModel(pokedex));
         model.addObserver(this);
         view = new PokemonView(model, e -> searchPokemons(), e -> askForTeam(), e -> showAbout(), e -> showOptions(), e -> askForLanguage());
@@ -56,6 +76,7 @@ public class PokemonController implements Observer {
         view.setIconImage(LOGO.getImage());
         view.reset();
         view.setVisible(true);
+        WriteBehindStore.getInstance().setErrorHandler(this::showWriteError);
 
         new Thread(() -> {
           try {
@@ -90,7 +111,9 @@ public class PokemonController implements Observer {
       PreferenceStore.setLocale(locale);
       view.dispose();
       Type.initialize();
-      new PokemonController().start();
+      // The Pokémons are named in the new language without reloading the Pokédex, but the view is built again because
+      // the panels read their translated labels only when they are created
+      new PokemonController(pokedex).start();
     }
   }
 
@@ -107,7 +130,7 @@ public class PokemonController implements Observer {
 
       if (view != null) {
         view.dispose();
-        new PokemonController().start();
+        new PokemonController(pokedex).start();
       }
     }
   }
@@ -175,4 +198,9 @@ public class PokemonController implements Observer {
 
     dialog.setVisible(true);
   }
+
+  private void showWriteError(final String inName) {
+    // Called by the database writer
+    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(view, Translations.translate("dialog.writeError.message", inName), Translations.translate("dialog.writeError.title"), JOptionPane.ERROR_MESSAGE));
+  }
 }
@@ -70,7 +70,7 @@ public interface CandidateDetailsModelIfc extends GoodnessModelIfc {
   void removeSavedCandidates(Pokemon inPokemon, String inName);
 
   /**
-   * Save the {@link CandidateList} with the given name.
+   * Save the {@link CandidateList} with the given name and keep the scanned Pokémon in the inventory under this name.
    *
    * @param inCandidates The candidates to save.
    * @param inName The name to use for save.
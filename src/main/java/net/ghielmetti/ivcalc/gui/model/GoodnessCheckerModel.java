@@ -15,7 +15,7 @@ import javax.swing.table.TableModel;
 import net.ghielmetti.ivcalc.data.GoodnessChecker;
 import net.ghielmetti.ivcalc.data.IVLevel;
 import net.ghielmetti.ivcalc.data.Pokemon;
-import net.ghielmetti.ivcalc.database.PokemonDatabase;
+import net.ghielmetti.ivcalc.database.WriteBehindStore;
 import net.ghielmetti.ivcalc.pokedex.Pokedex;
 import net.ghielmetti.utilities.Translations;
 
@@ -183,12 +183,14 @@ public class GoodnessCheckerModel implements GoodnessCheckerModelIfc {
 
   @Override
   public void save() {
+    WriteBehindStore store = WriteBehindStore.getInstance();
+
     for (String name : deletedCheckers) {
-      PokemonDatabase.getInstance().removeGoodnessChecker(name);
+      store.removeGoodnessChecker(name);
     }
 
     for (GoodnessChecker checker : checkers.values()) {
-      PokemonDatabase.getInstance().saveGoodnessChecker(checker);
+      store.saveGoodnessChecker(checker);
     }
   }
 
@@ -215,14 +217,14 @@ public class GoodnessCheckerModel implements GoodnessCheckerModelIfc {
   }
 
   private String getBaseName(final String inName) {
-    List<Pokemon> ancestors = pokedex.getAncestors(inName);
-    return ancestors.isEmpty() ? inName : ancestors.get(ancestors.size() - 1).getName();
+    Pokemon baseForm = pokedex.getBaseForm(inName);
+    return baseForm == null ? inName : baseForm.getName();
   }
 
   private void initializeGoodnessChecker() {
     Set<String> names = new HashSet<>();
 
-    for (GoodnessChecker gc : PokemonDatabase.getInstance().listGoodnessCheckers()) {
+    for (GoodnessChecker gc : WriteBehindStore.getInstance().listGoodnessCheckers()) {
       String name = getBaseName(gc.getName());
       checkers.put(name, gc);
       names.add(name);
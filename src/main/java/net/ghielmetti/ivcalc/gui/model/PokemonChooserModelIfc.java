@@ -6,6 +6,7 @@ import java.util.Observer;
 
 import net.ghielmetti.ivcalc.data.Pokemon;
 import net.ghielmetti.ivcalc.gui.panel.PokemonChooserPanel;
+import net.ghielmetti.ivcalc.pokedex.NameIndex;
 
 /**
  * The model for {@link PokemonChooserPanel}.
@@ -30,6 +31,13 @@ public interface PokemonChooserModelIfc {
    */
   Collection<Pokemon> getAllPokemons();
 
+  /**
+   * Returns the index of the names of all the known Pokémons.
+   *
+   * @return The {@link NameIndex}.
+   */
+  NameIndex getNameIndex();
+
   /**
    * Returns the list of {@link Pokemon}.
    *
@@ -37,6 +45,13 @@ public interface PokemonChooserModelIfc {
    */
   List<Pokemon> getPokemons();
 
+  /**
+   * Sets if the species must be identified among all the known Pokémons instead of searching the selected Pokémons.
+   *
+   * @param inIdentify <code>true</code> to identify the species.
+   */
+  void setIdentify(boolean inIdentify);
+
   /**
    * Sets the {@link Pokemon} list.
    *
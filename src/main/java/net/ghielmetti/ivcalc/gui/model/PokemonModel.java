@@ -7,6 +7,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Observable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
@@ -17,7 +20,9 @@ import net.ghielmetti.ivcalc.data.CandidateList;
 import net.ghielmetti.ivcalc.data.IVLevel;
 import net.ghielmetti.ivcalc.data.Limit;
 import net.ghielmetti.ivcalc.data.Pokemon;
-import net.ghielmetti.ivcalc.database.PokemonDatabase;
+import net.ghielmetti.ivcalc.data.SpeciesIndex;
+import net.ghielmetti.ivcalc.database.WriteBehindStore;
+import net.ghielmetti.ivcalc.pokedex.NameIndex;
 import net.ghielmetti.ivcalc.pokedex.Pokedex;
 import net.ghielmetti.ivcalc.pokedex.Team;
 import net.ghielmetti.ivcalc.tools.PreferenceStore;
@@ -39,12 +44,15 @@ public class PokemonModel extends Observable implements PokemonModelIfc {
   private Integer                 hp             = Integer.valueOf(10);
   private Integer                 sd             = Integer.valueOf(200);
   private List<Pokemon>           pokemons       = new ArrayList<>();
+  private boolean                 identify;
   private boolean                 showHalfLevels = true;
   private CandidateList           selectedCandidate;
   private List<CandidateList>     candidates     = new ArrayList<>();
   private CandidateDetail         selectedDetail;
   // TODO try do do otherwise, I don't like this model in model way of life.
   private GoodnessCheckerModelIfc goodness;
+  private int                     parallelism    = Integer.getInteger("ivcalc.parallelism", Runtime.getRuntime().availableProcessors()).intValue();
+  private ForkJoinPool            searchPool;
 
   /**
    * Creates a new model.
@@ -102,6 +110,11 @@ public class PokemonModel extends Observable implements PokemonModelIfc {
     return pokedex;
   }
 
+  @Override
+  public NameIndex getNameIndex() {
+    return pokedex.getNameIndex();
+  }
+
   @Override
   public List<Pokemon> getPokemons() {
     return Collections.unmodifiableList(pokemons);
@@ -109,31 +122,13 @@ public class PokemonModel extends Observable implements PokemonModelIfc {
 
   @Override
   public CandidateList getSavedCandidates(final Pokemon inPokemon, final String inName, final Limit inLimit) {
-    CandidateList candidate = PokemonDatabase.getInstance().getSavedCandidates(inPokemon, inName, inLimit);
-
-    if (!candidate.isEmpty()) {
-      return candidate;
-    }
-
-    for (Pokemon pokemon : pokedex.getAncestors(inPokemon.getName())) {
-      candidate = PokemonDatabase.getInstance().getSavedCandidates(pokemon, inName, inLimit);
-
-      if (!candidate.isEmpty()) {
-        return candidate;
-      }
-    }
-
-    return null;
+    CandidateList candidate = WriteBehindStore.getInstance().getSavedCandidates(getFamily(inPokemon), inName, inLimit);
+    return candidate.isEmpty() ? null : candidate;
   }
 
   @Override
   public List<String> getSavedCandidatesNames(final Pokemon inPokemon, final Limit inLimit) {
-    List<String> names = new ArrayList<>(PokemonDatabase.getInstance().listSavedCandidates(inPokemon, inLimit));
-
-    for (Pokemon pokemon : pokedex.getAncestors(inPokemon.getName())) {
-      names.addAll(PokemonDatabase.getInstance().listSavedCandidates(pokemon, inLimit));
-    }
-
+    List<String> names = WriteBehindStore.getInstance().listSavedCandidates(getFamily(inPokemon), inLimit);
     Collections.sort(names);
 
     return names;
@@ -208,22 +203,21 @@ public class PokemonModel extends Observable implements PokemonModelIfc {
 
   @Override
   public void removeSavedCandidates(final Pokemon inPokemon, final String inName) {
-    PokemonDatabase.getInstance().removeSavedCandidates(inPokemon, inName);
-
-    for (Pokemon pokemon : pokedex.getAncestors(inPokemon.getName())) {
-      PokemonDatabase.getInstance().removeSavedCandidates(pokemon, inName);
-    }
+    WriteBehindStore.getInstance().removeSavedCandidates(getFamily(inPokemon), inName);
   }
 
   @Override
   public void saveCandidate(final CandidateList inCandidates, final String inName) {
     if (inName != null) {
-      PokemonDatabase.getInstance().removeSavedCandidates(inCandidates.getPokemon(), inName);
-      PokemonDatabase.getInstance().saveCandidates(inCandidates, inName);
+      // The candidates with the same name are replaced when written, with their inventory entry
+      WriteBehindStore.getInstance().saveCandidates(inCandidates, inName);
     }
   }
 
-  /** Compute the candidates based on the model configuration and notifies the observers. */
+  /**
+   * Compute the candidates based on the model configuration and notifies the observers.<br>
+   * In identify mode (see {@link #setIdentify(boolean)}) the species are identified among all the known Pokémons.
+   */
   public void searchCandidates() {
     candidates = searchCandidates(pokemons, limit, cp.intValue(), hp.intValue(), sd.intValue());
     LOGGER.debug("New candidates list");
@@ -231,6 +225,26 @@ public class PokemonModel extends Observable implements PokemonModelIfc {
     notifyObservers(OBSERVE_CANDIDATE_LIST);
   }
 
+  /**
+   * Sets the number of threads used to search the candidates of more than one Pokémon.<br>
+   * With a value of 1 the Pokémons are searched sequentially. The default is the number of processors and can be
+   * changed with the <code>ivcalc.parallelism</code> system property.
+   *
+   * @param inParallelism The number of threads (at least 1).
+   */
+  public synchronized void setParallelism(final int inParallelism) {
+    int newParallelism = Math.max(1, inParallelism);
+
+    if (newParallelism != parallelism) {
+      parallelism = newParallelism;
+
+      if (searchPool != null) {
+        searchPool.shutdown();
+        searchPool = null;
+      }
+    }
+  }
+
   @Override
   public void setBestQualityAttack(final boolean inBestQualityAttack) {
     if (limit.isAttack() != inBestQualityAttack) {
@@ -274,6 +288,16 @@ public class PokemonModel extends Observable implements PokemonModelIfc {
     }
   }
 
+  @Override
+  public void setIdentify(final boolean inIdentify) {
+    if (identify != inIdentify) {
+      identify = inIdentify;
+      LOGGER.debug("Identify mode: {}", Boolean.valueOf(identify));
+      setChanged();
+      notifyObservers(OBSERVE_POKEMONS);
+    }
+  }
+
   @Override
   public void setLimit(final Limit inLimit) {
     if (!Objects.equals(inLimit, limit)) {
@@ -378,7 +402,9 @@ public class PokemonModel extends Observable implements PokemonModelIfc {
   }
 
   /**
-   * Compute the candidates using the given parameters.
+   * Compute the candidates using the given parameters.<br>
+   * In identify mode the list of Pokémons is ignored and the candidates are searched in all the known Pokémons using the
+   * {@link SpeciesIndex}.
    *
    * @param inPokemons The list of Pokémons to scan.
    * @param inLimit The Limit.
@@ -388,6 +414,31 @@ public class PokemonModel extends Observable implements PokemonModelIfc {
    * @return A list of matching candidates.
    */
   private List<CandidateList> searchCandidates(final List<Pokemon> inPokemons, final Limit inLimit, final int inCP, final int inHP, final int inSD) {
+    if (identify) {
+      List<CandidateList> newList = pokedex.getSpeciesIndex().identify(inLimit, inCP, inHP, inSD);
+      newList.forEach(candidateList -> OUTPUT.info("{}", candidateList));
+      return newList;
+    }
+
+    ForkJoinPool pool = getSearchPool(inPokemons.size());
+
+    if (pool != null) {
+      try {
+        // The ordered stream keeps the results in the same order as the sequential search
+        List<CandidateList> newList = pool.submit(() -> inPokemons.parallelStream() //
+            .map(pokemon -> pokemon.getIV(inLimit, inCP, inHP, inSD)) //
+            .filter(candidateList -> candidateList.size() > 0) //
+            .collect(Collectors.toList())).get();
+        newList.forEach(candidateList -> OUTPUT.info("{}", candidateList));
+        return newList;
+      } catch (InterruptedException e) {
+        LOGGER.warn("Parallel search interrupted, searching sequentially", e);
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        LOGGER.error("Parallel search failed, searching sequentially", e);
+      }
+    }
+
     List<CandidateList> newList = new ArrayList<>();
 
     for (Pokemon pokemon : inPokemons) {
@@ -401,4 +452,35 @@ public class PokemonModel extends Observable implements PokemonModelIfc {
 
     return newList;
   }
+
+  /**
+   * Returns a Pokémon followed by his ancestors, so their saved candidates are found with a single query.
+   *
+   * @param inPokemon The Pokémon.
+   * @return The list of Pokémons.
+   */
+  private List<Pokemon> getFamily(final Pokemon inPokemon) {
+    List<Pokemon> family = new ArrayList<>();
+    family.add(inPokemon);
+    family.addAll(pokedex.getAncestors(inPokemon.getName()));
+    return family;
+  }
+
+  /**
+   * Returns the pool used to search in parallel the given number of Pokémons.
+   *
+   * @param inSize The number of Pokémons to search.
+   * @return The {@link ForkJoinPool} or <code>null</code> if the search must be sequential.
+   */
+  private synchronized ForkJoinPool getSearchPool(final int inSize) {
+    if (parallelism <= 1 || inSize <= 1) {
+      return null;
+    }
+
+    if (searchPool == null) {
+      searchPool = new ForkJoinPool(parallelism);
+    }
+
+    return searchPool;
+  }
 }
@@ -8,6 +8,7 @@ import java.awt.GridLayout;
 import java.awt.Insets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Observable;
 import java.util.Observer;
 
@@ -72,12 +73,14 @@ public class CandidateDetailsPanel extends JPanel implements Observer {
         comboBoxNames.setModel(new DefaultComboBoxModel<>(new String[0]));
         names = new ArrayList<>();
         bestCandidate.setText(" ");
+        bestCandidate.setToolTipText(null);
         model.setSelectedDetails(null);
       } else {
         names = model.getSavedCandidatesNames(candidate.getPokemon(), candidate.getLimit());
         comboBoxNames.setModel(new DefaultComboBoxModel<>(names.toArray(new String[0])));
         comboBoxNames.setSelectedItem(null);
         bestCandidate.setText(Translations.translate("label.bestCandidate40", Integer.valueOf(candidate.getMaxCP())));
+        bestCandidate.setToolTipText(createSummary(candidate));
       }
 
       addCandidates();
@@ -91,9 +94,11 @@ public class CandidateDetailsPanel extends JPanel implements Observer {
 
     if (candidate != null) {
       for (Integer level : candidate.getPossibleLevels()) {
+        // The min/max CP only depends on the level, the same pair is shared by all the details of the level
+        ImmutablePair<Integer, Integer> minMaxCP = candidate.getPokemon().getMinMaxCP(level.intValue());
+
         for (IVLevel ivLevel : candidate.getIVLevels(level)) {
           boolean isBad = !model.isGood(candidate.getPokemon().getName(), ivLevel);
-          ImmutablePair<Integer, Integer> minMaxCP = candidate.getPokemon().getMinMaxCP(level.intValue());
           newModel.addElement(new CandidateDetail(isBad, minMaxCP, level, ivLevel, model.getCP()));
         }
       }
@@ -130,6 +135,38 @@ public class CandidateDetailsPanel extends JPanel implements Observer {
     return candidateDetails;
   }
 
+  /**
+   * Creates the summary of the candidates: the CP range of each level and the number of candidates for each IV
+   * percentage. The values are cached by the {@link CandidateList}, so the summary is cheap even for long lists.
+   *
+   * @param inCandidate The candidates.
+   * @return The HTML summary.
+   */
+  private String createSummary(final CandidateList inCandidate) {
+    StringBuilder sb = new StringBuilder("<html><body><table><tr><th>") //
+        .append(Translations.translate("label.level")).append("</th><th>") //
+        .append(Translations.translate("label.minCP")).append("</th><th>") //
+        .append(Translations.translate("label.maxCP")).append("</th></tr>");
+
+    for (Integer level : inCandidate.getPossibleLevels()) {
+      ImmutablePair<Integer, Integer> range = inCandidate.getCPRange(level);
+      sb.append("<tr><td>").append(level.doubleValue() / 2.0) //
+          .append("</td><td align=\"right\">").append(range.getLeft()) //
+          .append("</td><td align=\"right\">").append(range.getRight()).append("</td></tr>");
+    }
+
+    sb.append("</table><table><tr><th>") //
+        .append(Translations.translate("pct", Translations.translate("label.iv"))).append("</th><th>") //
+        .append(Translations.translate("label.count")).append("</th></tr>");
+
+    for (Entry<Integer, Integer> entry : inCandidate.getIVPercentHistogram().entrySet()) {
+      sb.append("<tr><td align=\"right\">").append(entry.getKey()) //
+          .append("</td><td align=\"right\">").append(entry.getValue()).append("</td></tr>");
+    }
+
+    return sb.append("</table></body></html>").toString();
+  }
+
   private JPanel createTableHeader() {
     JPanel panel = new JPanel(new GridLayout(1, 9));
     panel.setBackground(Color.LIGHT_GRAY);
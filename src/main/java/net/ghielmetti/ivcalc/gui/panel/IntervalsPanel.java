@@ -19,7 +19,6 @@ import javax.swing.border.BevelBorder;
 import javax.swing.event.AncestorEvent;
 import javax.swing.event.AncestorListener;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import net.ghielmetti.ivcalc.data.CandidateDetail;
 import net.ghielmetti.ivcalc.data.IVLevel;
 import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.data.StatBounds;
 import net.ghielmetti.ivcalc.gui.model.IntervalsModelIfc;
 import net.ghielmetti.ivcalc.gui.model.PokemonModel;
 import net.ghielmetti.utilities.Translations;
@@ -39,8 +39,6 @@ import net.ghielmetti.utilities.swing.JMultiValueRuler;
  * @author Leopoldo Ghielmetti
  */
 public class IntervalsPanel extends JPanel implements Observer {
-  private static final IVLevel      IV_MIN      = new IVLevel(0, 0, 0);
-  private static final IVLevel      IV_MAX      = new IVLevel(15, 15, 15);
   private static final Logger       LOGGER      = LoggerFactory.getLogger(IntervalsPanel.class);
   private JMultiValueRuler<Integer> rulerA;
   private JMultiValueRuler<Integer> rulerD;
@@ -138,6 +136,16 @@ public class IntervalsPanel extends JPanel implements Observer {
     return ruler;
   }
 
+  /** Returns the attack, defense and stamina at the level with all the IVs at 15. */
+  private static ImmutableTriple<Integer, Integer, Integer> getMaxValues(final StatBounds inBounds, final int inLevel) {
+    return ImmutableTriple.of(Integer.valueOf(inBounds.getMaxAttack(inLevel)), Integer.valueOf(inBounds.getMaxDefense(inLevel)), Integer.valueOf(inBounds.getMaxStamina(inLevel)));
+  }
+
+  /** Returns the attack, defense and stamina at the level with all the IVs at 0. */
+  private static ImmutableTriple<Integer, Integer, Integer> getMinValues(final StatBounds inBounds, final int inLevel) {
+    return ImmutableTriple.of(Integer.valueOf(inBounds.getMinAttack(inLevel)), Integer.valueOf(inBounds.getMinDefense(inLevel)), Integer.valueOf(inBounds.getMinStamina(inLevel)));
+  }
+
   private void initialize() {
     int cpMax = 0;
     int aMax = 0;
@@ -147,15 +155,14 @@ public class IntervalsPanel extends JPanel implements Observer {
     int dMin = 1000;
     int sMin = 1000;
     for (Pokemon pokemon : model.getAllPokemons()) {
-      cpMax = Math.max(cpMax, pokemon.getCPForLevel(80, IV_MAX));
-      ImmutableTriple<Integer, Integer, Integer> valuesMax = pokemon.getValues(80, IV_MAX);
-      aMax = Math.max(aMax, valuesMax.getLeft().intValue());
-      dMax = Math.max(dMax, valuesMax.getMiddle().intValue());
-      sMax = Math.max(sMax, valuesMax.getRight().intValue());
-      ImmutableTriple<Integer, Integer, Integer> valuesMin = pokemon.getValues(2, IV_MIN);
-      aMin = Math.min(aMin, valuesMin.getLeft().intValue());
-      dMin = Math.min(dMin, valuesMin.getMiddle().intValue());
-      sMin = Math.min(sMin, valuesMin.getRight().intValue());
+      StatBounds bounds = pokemon.getStatBounds();
+      cpMax = Math.max(cpMax, bounds.getMaxCP(80));
+      aMax = Math.max(aMax, bounds.getMaxAttack(80));
+      dMax = Math.max(dMax, bounds.getMaxDefense(80));
+      sMax = Math.max(sMax, bounds.getMaxStamina(80));
+      aMin = Math.min(aMin, bounds.getMinAttack(2));
+      dMin = Math.min(dMin, bounds.getMinDefense(2));
+      sMin = Math.min(sMin, bounds.getMinStamina(2));
     }
 
     initializeRulerA(aMin, aMax);
@@ -256,26 +263,20 @@ public class IntervalsPanel extends JPanel implements Observer {
         ivLevel = displayedDetail == null ? null : displayedDetail.getIVLevel();
       }
 
-      ImmutableTriple<Integer, Integer, Integer> valuesMin = pokemon.getValues(2, IV_MIN);
-      ImmutableTriple<Integer, Integer, Integer> valuesMax = pokemon.getValues(80, IV_MAX);
-      setIntervals(intervalA1, intervalD1, intervalS1, valuesMin, valuesMax);
+      StatBounds bounds = pokemon.getStatBounds();
+      setIntervals(intervalA1, intervalD1, intervalS1, getMinValues(bounds, 2), getMaxValues(bounds, 80));
 
       if (ivLevel != null && level != null) {
         ImmutableTriple<Integer, Integer, Integer> valuesMinLevel = pokemon.getValues(2, ivLevel);
         ImmutableTriple<Integer, Integer, Integer> valuesMaxLevel = pokemon.getValues(80, ivLevel);
         setIntervals(intervalA2, intervalD2, intervalS2, valuesMinLevel, valuesMaxLevel);
 
-        ImmutableTriple<Integer, Integer, Integer> valuesLevelMin = pokemon.getValues(level.intValue(), IV_MIN);
-        ImmutableTriple<Integer, Integer, Integer> valuesLevelMax = pokemon.getValues(level.intValue(), IV_MAX);
-        setIntervals(intervalA3, intervalD3, intervalS3, valuesLevelMin, valuesLevelMax);
+        setIntervals(intervalA3, intervalD3, intervalS3, getMinValues(bounds, level.intValue()), getMaxValues(bounds, level.intValue()));
 
         int cpLevel2 = pokemon.getCPForLevel(2, ivLevel);
         int cpLevel40 = pokemon.getCPForLevel(80, ivLevel);
-        ImmutablePair<Integer, Integer> minMaxLevel = pokemon.getMinMaxCP(level.intValue());
-        ImmutablePair<Integer, Integer> minMax1 = pokemon.getMinMaxCP(2);
-        ImmutablePair<Integer, Integer> minMax40 = pokemon.getMinMaxCP(80);
-        ImmutableTriple<Integer, Integer, Integer> min = ImmutableTriple.of(minMax1.getLeft(), Integer.valueOf(cpLevel2), minMaxLevel.getLeft());
-        ImmutableTriple<Integer, Integer, Integer> max = ImmutableTriple.of(minMax40.getRight(), Integer.valueOf(cpLevel40), minMaxLevel.getRight());
+        ImmutableTriple<Integer, Integer, Integer> min = ImmutableTriple.of(Integer.valueOf(bounds.getMinCP(2)), Integer.valueOf(cpLevel2), Integer.valueOf(bounds.getMinCP(level.intValue())));
+        ImmutableTriple<Integer, Integer, Integer> max = ImmutableTriple.of(Integer.valueOf(bounds.getMaxCP(80)), Integer.valueOf(cpLevel40), Integer.valueOf(bounds.getMaxCP(level.intValue())));
         setIntervals(intervalCP1, intervalCP2, intervalCP3, min, max);
 
         ImmutableTriple<Integer, Integer, Integer> valuesLevel = pokemon.getValues(level.intValue(), ivLevel);
@@ -295,10 +296,8 @@ public class IntervalsPanel extends JPanel implements Observer {
         intervalCP2.setVisible(false);
         intervalCP3.setVisible(false);
 
-        ImmutablePair<Integer, Integer> minMax1 = pokemon.getMinMaxCP(2);
-        ImmutablePair<Integer, Integer> minMax40 = pokemon.getMinMaxCP(80);
-        intervalCP1.setMinimum(minMax1.getLeft());
-        intervalCP1.setMaximum(minMax40.getRight());
+        intervalCP1.setMinimum(Integer.valueOf(bounds.getMinCP(2)));
+        intervalCP1.setMaximum(Integer.valueOf(bounds.getMaxCP(80)));
         intervalCP1.setVisible(true);
       }
 
@@ -13,7 +13,9 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Observable;
 import java.util.Observer;
 
@@ -27,11 +29,13 @@ import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
 import javax.swing.event.ListSelectionEvent;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 
 import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.data.SpeciesIndex;
+import net.ghielmetti.ivcalc.data.StatBounds;
 import net.ghielmetti.ivcalc.gui.model.PokemonChooserModelIfc;
+import net.ghielmetti.ivcalc.pokedex.NameIndex;
 import net.ghielmetti.utilities.Translations;
 
 /**
@@ -44,6 +48,8 @@ public class PokemonChooserPanel extends JPanel implements Observer {
   private JTextField                   pokemonName;
   private JList<Pokemon>               selectedPokemons;
   private final PokemonChooserModelIfc model;
+  private NameIndex.Search             nameSearch;
+  private final Map<Pokemon, Integer>  positions                = new HashMap<>();
 
   private KeyListener                  pokemonNameKeyListener   = new KeyAdapter() {
                                                                   @Override
@@ -125,7 +131,13 @@ public class PokemonChooserPanel extends JPanel implements Observer {
 
     Pokemon[] pokemons = model.getAllPokemons().toArray(new Pokemon[0]);
 
-    Arrays.sort(pokemons);
+    Arrays.sort(pokemons, Pokemon.BY_NAME);
+
+    for (int index = 0; index < pokemons.length; index++) {
+      positions.put(pokemons[index], Integer.valueOf(index));
+    }
+
+    nameSearch = model.getNameIndex().search();
 
     selectedPokemons = new JList<>(pokemons);
     selectedPokemons.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
@@ -140,7 +152,7 @@ public class PokemonChooserPanel extends JPanel implements Observer {
         JLabel label = (JLabel) super.getListCellRendererComponent(inList, pokemon, inIndex, inIsSelected, inCellHasFocus);
         label.setIcon(pokemon.getSmallIcon());
         ImmutableTriple<Integer, Integer, Integer> baseValues = pokemon.getBaseValues();
-        ImmutablePair<Integer, Integer> minMax40 = pokemon.getMinMaxCP(80);
+        StatBounds bounds = pokemon.getStatBounds();
         label.setToolTipText( //
             "<html><body><p style=\"" + style + "\"><b>" + pokemon.getName() + ":</b></p>" //
                 + "<dl><dt>" + Translations.translate("label.base") + "</dt><dd>" //
@@ -151,8 +163,8 @@ public class PokemonChooserPanel extends JPanel implements Observer {
                 + TABLE_END //
                 + "</dd><dd></dd><dt>" + Translations.translate("label.at40") + "</dt><dd>" //
                 + TABLE_START //
-                + getRow(Translations.translate("label.minCP"), minMax40.left) //
-                + getRow(Translations.translate("label.maxCP"), minMax40.right) //
+                + getRow(Translations.translate("label.minCP"), Integer.valueOf(bounds.getMinCP(80))) //
+                + getRow(Translations.translate("label.maxCP"), Integer.valueOf(bounds.getMaxCP(80))) //
                 + TABLE_END //
                 + "</dd></dl></body></html>");
         return label;
@@ -197,21 +209,25 @@ public class PokemonChooserPanel extends JPanel implements Observer {
   /** Method called when a key is typed in the Pokémon name field. */
   void keyTypedAction() {
     SwingUtilities.invokeLater(() -> {
-      String search = pokemonName.getText().trim().toLowerCase();
+      model.setIdentify(SpeciesIndex.IDENTIFY.equals(pokemonName.getText().trim()));
+
       List<Integer> indices = new ArrayList<>();
       selectedPokemons.setValueIsAdjusting(true);
       selectedPokemons.clearSelection();
 
-      for (int index = selectedPokemons.getModel().getSize() - 1; index >= 0; index--) {
-        if (selectedPokemons.getModel().getElementAt(index).getName().toLowerCase().indexOf(search) != -1) {
-          indices.add(Integer.valueOf(index));
+      // The search reuses the previous matches while the user continues to type
+      for (Pokemon pokemon : nameSearch.refine(pokemonName.getText())) {
+        Integer index = positions.get(pokemon);
+
+        if (index != null) {
+          indices.add(index);
         }
       }
 
       selectedPokemons.setSelectedIndices(indices.stream().mapToInt(Integer::intValue).toArray());
 
       if (!indices.isEmpty()) {
-        selectedPokemons.ensureIndexIsVisible(indices.get(indices.size() - 1).intValue());
+        selectedPokemons.ensureIndexIsVisible(indices.get(0).intValue());
       }
 
       selectedPokemons.setValueIsAdjusting(false);
@@ -0,0 +1,374 @@
+package net.ghielmetti.ivcalc.pokedex;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Pokédex data compiled at build time in a single binary file by {@link DataBundleGenerator}.<br>
+ * The bundle contains the multipliers by level with the levels matching each stardust, the base values, the generation
+ * and the types of the Pokémons and their evolutions already resolved, so the {@link Pokedex} and the
+ * {@link Multiplier} don't need to parse the CSV files at startup. When the bundle is missing or has another version,
+ * {@link #getInstance()} returns <code>null</code> and the CSV files are read as before.<br>
+ * The build generates the bundle after copying the resources, so when the bundle is a plain file and one of the files it
+ * is generated from is newer (a CSV file changed and the bundle wasn't generated again, as it happens with an IDE
+ * build), the bundle is ignored with a warning and the CSV files are read. Only the modification times are compared,
+ * the CSV files aren't read. A bundle packed in a jar is always used, the jar is made by the build.<br>
+ * The bundle is small and decoded at once in arrays, so it's simply read in memory.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class DataBundle {
+  /** The name of the bundle resource. */
+  public static final String  RESOURCE = "/ivcalc.bundle";
+  /** The magic number at the start of the bundle ("IVCB"). */
+  static final int            MAGIC    = 0x49564342;
+  /** The version of the bundle format, a bundle with another version is ignored. */
+  static final int            VERSION  = 3;
+  /** The resources the bundle is generated from. */
+  static final String[]       SOURCES  = {"multipliers.csv", "baseValues.csv", "evolutions.csv", "types.properties"};
+  private static final Logger LOGGER   = LoggerFactory.getLogger(DataBundle.class);
+  private final double[]      multipliers;
+  private final int[]         stardustPerLevel;
+  private final int[]         stardusts;
+  private final int[]         firstLevels;
+  private final int[]         lastLevels;
+  private final int[]         ids;
+  private final String[]      names;
+  private final int[]         baseValues;
+  private final int[]         generations;
+  private final Type[][]      types;
+  private final int[][]       evolutions;
+
+  /** The bundle is loaded by the class loader the first time it's requested, so it's thread safe. */
+  private static final class Holder {
+    private static final DataBundle INSTANCE = load();
+
+    private Holder() {
+      // nothing to do
+    }
+  }
+
+  private DataBundle(final ByteBuffer inBuffer) throws IOException {
+    if (inBuffer.remaining() < 8 || inBuffer.getInt() != MAGIC) {
+      throw new IOException("Not a data bundle");
+    }
+
+    int version = inBuffer.getInt();
+
+    if (version != VERSION) {
+      throw new IOException("Unsupported data bundle version " + version + " (expected " + VERSION + ")");
+    }
+
+    int levels = inBuffer.getInt();
+    multipliers = new double[levels];
+    stardustPerLevel = new int[levels];
+
+    for (int level = 0; level < levels; level++) {
+      multipliers[level] = inBuffer.getDouble();
+      stardustPerLevel[level] = inBuffer.getInt();
+    }
+
+    int stardustCount = inBuffer.getInt();
+    stardusts = new int[stardustCount];
+    firstLevels = new int[stardustCount];
+    lastLevels = new int[stardustCount];
+
+    for (int i = 0; i < stardustCount; i++) {
+      stardusts[i] = inBuffer.getInt();
+      firstLevels[i] = inBuffer.getInt();
+      lastLevels[i] = inBuffer.getInt();
+    }
+
+    Type[] allTypes = new Type[inBuffer.getInt()];
+
+    for (int i = 0; i < allTypes.length; i++) {
+      allTypes[i] = Type.valueOf(readString(inBuffer));
+    }
+
+    int count = inBuffer.getInt();
+    ids = new int[count];
+    names = new String[count];
+    baseValues = new int[count * 3];
+    generations = new int[count];
+    types = new Type[count][];
+    evolutions = new int[count][];
+
+    for (int i = 0; i < count; i++) {
+      ids[i] = inBuffer.getInt();
+      names[i] = readString(inBuffer);
+      baseValues[i * 3] = inBuffer.getShort();
+      baseValues[i * 3 + 1] = inBuffer.getShort();
+      baseValues[i * 3 + 2] = inBuffer.getShort();
+      generations[i] = inBuffer.get();
+      types[i] = new Type[inBuffer.get()];
+
+      for (int t = 0; t < types[i].length; t++) {
+        types[i][t] = allTypes[inBuffer.get()];
+      }
+
+      evolutions[i] = new int[inBuffer.get()];
+
+      for (int e = 0; e < evolutions[i].length; e++) {
+        evolutions[i][e] = inBuffer.getShort();
+      }
+    }
+  }
+
+  /**
+   * Returns the bundle packaged with the application.
+   *
+   * @return The {@link DataBundle} or <code>null</code> if it's missing or can't be read.
+   */
+  public static DataBundle getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Reads a bundle from a buffer.
+   *
+   * @param inBuffer The buffer positioned at the start of the bundle.
+   * @return The {@link DataBundle}.
+   * @throws IOException If the buffer doesn't contain a bundle of the current version.
+   */
+  public static DataBundle read(final ByteBuffer inBuffer) throws IOException {
+    try {
+      return new DataBundle(inBuffer);
+    } catch (RuntimeException e) {
+      throw new IOException("Corrupted data bundle", e);
+    }
+  }
+
+  /**
+   * Reads a bundle from a file.
+   *
+   * @param inPath The file.
+   * @return The {@link DataBundle}.
+   * @throws IOException If the file can't be read or doesn't contain a bundle of the current version.
+   */
+  public static DataBundle read(final Path inPath) throws IOException {
+    return read(ByteBuffer.wrap(Files.readAllBytes(inPath)));
+  }
+
+  /**
+   * Checks if a bundle file is newer than the sources found on the classpath as plain files.
+   *
+   * @param inPath The bundle file.
+   * @return <code>true</code> if no source is newer than the bundle.
+   * @throws IOException If the modification time of a file can't be read.
+   */
+  static boolean isUpToDate(final Path inPath) throws IOException {
+    FileTime bundleTime = Files.getLastModifiedTime(inPath);
+
+    for (String source : SOURCES) {
+      URL url = DataBundle.class.getResource("/" + source);
+
+      try {
+        if (url != null && "file".equals(url.getProtocol()) && Files.getLastModifiedTime(Paths.get(url.toURI())).compareTo(bundleTime) > 0) {
+          return false;
+        }
+      } catch (URISyntaxException e) {
+        throw new IOException("Invalid resource " + url, e);
+      }
+    }
+
+    return true;
+  }
+
+  private static DataBundle load() {
+    URL url = DataBundle.class.getResource(RESOURCE);
+
+    if (url == null) {
+      LOGGER.info("Data bundle {} not found, reading the CSV files", RESOURCE);
+      return null;
+    }
+
+    try {
+      if (!"file".equals(url.getProtocol())) {
+        return readStream(url);
+      }
+
+      Path path = Paths.get(url.toURI());
+
+      if (!isUpToDate(path)) {
+        LOGGER.warn("The data bundle {} is older than the CSV files, reading the CSV files", url);
+        return null;
+      }
+
+      return read(path);
+    } catch (Exception e) {
+      LOGGER.warn("Unable to read the data bundle {}, reading the CSV files", url, e);
+      return null;
+    }
+  }
+
+  private static DataBundle readStream(final URL inURL) throws IOException {
+    try (InputStream is = inURL.openStream()) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      byte[] buffer = new byte[16384];
+      int length;
+
+      while ((length = is.read(buffer)) != -1) {
+        bytes.write(buffer, 0, length);
+      }
+
+      return read(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+  }
+
+  private static String readString(final ByteBuffer inBuffer) {
+    byte[] bytes = new byte[inBuffer.getShort()];
+    inBuffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String toString() {
+    return "DataBundle[levels=" + multipliers.length + ", pokemons=" + ids.length + "]";
+  }
+
+  /**
+   * Returns the base attack of a Pokémon.
+   *
+   * @param inIndex The index of the Pokémon in the bundle.
+   * @return The base attack.
+   */
+  int getAttack(final int inIndex) {
+    return baseValues[inIndex * 3];
+  }
+
+  /**
+   * Returns the base defense of a Pokémon.
+   *
+   * @param inIndex The index of the Pokémon in the bundle.
+   * @return The base defense.
+   */
+  int getDefense(final int inIndex) {
+    return baseValues[inIndex * 3 + 1];
+  }
+
+  /**
+   * Returns the indexes of the direct evolutions of a Pokémon.
+   *
+   * @param inIndex The index of the Pokémon in the bundle.
+   * @return The indexes of the evolutions (the array must not be modified).
+   */
+  int[] getEvolutions(final int inIndex) {
+    return evolutions[inIndex];
+  }
+
+  /**
+   * Returns the first level of each stardust, in the order of {@link #getStardusts()}.
+   *
+   * @return The levels (the array must not be modified).
+   */
+  int[] getFirstLevels() {
+    return firstLevels;
+  }
+
+  /**
+   * Returns the generation of a Pokémon.
+   *
+   * @param inIndex The index of the Pokémon in the bundle.
+   * @return The generation.
+   */
+  int getGeneration(final int inIndex) {
+    return generations[inIndex];
+  }
+
+  /**
+   * Returns the number of a Pokémon.
+   *
+   * @param inIndex The index of the Pokémon in the bundle.
+   * @return The Pokémon number.
+   */
+  int getId(final int inIndex) {
+    return ids[inIndex];
+  }
+
+  /**
+   * Returns the last level of each stardust, in the order of {@link #getStardusts()}.
+   *
+   * @return The levels (the array must not be modified).
+   */
+  int[] getLastLevels() {
+    return lastLevels;
+  }
+
+  /**
+   * Returns the multipliers indexed by level (0 for the unknown levels).
+   *
+   * @return The multipliers (the array must not be modified).
+   */
+  double[] getMultipliers() {
+    return multipliers;
+  }
+
+  /**
+   * Returns the (not localized) name of a Pokémon.
+   *
+   * @param inIndex The index of the Pokémon in the bundle.
+   * @return The name.
+   */
+  String getName(final int inIndex) {
+    return names[inIndex];
+  }
+
+  /**
+   * Returns the number of Pokémons in the bundle.
+   *
+   * @return The number of Pokémons.
+   */
+  int getPokemonCount() {
+    return ids.length;
+  }
+
+  /**
+   * Returns the base stamina of a Pokémon.
+   *
+   * @param inIndex The index of the Pokémon in the bundle.
+   * @return The base stamina.
+   */
+  int getStamina(final int inIndex) {
+    return baseValues[inIndex * 3 + 2];
+  }
+
+  /**
+   * Returns the stardust needed to power up at each level (0 for the unknown levels).
+   *
+   * @return The stardusts indexed by level (the array must not be modified).
+   */
+  int[] getStardustPerLevel() {
+    return stardustPerLevel;
+  }
+
+  /**
+   * Returns all the stardust values in ascending order.
+   *
+   * @return The stardusts (the array must not be modified).
+   */
+  int[] getStardusts() {
+    return stardusts;
+  }
+
+  /**
+   * Returns the types of a Pokémon.
+   *
+   * @param inIndex The index of the Pokémon in the bundle.
+   * @return The types.
+   */
+  Type[] getTypes(final int inIndex) {
+    return types[inIndex].clone();
+  }
+}
@@ -0,0 +1,201 @@
+package net.ghielmetti.ivcalc.pokedex;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opencsv.CSVReader;
+
+/**
+ * Compiles the CSV files of the Pokédex in a {@link DataBundle}.<br>
+ * This class is run by the build (see the <code>generate-data-bundle</code> execution in the pom) with the directory
+ * containing <code>multipliers.csv</code>, <code>baseValues.csv</code>, <code>evolutions.csv</code> and
+ * <code>types.properties</code> and the bundle file to write.<br>
+ * The bundle must be generated after the resources are copied, a bundle older than these files is ignored.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class DataBundleGenerator {
+  private static final Logger            LOGGER      = LoggerFactory.getLogger(DataBundleGenerator.class);
+  private final TreeMap<Integer, Double> multipliers = new TreeMap<>();
+  private final Map<Integer, Integer>    stardusts   = new TreeMap<>();
+  private final List<String[]>           pokemons    = new ArrayList<>();
+  private final Map<String, Integer>     indexes     = new HashMap<>();
+  private final List<Set<Integer>>       evolutions  = new ArrayList<>();
+  private final Properties               types       = new Properties();
+
+  /**
+   * Reads the CSV files in the given directory.
+   *
+   * @param inDirectory The directory containing the resources.
+   * @throws IOException If a file can't be read.
+   */
+  public DataBundleGenerator(final Path inDirectory) throws IOException {
+    try (InputStream is = Files.newInputStream(inDirectory.resolve("types.properties"))) {
+      types.load(is);
+    }
+
+    for (String[] line : readCSV(inDirectory.resolve("multipliers.csv"))) {
+      Integer level = Integer.valueOf((int) (Float.parseFloat(line[0]) * 2.0));
+      multipliers.put(level, Double.valueOf(line[1]));
+      stardusts.put(level, Integer.valueOf(line[2]));
+    }
+
+    for (String[] line : readCSV(inDirectory.resolve("baseValues.csv"))) {
+      indexes.put(line[1].toLowerCase(), Integer.valueOf(pokemons.size()));
+      pokemons.add(line);
+      evolutions.add(new LinkedHashSet<>());
+    }
+
+    for (String[] line : readCSV(inDirectory.resolve("evolutions.csv"))) {
+      Integer from = indexes.get(line[0].toLowerCase());
+      Integer to = indexes.get(line[1].toLowerCase());
+
+      if (from == null || to == null) {
+        LOGGER.warn("Ignoring unknown evolution: {} -> {}", line[0], line[1]);
+      } else {
+        evolutions.get(from.intValue()).add(to);
+      }
+    }
+  }
+
+  /**
+   * Generates the bundle.
+   *
+   * @param inArgs The directory containing the resources and the bundle file to write.
+   * @throws IOException If a file can't be read or written.
+   */
+  public static void main(final String[] inArgs) throws IOException {
+    if (inArgs.length != 2) {
+      throw new IllegalArgumentException("Usage: DataBundleGenerator <resources directory> <bundle file>");
+    }
+
+    DataBundleGenerator generator = new DataBundleGenerator(Paths.get(inArgs[0]));
+    Path bundle = Paths.get(inArgs[1]);
+
+    try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(bundle))) {
+      generator.write(os);
+    }
+
+    LOGGER.info("Data bundle written to {} ({} bytes)", bundle, Long.valueOf(Files.size(bundle)));
+  }
+
+  private static List<String[]> readCSV(final Path inFile) throws IOException {
+    try (Reader isr = Files.newBufferedReader(inFile, StandardCharsets.UTF_8); //
+        CSVReader reader = new CSVReader(isr, '\t');) {
+      return reader.readAll();
+    }
+  }
+
+  private static void writeString(final DataOutputStream inOutput, final String inValue) throws IOException {
+    byte[] bytes = inValue.getBytes(StandardCharsets.UTF_8);
+    inOutput.writeShort(bytes.length);
+    inOutput.write(bytes);
+  }
+
+  /**
+   * Writes the bundle.
+   *
+   * @param inOutput The stream where the bundle is written.
+   * @throws IOException If the bundle can't be written.
+   */
+  public void write(final OutputStream inOutput) throws IOException {
+    DataOutputStream out = new DataOutputStream(inOutput);
+    out.writeInt(DataBundle.MAGIC);
+    out.writeInt(DataBundle.VERSION);
+    writeMultipliers(out);
+    writePokemons(out);
+    out.flush();
+  }
+
+  private void writeMultipliers(final DataOutputStream inOutput) throws IOException {
+    int levels = multipliers.isEmpty() ? 0 : multipliers.lastKey().intValue() + 1;
+    inOutput.writeInt(levels);
+
+    for (int level = 0; level < levels; level++) {
+      Integer key = Integer.valueOf(level);
+      inOutput.writeDouble(multipliers.getOrDefault(key, Double.valueOf(0)).doubleValue());
+      inOutput.writeInt(stardusts.getOrDefault(key, Integer.valueOf(0)).intValue());
+    }
+
+    // The levels of each stardust, in stardust order
+    Map<Integer, int[]> levelsBySD = new TreeMap<>();
+
+    stardusts.forEach((level, stardust) -> {
+      int[] firstLast = levelsBySD.computeIfAbsent(stardust, k -> new int[]{level.intValue(), level.intValue()});
+      firstLast[0] = Math.min(firstLast[0], level.intValue());
+      firstLast[1] = Math.max(firstLast[1], level.intValue());
+    });
+
+    inOutput.writeInt(levelsBySD.size());
+
+    for (Map.Entry<Integer, int[]> e : levelsBySD.entrySet()) {
+      inOutput.writeInt(e.getKey().intValue());
+      inOutput.writeInt(e.getValue()[0]);
+      inOutput.writeInt(e.getValue()[1]);
+    }
+  }
+
+  private void writePokemons(final DataOutputStream inOutput) throws IOException {
+    List<String> typeNames = new ArrayList<>();
+
+    for (Type type : Type.values()) {
+      typeNames.add(type.name());
+    }
+
+    inOutput.writeInt(typeNames.size());
+
+    for (String typeName : typeNames) {
+      writeString(inOutput, typeName);
+    }
+
+    inOutput.writeInt(pokemons.size());
+
+    for (int i = 0; i < pokemons.size(); i++) {
+      String[] line = pokemons.get(i);
+      String[] pokemonTypes = types.getProperty("n" + line[0]).split(",");
+
+      inOutput.writeInt(Integer.parseInt(line[0]));
+      writeString(inOutput, line[1]);
+      inOutput.writeShort(Integer.parseInt(line[2]));
+      inOutput.writeShort(Integer.parseInt(line[3]));
+      inOutput.writeShort(Integer.parseInt(line[4]));
+      inOutput.writeByte(Integer.parseInt(line[5]));
+      inOutput.writeByte(pokemonTypes.length);
+
+      for (String type : pokemonTypes) {
+        int index = typeNames.indexOf(type);
+
+        if (index < 0) {
+          throw new IOException("Unknown type " + type + " for " + line[1]);
+        }
+
+        inOutput.writeByte(index);
+      }
+
+      inOutput.writeByte(evolutions.get(i).size());
+
+      for (Integer evolution : evolutions.get(i)) {
+        inOutput.writeShort(evolution.intValue());
+      }
+    }
+  }
+}
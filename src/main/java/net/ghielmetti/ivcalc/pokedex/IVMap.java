@@ -8,14 +8,18 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.IVMask;
 import net.ghielmetti.ivcalc.data.Limit;
 
 /**
  * Map for all the possible IV combinations.<br>
+ * Each {@link Limit} is associated to an {@link IVMask} with all the {@link IVLevel}s it matches.
  *
  * @author Leopoldo Ghielmetti
  */
 public class IVMap {
+  private static final IVMask                    EMPTY_MASK    = new IVMask().toReadOnly();
+  private static final Map<Limit, IVMask>        masks         = new HashMap<>();
   private static final Map<Limit, List<IVLevel>> map           = new HashMap<>();
   private static final List<Limit>               allowedLimits = new ArrayList<>();
 
@@ -38,7 +42,7 @@ public class IVMap {
    */
   public static List<IVLevel> getIVLevels(final Limit inLimit) {
     List<IVLevel> list = map.get(inLimit);
-    return list == null ? Collections.emptyList() : Collections.unmodifiableList(list);
+    return list == null ? Collections.emptyList() : list;
   }
 
   /**
@@ -51,26 +55,40 @@ public class IVMap {
   }
 
   /**
-   * Associate all the possibles {@link IVLevel}s to the corresponding {@link Limit}.
+   * Returns the read only {@link IVMask} of all the possible {@link IVLevel}s for the given {@link Limit}.
+   *
+   * @param inLimit The {@link Limit}.
+   * @return The mask (empty if the limit doesn't match any {@link IVLevel}).
+   */
+  public static IVMask getMask(final Limit inLimit) {
+    IVMask mask = masks.get(inLimit);
+    return mask == null ? EMPTY_MASK : mask;
+  }
+
+  /**
+   * Associate all the possibles {@link IVLevel}s to the corresponding {@link Limit}.<br>
+   * An {@link IVLevel} matches exactly one fully specified {@link Limit} and the 3 {@link Limit}s where the level
+   * and/or the strength are not specified.
    */
   private static void associateLimitsWithIVLevels() {
     for (int a = 0; a <= 15; a++) {
       for (int d = 0; d <= 15; d++) {
         for (int s = 0; s <= 15; s++) {
-          IVLevel iv = new IVLevel(a, d, s);
+          IVLevel iv = IVLevel.valueOf(a, d, s);
+          Limit limit = new Limit(iv);
+          int index = iv.getCode();
 
-          for (Entry<Limit, List<IVLevel>> entry : map.entrySet()) {
-            if (entry.getKey().matches(iv)) {
-              entry.getValue().add(iv);
-            }
-          }
+          masks.get(limit).set(index);
+          masks.get(new Limit(-1, limit.getStrength(), limit.isHP(), limit.isAttack(), limit.isDefense())).set(index);
+          masks.get(new Limit(limit.getLevel(), -1, limit.isHP(), limit.isAttack(), limit.isDefense())).set(index);
+          masks.get(new Limit(-1, -1, limit.isHP(), limit.isAttack(), limit.isDefense())).set(index);
         }
       }
     }
   }
 
   /**
-   * Prepare the lists for all possibilities.
+   * Prepare the masks for all possibilities.
    */
   private static void prepareAllPossibilities() {
     for (int level = -1; level <= 3; level++) {
@@ -84,20 +102,26 @@ public class IVMap {
           }
 
           // But we remember the cases for all the possible limits
-          map.put(limit, new ArrayList<>());
+          masks.put(limit, new IVMask());
         }
       }
     }
   }
 
   /**
-   * The cases without {@link Limit}s must be removed because they don't select any valid Pokémon.
+   * The cases without {@link Limit}s must be removed because they don't select any valid Pokémon.<br>
+   * The remaining masks are made read only and their lists of {@link IVLevel}s are prepared.
    */
   private static void removeImpossibleCases() {
-    for (Entry<Limit, List<IVLevel>> e : new ArrayList<>(map.entrySet())) {
+    for (Entry<Limit, IVMask> e : new ArrayList<>(masks.entrySet())) {
       if (e.getValue().isEmpty()) {
-        map.remove(e.getKey());
+        masks.remove(e.getKey());
         allowedLimits.remove(e.getKey());
+      } else {
+        List<IVLevel> list = new ArrayList<>();
+        e.getValue().forEach(index -> list.add(IVLevel.valueOf(index)));
+        masks.put(e.getKey(), e.getValue().toReadOnly());
+        map.put(e.getKey(), Collections.unmodifiableList(list));
       }
     }
   }
@@ -3,6 +3,7 @@ package net.ghielmetti.ivcalc.pokedex;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -18,37 +19,41 @@ import com.opencsv.CSVReader;
  * This class stores all the level multipliers. <br>
  * A Pokémon CP is defined via a multiplier that is use to compute the CP for a specific level. These multipliers can be
  * computed via a complex formula or simply looked up in a table. I've choose this last method because it allows to fine
- * tune the multipliers in case they are changed.
+ * tune the multipliers in case they are changed.<br>
+ * The multipliers are also kept in a dense array indexed by level and the levels matching each stardust in primitive
+ * arrays, so the hot paths can use the primitive accessors without boxing.
  *
  * @author Leopoldo Ghielmetti
  */
 public class Multiplier {
   private static final String                                RESOURCE_MULTIPLIERS = "/multipliers.csv";
   private static final Logger                                LOGGER               = LoggerFactory.getLogger(Multiplier.class);
-  private static Multiplier                                  instance;
   private Map<Integer, List<ImmutablePair<Integer, Double>>> valuesBySD           = new HashMap<>();
-  private Map<Integer, Double>                               valuesByLevel        = new HashMap<>();
+  private double[]                                           multipliers          = new double[0];
+  private int[]                                              stardusts            = new int[0];
+  private int[]                                              firstLevels          = new int[0];
+  private int[]                                              lastLevels           = new int[0];
 
-  /** This private constructor reads the configuration file and stores all the multipliers in a table. */
+  /** The instance is created by the class loader the first time it's requested, so it's thread safe. */
+  private static final class Holder {
+    private static final Multiplier INSTANCE = new Multiplier();
+
+    private Holder() {
+      // nothing to do
+    }
+  }
+
+  /**
+   * This private constructor reads the {@link DataBundle} or, if missing, the configuration file and stores all the
+   * multipliers in a table.
+   */
   private Multiplier() {
-    try (InputStream is = getClass().getResourceAsStream(RESOURCE_MULTIPLIERS); //
-        InputStreamReader isr = new InputStreamReader(is); //
-        CSVReader reader = new CSVReader(isr, '\t');) {
-      String[] line;
-      while ((line = reader.readNext()) != null) {
-        Integer stardust = Integer.valueOf(line[2]);
-        List<ImmutablePair<Integer, Double>> list = valuesBySD.get(stardust);
-        if (list == null) {
-          list = new ArrayList<>();
-          valuesBySD.put(stardust, list);
-        }
-        Integer level = Integer.valueOf((int) (Float.parseFloat(line[0]) * 2.0));
-        Double multiplier = Double.valueOf(line[1]);
-        valuesByLevel.put(level, multiplier);
-        list.add(ImmutablePair.of(level, multiplier));
-      }
-    } catch (Exception e) {
-      LOGGER.error("Unable to instantiate the Multiplier", e);
+    DataBundle bundle = DataBundle.getInstance();
+
+    if (bundle == null) {
+      readMultipliers();
+    } else {
+      readBundle(bundle);
     }
   }
 
@@ -58,21 +63,58 @@ public class Multiplier {
    * @return The {@link Multiplier}
    */
   public static Multiplier getInstance() {
-    if (instance == null) {
-      instance = new Multiplier();
-    }
-    return instance;
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Returns the first level matching the given stardust.
+   *
+   * @param inStardust The stardust
+   * @return The level or 0 if the stardust is unknown (so a loop up to {@link #getLastLevel(int)} is empty)
+   */
+  public int getFirstLevel(final int inStardust) {
+    int index = Arrays.binarySearch(stardusts, inStardust);
+    return index < 0 ? 0 : firstLevels[index];
+  }
+
+  /**
+   * Returns the last level matching the given stardust.
+   *
+   * @param inStardust The stardust
+   * @return The level or -1 if the stardust is unknown
+   */
+  public int getLastLevel(final int inStardust) {
+    int index = Arrays.binarySearch(stardusts, inStardust);
+    return index < 0 ? -1 : lastLevels[index];
+  }
+
+  /**
+   * Returns the highest known level.
+   *
+   * @return The level
+   */
+  public int getMaxLevel() {
+    return multipliers.length - 1;
   }
 
   /**
    * Returns the multiplier for the level.
    *
    * @param inLevel The level
-   * @return The multiplier
+   * @return The multiplier or 0 if the level is unknown (never <code>null</code>)
    */
   public Double getMultiplier(final int inLevel) {
-    Double value = valuesByLevel.get(Integer.valueOf(inLevel));
-    return value == null ? Double.valueOf(0) : value;
+    return Double.valueOf(getMultiplierValue(inLevel));
+  }
+
+  /**
+   * Returns the multiplier for the level as a primitive value.
+   *
+   * @param inLevel The level
+   * @return The multiplier or 0 if the level is unknown
+   */
+  public double getMultiplierValue(final int inLevel) {
+    return inLevel >= 0 && inLevel < multipliers.length ? multipliers[inLevel] : 0;
   }
 
   /**
@@ -93,8 +135,81 @@ public class Multiplier {
    * @return A {@link List} with all possible stardust values.
    */
   public List<Integer> getStardustList() {
-    List<Integer> sdList = new ArrayList<>(valuesBySD.keySet());
-    Collections.sort(sdList);
+    List<Integer> sdList = new ArrayList<>(stardusts.length);
+    for (int stardust : stardusts) {
+      sdList.add(Integer.valueOf(stardust));
+    }
     return sdList;
   }
+
+  /**
+   * Fills the primitive tables from the loaded values.
+   *
+   * @param inValuesByLevel The multipliers by level.
+   */
+  private void prepareTables(final Map<Integer, Double> inValuesByLevel) {
+    int maxLevel = inValuesByLevel.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1);
+    multipliers = new double[maxLevel + 1];
+    inValuesByLevel.forEach((level, multiplier) -> multipliers[level.intValue()] = multiplier.doubleValue());
+
+    stardusts = valuesBySD.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+    firstLevels = new int[stardusts.length];
+    lastLevels = new int[stardusts.length];
+
+    for (int i = 0; i < stardusts.length; i++) {
+      List<ImmutablePair<Integer, Double>> list = valuesBySD.get(Integer.valueOf(stardusts[i]));
+      firstLevels[i] = list.stream().mapToInt(p -> p.getLeft().intValue()).min().getAsInt();
+      lastLevels[i] = list.stream().mapToInt(p -> p.getLeft().intValue()).max().getAsInt();
+    }
+  }
+
+  /**
+   * Takes the tables already prepared in the bundle.
+   *
+   * @param inBundle The {@link DataBundle}.
+   */
+  private void readBundle(final DataBundle inBundle) {
+    int[] stardustPerLevel = inBundle.getStardustPerLevel();
+
+    multipliers = inBundle.getMultipliers();
+    stardusts = inBundle.getStardusts();
+    firstLevels = inBundle.getFirstLevels();
+    lastLevels = inBundle.getLastLevels();
+
+    for (int level = 0; level < multipliers.length; level++) {
+      if (stardustPerLevel[level] != 0) {
+        Integer stardust = Integer.valueOf(stardustPerLevel[level]);
+        valuesBySD.computeIfAbsent(stardust, k -> new ArrayList<>()).add(ImmutablePair.of(Integer.valueOf(level), Double.valueOf(multipliers[level])));
+      }
+    }
+  }
+
+  /**
+   * Reads the configuration file and prepares the tables.
+   */
+  private void readMultipliers() {
+    Map<Integer, Double> valuesByLevel = new HashMap<>();
+
+    try (InputStream is = getClass().getResourceAsStream(RESOURCE_MULTIPLIERS); //
+        InputStreamReader isr = new InputStreamReader(is); //
+        CSVReader reader = new CSVReader(isr, '\t');) {
+      String[] line;
+      while ((line = reader.readNext()) != null) {
+        Integer stardust = Integer.valueOf(line[2]);
+        List<ImmutablePair<Integer, Double>> list = valuesBySD.get(stardust);
+        if (list == null) {
+          list = new ArrayList<>();
+          valuesBySD.put(stardust, list);
+        }
+        Integer level = Integer.valueOf((int) (Float.parseFloat(line[0]) * 2.0));
+        Double multiplier = Double.valueOf(line[1]);
+        valuesByLevel.put(level, multiplier);
+        list.add(ImmutablePair.of(level, multiplier));
+      }
+    } catch (Exception e) {
+      LOGGER.error("Unable to instantiate the Multiplier", e);
+    }
+
+    prepareTables(valuesByLevel);
+  }
 }
@@ -0,0 +1,350 @@
+package net.ghielmetti.ivcalc.pokedex;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import net.ghielmetti.ivcalc.data.Pokemon;
+
+/**
+ * Trigram index of the Pokémon names, to find the Pokémons while the user types.<br>
+ * The names are normalized (lower case, without accents) and each name is indexed by all its sequences of 3 characters,
+ * including a start and an end marker, so a query only verifies the few names having all the trigrams of the query. A
+ * Pokémon can be indexed with many names (for example in many languages).<br>
+ * The results of a {@link Search} are refined while the query grows, without looking at the index again.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class NameIndex {
+  private static final char        START      = '\u0002';
+  private static final char        END        = '\u0003';
+  private static final Pattern     DIACRITICS = Pattern.compile("\\p{M}+");
+  private final List<String>       keys       = new ArrayList<>();
+  private final List<Pokemon>      owners     = new ArrayList<>();
+  private final Map<Long, int[]>   postings   = new HashMap<>();
+  private final Map<Long, Integer> sizes      = new HashMap<>();
+
+  /**
+   * An incremental search: each call to {@link #refine(String)} reuses the previous matches when the new query contains
+   * the previous one.
+   */
+  public final class Search {
+    private String query;
+    private int[]  matches;
+
+    private Search() {
+      // created by the index
+    }
+
+    /**
+     * Returns the Pokémons with a name containing the query.
+     *
+     * @param inQuery The (partial) name typed.
+     * @return The Pokémons matching, in name order.
+     */
+    public List<Pokemon> refine(final String inQuery) {
+      String normalized = normalize(inQuery);
+
+      if (query != null && normalized.contains(query)) {
+        // Every name containing the new query contains the previous one too
+        matches = verify(matches, normalized, false);
+      } else {
+        matches = match(normalized);
+      }
+
+      query = normalized;
+      return toPokemons(matches);
+    }
+  }
+
+  /**
+   * Creates an index of the given Pokémons with their names.
+   *
+   * @param inPokemons The Pokémons.
+   */
+  public NameIndex(final Collection<Pokemon> inPokemons) {
+    for (Pokemon pokemon : inPokemons) {
+      add(pokemon, pokemon.getName());
+    }
+  }
+
+  /**
+   * Returns the Levenshtein distance between two strings, stopping as soon as it exceeds the given maximum.
+   *
+   * @param inString1 The first string.
+   * @param inString2 The second string.
+   * @param inMax The maximum distance of interest.
+   * @return The distance or <code>inMax + 1</code> if greater than <code>inMax</code>.
+   */
+  static int distance(final String inString1, final String inString2, final int inMax) {
+    if (Math.abs(inString1.length() - inString2.length()) > inMax) {
+      return inMax + 1;
+    }
+
+    int[] previous = new int[inString2.length() + 1];
+    int[] current = new int[inString2.length() + 1];
+
+    for (int j = 0; j < previous.length; j++) {
+      previous[j] = j;
+    }
+
+    for (int i = 1; i <= inString1.length(); i++) {
+      current[0] = i;
+      int best = current[0];
+
+      for (int j = 1; j <= inString2.length(); j++) {
+        int cost = inString1.charAt(i - 1) == inString2.charAt(j - 1) ? 0 : 1;
+        current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+        best = Math.min(best, current[j]);
+      }
+
+      if (best > inMax) {
+        return inMax + 1;
+      }
+
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+
+    return Math.min(previous[inString2.length()], inMax + 1);
+  }
+
+  /**
+   * Normalizes a name for the index: lower case and without accents.
+   *
+   * @param inName The name.
+   * @return The normalized name.
+   */
+  public static String normalize(final String inName) {
+    String decomposed = Normalizer.normalize(inName.trim(), Normalizer.Form.NFD);
+    return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+  }
+
+  private static long trigram(final CharSequence inText, final int inIndex) {
+    return (long) inText.charAt(inIndex) << 32 | (long) inText.charAt(inIndex + 1) << 16 | inText.charAt(inIndex + 2);
+  }
+
+  /**
+   * Adds a name for a Pokémon.
+   *
+   * @param inPokemon The Pokémon.
+   * @param inName The name (in any language).
+   */
+  public void add(final Pokemon inPokemon, final String inName) {
+    String key = normalize(inName);
+    int index = keys.size();
+    String marked = START + key + END;
+    Set<Long> trigrams = new LinkedHashSet<>();
+
+    keys.add(key);
+    owners.add(inPokemon);
+
+    for (int i = 0; i + 3 <= marked.length(); i++) {
+      trigrams.add(Long.valueOf(trigram(marked, i)));
+    }
+
+    for (Long trigram : trigrams) {
+      int[] list = postings.get(trigram);
+      int size = sizes.getOrDefault(trigram, Integer.valueOf(0)).intValue();
+
+      if (list == null || list.length == size) {
+        list = list == null ? new int[4] : Arrays.copyOf(list, size * 2);
+        postings.put(trigram, list);
+      }
+
+      list[size] = index;
+      sizes.put(trigram, Integer.valueOf(size + 1));
+    }
+  }
+
+  /**
+   * Returns the Pokémons with a name containing the given text.
+   *
+   * @param inText The text.
+   * @return The Pokémons matching, in name order.
+   */
+  public List<Pokemon> findContaining(final String inText) {
+    return toPokemons(match(normalize(inText)));
+  }
+
+  /**
+   * Returns the Pokémons with a name near the given one, to find them despite typing errors.
+   *
+   * @param inName The name.
+   * @param inMaxErrors The maximum number of characters inserted, removed or replaced.
+   * @return The Pokémons matching, in name order.
+   */
+  public List<Pokemon> findNear(final String inName, final int inMaxErrors) {
+    String query = normalize(inName);
+    String marked = START + query + END;
+    int trigramCount = marked.length() - 2;
+    // Each error can change at most 3 trigrams of the query
+    int minShared = trigramCount - 3 * inMaxErrors;
+    int[] candidates;
+
+    if (minShared <= 0) {
+      candidates = all();
+    } else {
+      int[] shared = new int[keys.size()];
+      int count = 0;
+
+      for (int i = 0; i + 3 <= marked.length(); i++) {
+        Long trigram = Long.valueOf(trigram(marked, i));
+        int[] list = postings.get(trigram);
+
+        for (int j = 0; list != null && j < sizes.get(trigram).intValue(); j++) {
+          if (++shared[list[j]] == minShared) {
+            count++;
+          }
+        }
+      }
+
+      candidates = new int[count];
+      count = 0;
+
+      for (int index = 0; index < shared.length; index++) {
+        if (shared[index] >= minShared) {
+          candidates[count++] = index;
+        }
+      }
+    }
+
+    int[] matches = new int[candidates.length];
+    int count = 0;
+
+    for (int index : candidates) {
+      if (distance(query, keys.get(index), inMaxErrors) <= inMaxErrors) {
+        matches[count++] = index;
+      }
+    }
+
+    return toPokemons(Arrays.copyOf(matches, count));
+  }
+
+  /**
+   * Returns the Pokémons with a name starting with the given text.
+   *
+   * @param inPrefix The start of the name.
+   * @return The Pokémons matching, in name order.
+   */
+  public List<Pokemon> findStartingWith(final String inPrefix) {
+    String prefix = normalize(inPrefix);
+    return toPokemons(verify(candidates(START + prefix), prefix, true));
+  }
+
+  /**
+   * Starts an incremental search.
+   *
+   * @return The {@link Search}.
+   */
+  public Search search() {
+    return new Search();
+  }
+
+  @Override
+  public String toString() {
+    return "NameIndex[names=" + keys.size() + ", trigrams=" + postings.size() + "]";
+  }
+
+  private int[] all() {
+    int[] all = new int[keys.size()];
+
+    for (int index = 0; index < all.length; index++) {
+      all[index] = index;
+    }
+
+    return all;
+  }
+
+  /**
+   * Returns the indexes of the names having all the trigrams of the text (or all the names if the text is too short to
+   * have trigrams).
+   */
+  private int[] candidates(final String inText) {
+    if (inText.length() < 3) {
+      return all();
+    }
+
+    int[] result = null;
+    int resultSize = 0;
+
+    for (int i = 0; i + 3 <= inText.length(); i++) {
+      Long trigram = Long.valueOf(trigram(inText, i));
+      int[] list = postings.get(trigram);
+
+      if (list == null) {
+        return new int[0];
+      }
+
+      int size = sizes.get(trigram).intValue();
+
+      if (result == null) {
+        result = Arrays.copyOf(list, size);
+        resultSize = size;
+      } else {
+        resultSize = intersect(result, resultSize, list, size);
+      }
+    }
+
+    return Arrays.copyOf(result, resultSize);
+  }
+
+  /** Intersects two sorted lists of indexes, the result is stored in the first one. */
+  private int intersect(final int[] inoutResult, final int inResultSize, final int[] inList, final int inListSize) {
+    int size = 0;
+    int j = 0;
+
+    for (int i = 0; i < inResultSize; i++) {
+      while (j < inListSize && inList[j] < inoutResult[i]) {
+        j++;
+      }
+
+      if (j < inListSize && inList[j] == inoutResult[i]) {
+        inoutResult[size++] = inoutResult[i];
+      }
+    }
+
+    return size;
+  }
+
+  private int[] match(final String inText) {
+    return verify(candidates(inText), inText, false);
+  }
+
+  private List<Pokemon> toPokemons(final int[] inIndexes) {
+    Set<Pokemon> pokemons = new LinkedHashSet<>();
+
+    for (int index : inIndexes) {
+      pokemons.add(owners.get(index));
+    }
+
+    List<Pokemon> list = new ArrayList<>(pokemons);
+    list.sort(Pokemon.BY_NAME);
+    return list;
+  }
+
+  /** Keeps only the names really containing (or starting with) the text. */
+  private int[] verify(final int[] inCandidates, final String inText, final boolean inPrefix) {
+    int[] result = new int[inCandidates.length];
+    int size = 0;
+
+    for (int index : inCandidates) {
+      String key = keys.get(index);
+
+      if (inPrefix ? key.startsWith(inText) : key.contains(inText)) {
+        result[size++] = index;
+      }
+    }
+
+    return Arrays.copyOf(result, size);
+  }
+}
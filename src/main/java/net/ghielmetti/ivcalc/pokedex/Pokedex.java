@@ -7,12 +7,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
-import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import com.opencsv.CSVReader;
 
 import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.data.SpeciesIndex;
 
 /**
  * The Pokédex contains all the informations about Pokémon types.
@@ -30,14 +31,31 @@ import net.ghielmetti.ivcalc.data.Pokemon;
  */
 public class Pokedex {
   private static final int               CURRENT_GENERATION   = 3;
-  private static final String            RESOURCE_NAMES       = "names";
   private static final String            RESOURCE_BASE_VALUES = "/baseValues.csv";
   private static final String            RESOURCE_EVOLUTIONS  = "/evolutions.csv";
   private static final String            RESOURCE_TYPES       = "/types.properties";
   private static final Logger            LOGGER               = LoggerFactory.getLogger(Pokedex.class);
   private final Map<String, Pokemon>     pokemons             = new HashMap<>();
+  private final Map<Integer, Pokemon>    numbers              = new HashMap<>();
   private final Map<String, Set<String>> evolutions           = new HashMap<>();
-  private final List<String>             names                = new ArrayList<>();
+  private final Map<Pokemon, Family>     families             = new HashMap<>();
+  private SpeciesIndex                   speciesIndex;
+  private NameIndex                      nameIndex;
+
+  /** The evolution family of a Pokémon, computed once when the Pokédex is initialized. */
+  private static final class Family {
+    private final int           id;
+    private final Pokemon       baseForm;
+    private final List<Pokemon> ancestors;
+    private final List<Pokemon> offsprings;
+
+    private Family(final int inId, final Pokemon inBaseForm, final List<Pokemon> inAncestors, final List<Pokemon> inOffsprings) {
+      id = inId;
+      baseForm = inBaseForm;
+      ancestors = inAncestors;
+      offsprings = inOffsprings;
+    }
+  }
 
   /** Constructor. */
   public Pokedex() {
@@ -54,12 +72,15 @@ public class Pokedex {
   }
 
   /**
-   * Returns all the known Pokémon names.
+   * Returns all the known Pokémon names in the current language.
    *
-   * @return The {@link List} of all Pokémon names.
+   * @return The sorted {@link List} of all Pokémon names.
    */
   public List<String> getAllNames() {
-    return Collections.unmodifiableList(names);
+    return Collections.unmodifiableList(pokemons.values().stream() //
+        .map(Pokemon::getName) //
+        .sorted() //
+        .collect(Collectors.toList()));
   }
 
   /**
@@ -76,21 +97,35 @@ public class Pokedex {
    * An ancestor is a Pokémon that evolves in the the specified one.
    *
    * @param inName The Pokémon name to get the ancestors.
-   * @return The list of the ancestors in the reverse evolutionary order.
+   * @return The read only list of the ancestors in the reverse evolutionary order.
    */
   public List<Pokemon> getAncestors(final String inName) {
-    List<Pokemon> ancestors = new ArrayList<>();
-    String name = inName.toLowerCase();
+    Family family = families.get(getPokemon(inName));
+    return family == null ? Collections.emptyList() : family.ancestors;
+  }
 
-    for (Entry<String, Set<String>> entry : evolutions.entrySet()) {
-      if (entry.getValue().contains(name)) {
-        Pokemon pokemon = getPokemon(entry.getKey());
-        ancestors.add(pokemon);
-        ancestors.addAll(getAncestors(pokemon.getName()));
-      }
-    }
+  /**
+   * Returns the first form of the evolution family of a Pokémon.
+   *
+   * @param inName The Pokémon name.
+   * @return The Pokémon without ancestors in the family (the Pokémon itself if it has no ancestors) or
+   *         <code>null</code> if the Pokémon is unknown.
+   */
+  public Pokemon getBaseForm(final String inName) {
+    Family family = families.get(getPokemon(inName));
+    return family == null ? null : family.baseForm;
+  }
 
-    return ancestors;
+  /**
+   * Returns the identifier of the evolution family of a Pokémon.<br>
+   * All the Pokémons with the same base form have the same identifier.
+   *
+   * @param inName The Pokémon name.
+   * @return The identifier or -1 if the Pokémon is unknown.
+   */
+  public int getFamilyId(final String inName) {
+    Family family = families.get(getPokemon(inName));
+    return family == null ? -1 : family.id;
   }
 
   /**
@@ -98,55 +133,98 @@ public class Pokedex {
    * An offspring is an evolution of the Pokémon.
    *
    * @param inName The Pokémon name to get the offsprings.
-   * @return The list of the offsprings in evolutionary order.
+   * @return The read only list of the offsprings in evolutionary order.
    */
   public List<Pokemon> getOffsprings(final String inName) {
-    List<Pokemon> offsprings = new ArrayList<>();
-    Set<String> possibleEvolutions = evolutions.get(inName.toLowerCase());
-
-    if (possibleEvolutions != null) {
-      for (String name : possibleEvolutions) {
-        Pokemon pokemon = getPokemon(name);
-        offsprings.add(pokemon);
-        offsprings.addAll(getOffsprings(pokemon.getName()));
+    Family family = families.get(getPokemon(inName));
+    return family == null ? Collections.emptyList() : family.offsprings;
+  }
+
+  /**
+   * Returns the {@link NameIndex} of all the known Pokémons with their names in all the languages.<br>
+   * The index is built the first time it's requested.
+   *
+   * @return The {@link NameIndex}.
+   */
+  public synchronized NameIndex getNameIndex() {
+    if (nameIndex == null) {
+      nameIndex = new NameIndex(Collections.emptyList());
+
+      for (Pokemon pokemon : pokemons.values()) {
+        Set<String> pokemonNames = new LinkedHashSet<>(PokemonNames.getInstance().getNames(pokemon.getNumber()));
+        pokemonNames.add(pokemon.getName());
+        pokemonNames.forEach(name -> nameIndex.add(pokemon, name));
       }
     }
 
-    return offsprings;
+    return nameIndex;
   }
 
   /**
-   * Returns the Pokémon with the given name.
+   * Returns the Pokémon with the given name.<br>
+   * The name can be given in any language (see {@link PokemonNames}).
    *
    * @param inName The Pokémon name.
-   * @return The Pokémon.
+   * @return The Pokémon or <code>null</code> if the name is unknown.
    */
   public Pokemon getPokemon(final String inName) {
-    return pokemons.get(inName.toLowerCase());
+    Pokemon pokemon = pokemons.get(inName.toLowerCase());
+
+    if (pokemon == null) {
+      pokemon = numbers.get(Integer.valueOf(PokemonNames.getInstance().getNumber(inName)));
+    }
+
+    return pokemon;
   }
 
   /**
-   * Returns all the Pokémons matching the given name.
+   * Returns all the Pokémons matching the given name.<br>
+   * The case and the accents are ignored (see {@link NameIndex}).
    *
    * @param inPartialName A partial name.
-   * @return A {@link List} of all matching Pokémons.
+   * @return A {@link List} of all matching Pokémons, in name order.
    */
   public List<Pokemon> getPokemonsFromPartialName(final String inPartialName) {
-    String partialName = inPartialName.toLowerCase();
-    return pokemons.entrySet().stream() //
-        .filter(entry -> entry.getKey().indexOf(partialName) != -1) //
-        .map(Entry::getValue) //
-        .collect(Collectors.toList());
+    return getNameIndex().findContaining(inPartialName);
+  }
+
+  /**
+   * Returns the {@link SpeciesIndex} of all the known Pokémons.<br>
+   * The index is built the first time it's requested.
+   *
+   * @return The {@link SpeciesIndex}.
+   */
+  public synchronized SpeciesIndex getSpeciesIndex() {
+    if (speciesIndex == null) {
+      speciesIndex = new SpeciesIndex(pokemons.values());
+    }
+
+    return speciesIndex;
   }
 
   /**
    * Initialize the Pokédex.<br>
-   * This can be called when changed the {@link Locale} to get the correct Pokémon names translations.
+   * The Pokémons are read from the {@link DataBundle} or, if missing, from the CSV files. There is no need to call it
+   * again when the {@link Locale} is changed: the Pokémons are always named in the current language (see
+   * {@link PokemonNames}).
    */
   public void initialize() {
-    Properties types = readTypes();
-    readBaseValues(types);
-    readEvolutions();
+    synchronized (this) {
+      speciesIndex = null;
+      nameIndex = null;
+    }
+
+    DataBundle data = DataBundle.getInstance();
+
+    if (data == null) {
+      Properties types = readTypes();
+      readBaseValues(types);
+      readEvolutions();
+    } else {
+      readBundle(data);
+    }
+
+    prepareFamilies();
   }
 
   @Override
@@ -164,7 +242,7 @@ public class Pokedex {
     return list;
   }
 
-  private void instantiatePokemon(final ResourceBundle inBundle, final Properties inTypes, final String[] inCharacteristics) {
+  private void instantiatePokemon(final Properties inTypes, final String[] inCharacteristics) {
     int generation = Integer.parseInt(inCharacteristics[5]);
 
     if (generation <= CURRENT_GENERATION) {
@@ -173,43 +251,120 @@ public class Pokedex {
       int attack = Integer.parseInt(inCharacteristics[2]);
       int defense = Integer.parseInt(inCharacteristics[3]);
       int stamina = Integer.parseInt(inCharacteristics[4]);
+      instantiatePokemon(id, name, attack, defense, stamina, getTypes(inTypes, id));
+    }
+  }
 
-      if (inBundle != null) {
-        name = inBundle.getString("n" + id);
+  /** The Pokémons are stored with their default name, the one used in the evolutions. */
+  private String instantiatePokemon(final int inId, final String inName, final int inAttack, final int inDefense, final int inStamina, final Type[] inTypes) {
+    String name = PokemonNames.getInstance().getName(inId, Locale.ROOT);
+
+    if (name == null) {
+      name = inName;
+    }
+
+    Pokemon pokemon = new Pokemon(inId, name, inAttack, inDefense, inStamina, inTypes);
+    pokemons.put(name.toLowerCase(), pokemon);
+    numbers.put(Integer.valueOf(inId), pokemon);
+    return name.toLowerCase();
+  }
+
+  /**
+   * Computes the ancestors and the offsprings of all the Pokémons once, so they are only looked up later.
+   */
+  private void prepareFamilies() {
+    Map<String, List<String>> parents = new HashMap<>();
+    Map<String, List<Pokemon>> ancestors = new HashMap<>();
+    Map<String, List<Pokemon>> offsprings = new HashMap<>();
+    Map<Pokemon, Integer> ids = new HashMap<>();
+
+    for (Entry<String, Set<String>> entry : evolutions.entrySet()) {
+      for (String evolution : entry.getValue()) {
+        parents.computeIfAbsent(evolution, k -> new ArrayList<>()).add(entry.getKey());
       }
+    }
 
-      Pokemon pokemon = new Pokemon(id, name, attack, defense, stamina, getTypes(inTypes, id));
-      pokemons.put(name.toLowerCase(), pokemon);
+    List<String> keys = new ArrayList<>(pokemons.keySet());
+    keys.sort((a, b) -> Integer.compare(pokemons.get(a).getNumber(), pokemons.get(b).getNumber()));
+    families.clear();
+
+    for (String key : keys) {
+      List<Pokemon> pokemonAncestors = prepareAncestors(key, parents, ancestors);
+      Pokemon baseForm = pokemonAncestors.isEmpty() ? pokemons.get(key) : pokemonAncestors.get(pokemonAncestors.size() - 1);
+      Integer id = ids.computeIfAbsent(baseForm, k -> Integer.valueOf(ids.size()));
+      families.put(pokemons.get(key), new Family(id.intValue(), baseForm, pokemonAncestors, prepareOffsprings(key, offsprings)));
     }
   }
 
-  private void readBaseValues(final Properties inTypes) {
-    ResourceBundle bundle = null;
+  private List<Pokemon> prepareAncestors(final String inKey, final Map<String, List<String>> inParents, final Map<String, List<Pokemon>> inAncestors) {
+    List<Pokemon> ancestors = inAncestors.get(inKey);
 
-    try {
-      bundle = ResourceBundle.getBundle(RESOURCE_NAMES);
-    } catch (Exception e) {
-      LOGGER.info("Localized names for \"{}\" not found, using default", Locale.getDefault(), e);
+    if (ancestors == null) {
+      ancestors = new ArrayList<>();
+
+      for (String parent : inParents.getOrDefault(inKey, Collections.emptyList())) {
+        ancestors.add(pokemons.get(parent));
+        ancestors.addAll(prepareAncestors(parent, inParents, inAncestors));
+      }
+
+      ancestors = ancestors.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(ancestors);
+      inAncestors.put(inKey, ancestors);
     }
 
+    return ancestors;
+  }
+
+  private List<Pokemon> prepareOffsprings(final String inKey, final Map<String, List<Pokemon>> inOffsprings) {
+    List<Pokemon> offsprings = inOffsprings.get(inKey);
+
+    if (offsprings == null) {
+      offsprings = new ArrayList<>();
+
+      for (String evolution : evolutions.getOrDefault(inKey, Collections.emptySet())) {
+        offsprings.add(pokemons.get(evolution));
+        offsprings.addAll(prepareOffsprings(evolution, inOffsprings));
+      }
+
+      offsprings = offsprings.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(offsprings);
+      inOffsprings.put(inKey, offsprings);
+    }
+
+    return offsprings;
+  }
+
+  private void readBaseValues(final Properties inTypes) {
     try (InputStream is = getClass().getResourceAsStream(RESOURCE_BASE_VALUES); //
         InputStreamReader isr = new InputStreamReader(is); //
         CSVReader reader = new CSVReader(isr, '\t');) {
       String[] characteristics;
 
       while ((characteristics = reader.readNext()) != null) {
-        instantiatePokemon(bundle, inTypes, characteristics);
+        instantiatePokemon(inTypes, characteristics);
       }
-
-      names.addAll(pokemons.values().stream() //
-          .map(Pokemon::getName) //
-          .collect(Collectors.toList()));
-      names.sort((a, b) -> a.compareTo(b));
     } catch (Exception e) {
       LOGGER.error("Unable to read base values", e);
     }
   }
 
+  private void readBundle(final DataBundle inData) {
+    String[] keys = new String[inData.getPokemonCount()];
+
+    for (int i = 0; i < keys.length; i++) {
+      if (inData.getGeneration(i) <= CURRENT_GENERATION) {
+        keys[i] = instantiatePokemon(inData.getId(i), inData.getName(i), inData.getAttack(i), inData.getDefense(i), inData.getStamina(i), inData.getTypes(i));
+      }
+    }
+
+    // The evolutions are already resolved by index in the bundle
+    for (int i = 0; i < keys.length; i++) {
+      for (int evolution : inData.getEvolutions(i)) {
+        if (keys[i] != null && keys[evolution] != null) {
+          evolutions.computeIfAbsent(keys[i], k -> new HashSet<>()).add(keys[evolution]);
+        }
+      }
+    }
+  }
+
   private void readEvolutions() {
     try (InputStream is = getClass().getResourceAsStream(RESOURCE_EVOLUTIONS); //
         InputStreamReader isr = new InputStreamReader(is); //
@@ -0,0 +1,194 @@
+package net.ghielmetti.ivcalc.pokedex;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The names of the Pokémons in all the supported languages.<br>
+ * All the translations are read once, so the names can be shown in the current {@link Locale} (see
+ * {@link Locale#getDefault()}) and a Pokémon can be found by its name in any language, without reloading the
+ * {@link Pokedex} when the language is changed.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class PokemonNames {
+  private static final Locale[]       LOCALES        = {Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN, Locale.ITALIAN, Locale.JAPANESE};
+  private static final String         RESOURCE_NAMES = "/names";
+  private static final String         PREFIX         = "n";
+  private static final Logger         LOGGER         = LoggerFactory.getLogger(PokemonNames.class);
+  private final Map<String, String[]> translations   = new LinkedHashMap<>();
+  private final Map<String, Integer>  numbers        = new HashMap<>();
+
+  /** The names are read by the class loader the first time they are requested, so it's thread safe. */
+  private static final class Holder {
+    private static final PokemonNames INSTANCE = new PokemonNames();
+
+    private Holder() {
+      // nothing to do
+    }
+  }
+
+  private PokemonNames() {
+    String[] defaults = read(RESOURCE_NAMES + ".properties");
+
+    if (defaults == null) {
+      defaults = new String[0];
+    }
+
+    translations.put(Locale.ROOT.getLanguage(), defaults);
+
+    for (Locale locale : LOCALES) {
+      String[] names = read(RESOURCE_NAMES + "_" + locale.getLanguage() + ".properties");
+
+      if (names != null) {
+        translations.put(locale.getLanguage(), names);
+      }
+    }
+
+    for (String[] names : translations.values()) {
+      for (int number = 0; number < names.length; number++) {
+        if (names[number] != null) {
+          numbers.putIfAbsent(NameIndex.normalize(names[number]), Integer.valueOf(number));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the instance of this {@link PokemonNames}.
+   *
+   * @return The {@link PokemonNames}.
+   */
+  public static PokemonNames getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Returns the languages with a translation of the names.
+   *
+   * @return The read only list of the {@link Locale}s ({@link Locale#ROOT} for the default names).
+   */
+  public List<Locale> getLocales() {
+    List<Locale> locales = new ArrayList<>();
+
+    for (String language : translations.keySet()) {
+      locales.add(new Locale(language));
+    }
+
+    return Collections.unmodifiableList(locales);
+  }
+
+  /**
+   * Returns the name of a Pokémon in the current {@link Locale}.
+   *
+   * @param inNumber The Pokémon number in the Pokédex.
+   * @return The name or <code>null</code> if the Pokémon is unknown.
+   */
+  public String getName(final int inNumber) {
+    return getName(inNumber, Locale.getDefault());
+  }
+
+  /**
+   * Returns the name of a Pokémon in the given {@link Locale}.
+   *
+   * @param inNumber The Pokémon number in the Pokédex.
+   * @param inLocale The {@link Locale}.
+   * @return The name (the default name if there is no translation for the language) or <code>null</code> if the Pokémon
+   *         is unknown.
+   */
+  public String getName(final int inNumber, final Locale inLocale) {
+    String name = get(translations.get(inLocale.getLanguage()), inNumber);
+    return name == null ? get(translations.get(Locale.ROOT.getLanguage()), inNumber) : name;
+  }
+
+  /**
+   * Returns all the names of a Pokémon.
+   *
+   * @param inNumber The Pokémon number in the Pokédex.
+   * @return The read only list of the different names in all the languages (empty if the Pokémon is unknown).
+   */
+  public List<String> getNames(final int inNumber) {
+    Set<String> names = new LinkedHashSet<>();
+
+    for (String[] translation : translations.values()) {
+      String name = get(translation, inNumber);
+
+      if (name != null) {
+        names.add(name);
+      }
+    }
+
+    return Collections.unmodifiableList(new ArrayList<>(names));
+  }
+
+  /**
+   * Returns the number of a Pokémon from its name in any language.<br>
+   * The case and the accents are ignored.
+   *
+   * @param inName The name.
+   * @return The Pokémon number in the Pokédex or -1 if the name is unknown.
+   */
+  public int getNumber(final String inName) {
+    Integer number = numbers.get(NameIndex.normalize(inName));
+    return number == null ? -1 : number.intValue();
+  }
+
+  @Override
+  public String toString() {
+    return "PokemonNames[languages=" + translations.keySet() + ", names=" + numbers.size() + "]";
+  }
+
+  private static String get(final String[] inNames, final int inNumber) {
+    return inNames == null || inNumber < 0 || inNumber >= inNames.length ? null : inNames[inNumber];
+  }
+
+  /** Reads the names of a language, indexed by the Pokémon number. */
+  private String[] read(final String inResource) {
+    try (InputStream is = getClass().getResourceAsStream(inResource)) {
+      if (is == null) {
+        return null;
+      }
+
+      Properties properties = new Properties();
+
+      try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      }
+
+      String[] names = new String[0];
+
+      for (String key : properties.stringPropertyNames()) {
+        if (key.startsWith(PREFIX)) {
+          int number = Integer.parseInt(key.substring(PREFIX.length()));
+
+          if (number >= names.length) {
+            names = Arrays.copyOf(names, number + 1);
+          }
+
+          names[number] = properties.getProperty(key);
+        }
+      }
+
+      return names;
+    } catch (Exception e) {
+      LOGGER.error("Unable to read the names {}", inResource, e);
+      return null;
+    }
+  }
+}
@@ -8,6 +8,8 @@ import java.util.ResourceBundle;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 
+import net.ghielmetti.ivcalc.tools.SpriteAtlas;
+
 /**
  * Pokémon types.
  *
@@ -63,14 +65,6 @@ public enum Type {
 
   private Type(final Color inColor) {
     color = inColor;
-
-    URL iconURL = getClass().getResource("/types/" + name() + ".png");
-
-    if (iconURL == null) {
-      icon = null;
-    } else {
-      icon = new ImageIcon(new ImageIcon(iconURL).getImage().getScaledInstance(32, 32, Image.SCALE_SMOOTH));
-    }
   }
 
   /**
@@ -91,11 +85,27 @@ public enum Type {
   }
 
   /**
-   * Returns the icon of this type.
+   * Returns the icon of this type.<br>
+   * The icon is taken from the {@link SpriteAtlas} the first time it's requested, or scaled from the type image if the
+   * atlas is missing.
    *
    * @return The icon.
    */
-  public Icon getIcon() {
+  public synchronized Icon getIcon() {
+    if (icon == null) {
+      Image image = SpriteAtlas.getInstance().getTypeImage(name());
+
+      if (image == null) {
+        URL iconURL = getClass().getResource("/types/" + name() + ".png");
+
+        if (iconURL != null) {
+          image = new ImageIcon(iconURL).getImage().getScaledInstance(32, 32, Image.SCALE_SMOOTH);
+        }
+      }
+
+      icon = image == null ? null : new ImageIcon(image);
+    }
+
     return icon;
   }
 
@@ -0,0 +1,132 @@
+package net.ghielmetti.ivcalc.tools;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Properties;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The small icons of all the Pokémons and types packed at build time in a single image by
+ * {@link SpriteAtlasGenerator}.<br>
+ * The index gives the position of each icon in the atlas, the icons are returned as sub images sharing the atlas pixels,
+ * without any scaling. When the atlas is missing {@link #getInstance()} returns an empty atlas and the icons must be
+ * scaled from the original images as before.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class SpriteAtlas {
+  /** The name of the atlas image resource. */
+  public static final String  RESOURCE_IMAGE = "/atlas.png";
+  /** The name of the atlas index resource. */
+  public static final String  RESOURCE_INDEX = "/atlas.properties";
+  /** The prefix of the keys of the Pokémon icons (followed by the Pokémon number). */
+  public static final String  POKEMON_PREFIX = "p";
+  /** The prefix of the keys of the type icons (followed by the type name). */
+  public static final String  TYPE_PREFIX    = "t";
+  /** The key of the size of the icons in the index. */
+  static final String         KEY_SIZE       = "size";
+  private static final Logger LOGGER         = LoggerFactory.getLogger(SpriteAtlas.class);
+  private final BufferedImage atlas;
+  private final Properties    index;
+  private final int           size;
+
+  /** The atlas is loaded by the class loader the first time it's requested, so it's thread safe. */
+  private static final class Holder {
+    private static final SpriteAtlas INSTANCE = load();
+
+    private Holder() {
+      // nothing to do
+    }
+  }
+
+  /**
+   * Creates an atlas.
+   *
+   * @param inAtlas The atlas image or <code>null</code> for an empty atlas.
+   * @param inIndex The index.
+   */
+  SpriteAtlas(final BufferedImage inAtlas, final Properties inIndex) {
+    atlas = inAtlas;
+    index = inIndex;
+    size = Integer.parseInt(inIndex.getProperty(KEY_SIZE, "0"));
+  }
+
+  /**
+   * Returns the atlas packaged with the application.
+   *
+   * @return The {@link SpriteAtlas} (empty if it's missing or can't be read).
+   */
+  public static SpriteAtlas getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  private static SpriteAtlas load() {
+    URL imageURL = SpriteAtlas.class.getResource(RESOURCE_IMAGE);
+    URL indexURL = SpriteAtlas.class.getResource(RESOURCE_INDEX);
+
+    if (imageURL == null || indexURL == null) {
+      LOGGER.info("Sprite atlas not found, the icons will be scaled at runtime");
+      return new SpriteAtlas(null, new Properties());
+    }
+
+    try (InputStream is = indexURL.openStream()) {
+      Properties index = new Properties();
+      index.load(is);
+      return new SpriteAtlas(ImageIO.read(imageURL), index);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Unable to read the sprite atlas, the icons will be scaled at runtime", e);
+      return new SpriteAtlas(null, new Properties());
+    }
+  }
+
+  /**
+   * Returns the small icon of a Pokémon.
+   *
+   * @param inNumber The Pokémon number in the Pokédex.
+   * @return The image or <code>null</code> if it's not in the atlas.
+   */
+  public BufferedImage getPokemonImage(final int inNumber) {
+    return getImage(POKEMON_PREFIX + inNumber);
+  }
+
+  /**
+   * Returns the size of the icons in the atlas.
+   *
+   * @return The size or 0 if the atlas is empty.
+   */
+  public int getSize() {
+    return atlas == null ? 0 : size;
+  }
+
+  /**
+   * Returns the small icon of a type.
+   *
+   * @param inTypeName The name of the type (see {@link Enum#name()}).
+   * @return The image or <code>null</code> if it's not in the atlas.
+   */
+  public BufferedImage getTypeImage(final String inTypeName) {
+    return getImage(TYPE_PREFIX + inTypeName);
+  }
+
+  @Override
+  public String toString() {
+    return "SpriteAtlas[size=" + getSize() + ", icons=" + (atlas == null ? 0 : index.size() - 1) + "]";
+  }
+
+  private BufferedImage getImage(final String inKey) {
+    String position = index.getProperty(inKey);
+
+    if (atlas == null || position == null) {
+      return null;
+    }
+
+    int comma = position.indexOf(',');
+    return atlas.getSubimage(Integer.parseInt(position.substring(0, comma)), Integer.parseInt(position.substring(comma + 1)), size, size);
+  }
+}
@@ -0,0 +1,150 @@
+package net.ghielmetti.ivcalc.tools;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Packs the small icons of all the Pokémons and types in a single {@link SpriteAtlas}.<br>
+ * This class is run by the build (see the <code>generate-sprite-atlas</code> execution in the pom) with the resources
+ * directory (containing the <code>images</code> and <code>types</code> directories) and the directory where the atlas
+ * image and its index are written. The icons are scaled once here, with the same quality used before at runtime.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class SpriteAtlasGenerator {
+  /** The number of icons in each row of the atlas. */
+  static final int                         COLUMNS = 32;
+  private static final Logger              LOGGER  = LoggerFactory.getLogger(SpriteAtlasGenerator.class);
+  private final Map<String, BufferedImage> icons   = new TreeMap<>(SpriteAtlasGenerator::compareKeys);
+  private final int                        size;
+
+  /**
+   * Reads and scales all the icons of the given resources directory.
+   *
+   * @param inDirectory The directory containing the resources.
+   * @param inSize The size of the icons in the atlas.
+   * @throws IOException If an icon can't be read.
+   */
+  public SpriteAtlasGenerator(final Path inDirectory, final int inSize) throws IOException {
+    size = inSize;
+    readIcons(inDirectory.resolve("types"), SpriteAtlas.TYPE_PREFIX);
+    readIcons(inDirectory.resolve("images"), SpriteAtlas.POKEMON_PREFIX);
+  }
+
+  /**
+   * Generates the atlas.
+   *
+   * @param inArgs The directory containing the resources and the directory where the atlas is written.
+   * @throws IOException If an icon can't be read or the atlas can't be written.
+   */
+  public static void main(final String[] inArgs) throws IOException {
+    if (inArgs.length != 2) {
+      throw new IllegalArgumentException("Usage: SpriteAtlasGenerator <resources directory> <output directory>");
+    }
+
+    System.setProperty("java.awt.headless", "true");
+    SpriteAtlasGenerator generator = new SpriteAtlasGenerator(Paths.get(inArgs[0]), SpriteCache.SMALL_ICON_SIZE);
+    Path output = Paths.get(inArgs[1]);
+    generator.write(output.resolve(SpriteAtlas.RESOURCE_IMAGE.substring(1)), output.resolve(SpriteAtlas.RESOURCE_INDEX.substring(1)));
+    LOGGER.info("Sprite atlas with {} icons written to {}", Integer.valueOf(generator.icons.size()), output);
+  }
+
+  /**
+   * Scales an image to a square of the given size, with the same smooth scaling used by the application before the
+   * atlas existed.
+   *
+   * @param inImage The image.
+   * @param inSize The size.
+   * @return The scaled image.
+   */
+  static BufferedImage scale(final Image inImage, final int inSize) {
+    BufferedImage scaled = new BufferedImage(inSize, inSize, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = scaled.createGraphics();
+    // The ImageIcon waits for the scaled image to be produced
+    g.drawImage(new ImageIcon(inImage.getScaledInstance(inSize, inSize, Image.SCALE_SMOOTH)).getImage(), 0, 0, null);
+    g.dispose();
+    return scaled;
+  }
+
+  /** The types first, then the Pokémons by number. */
+  private static int compareKeys(final String inKey1, final String inKey2) {
+    boolean isNumber1 = inKey1.startsWith(SpriteAtlas.POKEMON_PREFIX);
+    boolean isNumber2 = inKey2.startsWith(SpriteAtlas.POKEMON_PREFIX);
+
+    if (isNumber1 && isNumber2) {
+      return Integer.compare(Integer.parseInt(inKey1.substring(1)), Integer.parseInt(inKey2.substring(1)));
+    }
+
+    if (isNumber1 != isNumber2) {
+      return isNumber1 ? 1 : -1;
+    }
+
+    return inKey1.compareTo(inKey2);
+  }
+
+  /**
+   * Writes the atlas image and its index.
+   *
+   * @param inImage The file of the atlas image (PNG).
+   * @param inIndex The file of the index (properties).
+   * @throws IOException If the atlas can't be written.
+   */
+  public void write(final Path inImage, final Path inIndex) throws IOException {
+    int rows = (icons.size() + COLUMNS - 1) / COLUMNS;
+    BufferedImage atlas = new BufferedImage(COLUMNS * size, Math.max(rows, 1) * size, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = atlas.createGraphics();
+    Properties index = new Properties();
+    int i = 0;
+
+    index.setProperty(SpriteAtlas.KEY_SIZE, Integer.toString(size));
+
+    for (Map.Entry<String, BufferedImage> e : icons.entrySet()) {
+      int x = i % COLUMNS * size;
+      int y = i / COLUMNS * size;
+      g.drawImage(e.getValue(), x, y, null);
+      index.setProperty(e.getKey(), x + "," + y);
+      i++;
+    }
+
+    g.dispose();
+
+    if (!ImageIO.write(atlas, "png", inImage.toFile())) {
+      throw new IOException("No PNG writer available");
+    }
+
+    try (OutputStream os = Files.newOutputStream(inIndex)) {
+      index.store(os, "Sprite atlas index: key=x,y of the " + size + "x" + size + " icon in " + inImage.getFileName());
+    }
+  }
+
+  private void readIcons(final Path inDirectory, final String inPrefix) throws IOException {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(inDirectory, "*.png")) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        BufferedImage image = ImageIO.read(file.toFile());
+
+        if (image == null) {
+          throw new IOException("Unable to decode " + file);
+        }
+
+        icons.put(inPrefix + name.substring(0, name.length() - 4), scale(image, size));
+      }
+    }
+  }
+}
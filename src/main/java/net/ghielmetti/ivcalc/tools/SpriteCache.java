@@ -0,0 +1,278 @@
+package net.ghielmetti.ivcalc.tools;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+import javax.swing.CellRendererPane;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the Pokémon sprites on demand.<br>
+ * The {@link Icon}s returned are only placeholders with the size of the sprite: the first time one is painted the
+ * sprite is decoded (and scaled) on a background thread and the component is repainted when it's ready. The decoded
+ * images are kept with {@link SoftReference}s in a cache of limited size, so the sprites not shown since a while are
+ * released and decoded again when needed. The small sprites are taken from the {@link SpriteAtlas} when available.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public final class SpriteCache {
+  /** The size of the sprites. */
+  public static final int                          ICON_SIZE       = 96;
+  /** The size of the small sprites. */
+  public static final int                          SMALL_ICON_SIZE = 32;
+  /** The maximum number of decoded images kept in the cache. */
+  public static final int                          CACHE_SIZE      = 256;
+  private static final String                      RESOURCE_IMAGES = "/images/";
+  private static final Color                       PLACEHOLDER     = new Color(0xE0, 0xE0, 0xE0);
+  private static final Logger                      LOGGER          = LoggerFactory.getLogger(SpriteCache.class);
+  private final Map<Integer, Icon>                 icons           = new ConcurrentHashMap<>();
+  private final Set<Integer>                       failed          = ConcurrentHashMap.newKeySet();
+  private final Map<Integer, Set<Component>>       waiting         = new HashMap<>();
+  private final Map<Integer, SoftReference<Image>> images          = new LinkedHashMap<Integer, SoftReference<Image>>(CACHE_SIZE, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Integer, SoftReference<Image>> inEldest) {
+      return size() > CACHE_SIZE;
+    }
+  };
+  private final ExecutorService                    loader          = Executors.newFixedThreadPool(2, r -> {
+    Thread thread = new Thread(r, "sprite-loader");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /** The instance is created by the class loader the first time it's requested, so it's thread safe. */
+  private static final class Holder {
+    private static final SpriteCache INSTANCE = new SpriteCache();
+
+    private Holder() {
+      // nothing to do
+    }
+  }
+
+  /** An {@link Icon} painting the sprite once decoded and a placeholder until then. */
+  private final class SpriteIcon implements Icon {
+    private final int number;
+    private final int size;
+
+    private SpriteIcon(final int inNumber, final int inSize) {
+      number = inNumber;
+      size = inSize;
+    }
+
+    @Override
+    public int getIconHeight() {
+      return size;
+    }
+
+    @Override
+    public int getIconWidth() {
+      return size;
+    }
+
+    @Override
+    public void paintIcon(final Component inComponent, final Graphics inGraphics, final int inX, final int inY) {
+      Image image = getCachedImage(number, size);
+
+      if (image == null) {
+        inGraphics.setColor(PLACEHOLDER);
+        inGraphics.fillOval(inX + size / 8, inY + size / 8, size * 3 / 4, size * 3 / 4);
+        request(number, size, inComponent);
+      } else {
+        inGraphics.drawImage(image, inX, inY, inComponent);
+      }
+    }
+  }
+
+  private SpriteCache() {
+    // nothing to do
+  }
+
+  /**
+   * Returns the instance of this {@link SpriteCache}.
+   *
+   * @return The {@link SpriteCache}.
+   */
+  public static SpriteCache getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  private static Integer key(final int inNumber, final int inSize) {
+    return Integer.valueOf(inNumber << 8 | inSize);
+  }
+
+  /**
+   * Returns the component to repaint when the sprite is ready.<br>
+   * A renderer (for example in a list) isn't displayed itself, it only paints in its parent.
+   */
+  private static Component repaintTarget(final Component inComponent) {
+    Component pane = SwingUtilities.getAncestorOfClass(CellRendererPane.class, inComponent);
+    return pane == null || pane.getParent() == null ? inComponent : pane.getParent();
+  }
+
+  /**
+   * Returns the sprite of a Pokémon.
+   *
+   * @param inNumber The Pokémon number in the Pokédex.
+   * @return The {@link Icon} or <code>null</code> if there is no sprite for this Pokémon.
+   */
+  public Icon getIcon(final int inNumber) {
+    return getIcon(inNumber, ICON_SIZE);
+  }
+
+  /**
+   * Returns the decoded sprite of a Pokémon, decoding it in the current thread if not in the cache.
+   *
+   * @param inNumber The Pokémon number in the Pokédex.
+   * @param inSize The size of the sprite.
+   * @return The image or <code>null</code> if there is no sprite for this Pokémon or it can't be decoded.
+   */
+  public Image getImage(final int inNumber, final int inSize) {
+    Image image = getCachedImage(inNumber, inSize);
+
+    if (image == null) {
+      image = decode(inNumber, inSize);
+    }
+
+    return image;
+  }
+
+  /**
+   * Returns the small sprite of a Pokémon.
+   *
+   * @param inNumber The Pokémon number in the Pokédex.
+   * @return The {@link Icon} or <code>null</code> if there is no sprite for this Pokémon.
+   */
+  public Icon getSmallIcon(final int inNumber) {
+    return getIcon(inNumber, SMALL_ICON_SIZE);
+  }
+
+  @Override
+  public String toString() {
+    synchronized (images) {
+      return "SpriteCache[icons=" + icons.size() + ", images=" + images.size() + "]";
+    }
+  }
+
+  private Image decode(final int inNumber, final int inSize) {
+    SpriteAtlas atlas = SpriteAtlas.getInstance();
+
+    if (atlas.getSize() == inSize) {
+      Image image = atlas.getPokemonImage(inNumber);
+
+      if (image != null) {
+        synchronized (images) {
+          images.put(key(inNumber, inSize), new SoftReference<>(image));
+        }
+
+        return image;
+      }
+    }
+
+    URL url = getClass().getResource(RESOURCE_IMAGES + inNumber + ".png");
+
+    if (url == null) {
+      return null;
+    }
+
+    try {
+      Image image = ImageIO.read(url);
+
+      if (image == null) {
+        throw new IOException("Unknown image format");
+      }
+
+      if (image.getWidth(null) != inSize || image.getHeight(null) != inSize) {
+        // The ImageIcon waits for the scaled image to be produced
+        image = new ImageIcon(image.getScaledInstance(inSize, inSize, Image.SCALE_SMOOTH)).getImage();
+      }
+
+      synchronized (images) {
+        images.put(key(inNumber, inSize), new SoftReference<>(image));
+      }
+
+      return image;
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Unable to decode the sprite {}", url, e);
+      failed.add(key(inNumber, inSize));
+      return null;
+    }
+  }
+
+  private Image getCachedImage(final int inNumber, final int inSize) {
+    synchronized (images) {
+      SoftReference<Image> reference = images.get(key(inNumber, inSize));
+      return reference == null ? null : reference.get();
+    }
+  }
+
+  private Icon getIcon(final int inNumber, final int inSize) {
+    return icons.computeIfAbsent(key(inNumber, inSize), k -> {
+      if (getClass().getResource(RESOURCE_IMAGES + inNumber + ".png") == null) {
+        return null;
+      }
+
+      return new SpriteIcon(inNumber, inSize);
+    });
+  }
+
+  private void load(final int inNumber, final int inSize) {
+    decode(inNumber, inSize);
+
+    Set<Component> components;
+
+    synchronized (waiting) {
+      components = waiting.remove(key(inNumber, inSize));
+    }
+
+    SwingUtilities.invokeLater(() -> components.forEach(Component::repaint));
+  }
+
+  private void request(final int inNumber, final int inSize, final Component inComponent) {
+    Integer key = key(inNumber, inSize);
+
+    if (failed.contains(key)) {
+      return;
+    }
+
+    boolean submit;
+
+    synchronized (waiting) {
+      Set<Component> components = waiting.get(key);
+      submit = components == null;
+
+      if (submit) {
+        components = new HashSet<>();
+        waiting.put(key, components);
+      }
+
+      if (inComponent != null) {
+        components.add(repaintTarget(inComponent));
+      }
+    }
+
+    if (submit) {
+      loader.execute(() -> load(inNumber, inSize));
+    }
+  }
+}
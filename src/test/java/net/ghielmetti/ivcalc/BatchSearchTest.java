@@ -0,0 +1,89 @@
+package net.ghielmetti.ivcalc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.pokedex.Pokedex;
+
+/**
+ * Tests for {@link BatchSearch} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class BatchSearchTest {
+  private static Pokedex pokedex;
+
+  /** Initialize the test environment. */
+  @BeforeClass
+  public static void setUpClass() {
+    pokedex = new Pokedex();
+  }
+
+  /**
+   * Tests {@link BatchSearch#run(BufferedReader, PrintStream)}.
+   *
+   * @throws Exception Not expected.
+   */
+  @Test
+  public void run_manyRecords_writesOneLinePerRecordInOrder() throws Exception {
+    StringBuilder input = new StringBuilder("# comment\n\n");
+
+    for (int i = 0; i < 500; i++) {
+      input.append(i % 2 == 0 ? "charmander 446 53 2500 3b-d\n" : "charmander,446,53,1234,3b-d\n");
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    try (PrintStream output = new PrintStream(bytes, true, "UTF-8")) {
+      assertEquals(500, new BatchSearch(pokedex, 4).run(new BufferedReader(new StringReader(input.toString())), output));
+    }
+
+    String[] lines = new String(bytes.toByteArray(), StandardCharsets.UTF_8).split("\\r?\\n");
+
+    assertEquals(500, lines.length);
+
+    for (int i = 0; i < 500; i++) {
+      assertTrue(lines[i], lines[i].startsWith(i % 2 == 0 ? "charmander 446 53 2500 3b-d\t3\t" : "charmander,446,53,1234,3b-d\t0"));
+    }
+  }
+
+  /** Tests {@link BatchSearch#solve(String)}. */
+  @Test
+  public void solve_aNameWithSpaces_returnsTheCandidates() {
+    assertTrue(new BatchSearch(pokedex, 1).solve("Mr. Mime 1083 54 2500 3b-d").contains("\tMr. Mime:20.0:35-bdb"));
+  }
+
+  /** Tests {@link BatchSearch#solve(String)}. */
+  @Test
+  public void solve_aValidRecord_returnsTheCandidates() {
+    assertEquals("Charmander 446 53 2500 3b-d\t3\tCharmander:20.0:35-bdb\tCharmander:20.5:32-8db\tCharmander:20.5:32-8ea", new BatchSearch(pokedex, 1).solve("Charmander 446 53 2500 3b-d"));
+  }
+
+  /** Tests {@link BatchSearch#solve(String)}. */
+  @Test
+  public void solve_anInvalidRecord_returnsAnError() {
+    assertTrue(new BatchSearch(pokedex, 1).solve("Charmander 446 53").contains("\tERROR\t"));
+    assertTrue(new BatchSearch(pokedex, 1).solve("Charmander 446 53 abc 3b-d").contains("\tERROR\t"));
+  }
+
+  /** Tests {@link BatchSearch#solve(String)}. */
+  @Test
+  public void solve_anUnknownName_returnsAnError() {
+    assertEquals("Pikachuu 446 53 2500 3b-d\tERROR\tunknown species", new BatchSearch(pokedex, 1).solve("Pikachuu 446 53 2500 3b-d"));
+  }
+
+  /** Tests {@link BatchSearch#solve(String)}. */
+  @Test
+  public void solve_theIdentifyName_identifiesTheSpecies() {
+    assertTrue(new BatchSearch(pokedex, 1).solve("? 446 53 2500 3b-d").contains("\tCharmander:20.0:35-bdb"));
+  }
+}
@@ -35,6 +35,18 @@ public class MainTest {
     constructors[0].newInstance((Object[]) null);
   }
 
+  /** Tests {@link Main#mainApplication(String[])}. */
+  @Test
+  public void mainApplication_batchArgument_searchesInBatch() {
+    Main main = mock(Main.class);
+    doCallRealMethod().when(main).mainApplication(any(String[].class));
+    String[] arguments = new String[]{"--batch", "scans.txt"};
+
+    main.mainApplication(arguments);
+
+    verify(main).batchSearch(aryEq(arguments));
+  }
+
   /** Tests {@link Main#mainApplication(String[])}. */
   @Test
   public void mainApplication_fiveManyArguments_searchesForPokemons() {
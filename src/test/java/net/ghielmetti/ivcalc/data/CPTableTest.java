@@ -0,0 +1,76 @@
+package net.ghielmetti.ivcalc.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.pokedex.Multiplier;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
+/**
+ * Tests for {@link CPTable} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class CPTableTest {
+  private Pokemon pokemon;
+
+  /** Initialize the test environment. */
+  @Before
+  public void setUp() {
+    pokemon = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+  }
+
+  /** Tests {@link CPTable#getCP(int, int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void getCP_aLevelTooHigh_throwsAnException() {
+    pokemon.getCPTable().getCP(1000, 0xFFF);
+  }
+
+  /** Tests {@link CPTable#getCP(int, int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void getCP_aLevelWithoutMultiplier_throwsAnException() {
+    pokemon.getCPTable().getCP(0, 0xFFF);
+  }
+
+  /** Tests {@link CPTable#getCP(int, int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void getCP_aNegativeLevel_throwsAnException() {
+    pokemon.getCPTable().getCP(-1, 0xFFF);
+  }
+
+  /** Tests {@link CPTable#getCP(int, int)}. */
+  @Test
+  public void getCP_everyLevelAndIVLevel_returnsTheComputedCP() {
+    CPTable table = pokemon.getCPTable();
+
+    for (int level = 2; level <= Multiplier.getInstance().getMaxLevel(); level++) {
+      double m = Multiplier.getInstance().getMultiplierValue(level);
+
+      for (int code = 0; code < IVCode.COUNT; code++) {
+        int cp = Pokemon.computeCP((116 + IVCode.attack(code)) * m, (96 + IVCode.defense(code)) * m, (78 + IVCode.stamina(code)) * m);
+        assertEquals(cp, table.getCP(level, code));
+      }
+    }
+  }
+
+  /** Tests {@link CPTable#getHP(int, int)}. */
+  @Test
+  public void getHP_aValidLevel_returnsTheHP() {
+    assertEquals(53, pokemon.getCPTable().getHP(40, 11));
+  }
+
+  /** Tests {@link CPTable#getHP(int, int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void getHP_anInvalidLevel_throwsAnException() {
+    pokemon.getCPTable().getHP(1000, 11);
+  }
+
+  /** Tests {@link Pokemon#getCPTable()}. */
+  @Test
+  public void getCPTable_twoPokemonsWithTheSameBaseValues_shareTheTable() {
+    assertSame(pokemon.getCPTable(), new Pokemon(4, "Other", 116, 96, 78, Type.FIRE).getCPTable());
+  }
+}
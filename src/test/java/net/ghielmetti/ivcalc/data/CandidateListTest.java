@@ -1,9 +1,133 @@
 package net.ghielmetti.ivcalc.data;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.pokedex.Type;
+
 /**
  * Tests for {@link CandidateList} class.
  * 
  * @author Leopoldo Ghielmetti
  */
 public class CandidateListTest {
+  private Pokemon       pokemon;
+  private CandidateList candidates;
+
+  /** Tests {@link CandidateList#CandidateList(CandidateList)}. */
+  @Test
+  public void constructor_aCandidateList_copiesTheCandidates() {
+    CandidateList copy = new CandidateList(candidates);
+    copy.addIVLevel(Integer.valueOf(30), IVLevel.valueOf(1, 1, 1));
+
+    assertEquals(4, candidates.size());
+    assertEquals(5, copy.size());
+  }
+
+  /** Tests {@link CandidateList#filter(CandidateList)}. */
+  @Test
+  public void filter_anotherList_keepsOnlyTheCommonIVLevels() {
+    CandidateList other = new CandidateList(pokemon, new Limit(""));
+    other.addIVLevel(Integer.valueOf(50), IVLevel.valueOf(15, 15, 15));
+    other.addIVLevel(Integer.valueOf(50), IVLevel.valueOf(10, 0, 5));
+
+    candidates.filter(other);
+
+    assertEquals(3, candidates.size());
+    assertEquals(Arrays.asList(Integer.valueOf(40), Integer.valueOf(41)), candidates.getPossibleLevels());
+  }
+
+  /** Tests {@link CandidateList#getCPRange(Integer)}. */
+  @Test
+  public void getCPRange_aLevel_returnsTheMinAndMaxCPOfTheCandidates() {
+    int min = pokemon.getCPForLevel(40, IVLevel.valueOf(0, 15, 1));
+    int max = pokemon.getCPForLevel(40, IVLevel.valueOf(15, 15, 15));
+
+    assertEquals(ImmutablePair.of(Integer.valueOf(min), Integer.valueOf(max)), candidates.getCPRange(Integer.valueOf(40)));
+    assertNull(candidates.getCPRange(Integer.valueOf(42)));
+  }
+
+  /** Tests {@link CandidateList#getIVLevels(Integer)}. */
+  @Test
+  public void getIVLevels_aLevel_returnsTheIVLevelsInNaturalOrder() {
+    List<IVLevel> list = candidates.getIVLevels(Integer.valueOf(40));
+
+    assertEquals(Arrays.asList(IVLevel.valueOf(10, 0, 5), IVLevel.valueOf(0, 15, 1), IVLevel.valueOf(15, 15, 15)), list);
+  }
+
+  /** Tests {@link CandidateList#getIVPercentHistogram()}. */
+  @Test
+  public void getIVPercentHistogram_withoutHalfLevels_countsTheCandidatesOfTheFullLevels() {
+    assertEquals(Integer.valueOf(1), candidates.getIVPercentHistogram().get(Integer.valueOf(100)));
+    assertEquals(Integer.valueOf(2), candidates.getIVPercentHistogram().get(Integer.valueOf(33)));
+
+    candidates.setWithHalfLevels(false);
+
+    assertEquals(Integer.valueOf(1), candidates.getIVPercentHistogram().get(Integer.valueOf(33)));
+    assertEquals(Integer.valueOf(1), candidates.getIVPercentHistogram().get(Integer.valueOf(35)));
+    assertEquals(3, candidates.getIVPercentHistogram().size());
+  }
+
+  /** Tests {@link CandidateList#getIVMask(Integer)}. */
+  @Test
+  public void getIVMask_aLevel_returnsTheIVLevelsOfTheLevel() {
+    assertEquals(3, candidates.getIVMask(Integer.valueOf(40)).cardinality());
+    assertTrue(candidates.getIVMask(Integer.valueOf(99)).isEmpty());
+  }
+
+  /** Tests {@link CandidateList#getMaxCP()}. */
+  @Test
+  public void getMaxCP_always_returnsTheHighestCPAtLevel40() {
+    assertEquals(pokemon.getCPForLevel(80, IVLevel.valueOf(15, 15, 15)), candidates.getMaxCP());
+  }
+
+  /** Tests {@link CandidateList#getMaxCP()}. */
+  @Test
+  public void getMaxCP_aCandidateRemoved_isComputedAgain() {
+    assertEquals(pokemon.getCPForLevel(80, IVLevel.valueOf(15, 15, 15)), candidates.getMaxCP());
+
+    CandidateList other = new CandidateList(pokemon, new Limit(""));
+    other.addIVLevel(Integer.valueOf(40), IVLevel.valueOf(10, 0, 5));
+    candidates.filter(other);
+
+    assertEquals(pokemon.getCPForLevel(80, IVLevel.valueOf(10, 0, 5)), candidates.getMaxCP());
+  }
+
+  /** Tests {@link CandidateList#getMinCP()}. */
+  @Test
+  public void getMinCP_always_returnsTheLowestCPAtLevel40() {
+    assertEquals(pokemon.getCPForLevel(80, IVLevel.valueOf(0, 15, 1)), candidates.getMinCP());
+    assertEquals(0, new CandidateList(pokemon, new Limit("")).getMinCP());
+  }
+
+  /** Initialize the test environment. */
+  @Before
+  public void setUp() {
+    pokemon = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+    candidates = new CandidateList(pokemon, new Limit(""));
+    candidates.addIVLevel(Integer.valueOf(40), IVLevel.valueOf(15, 15, 15));
+    candidates.addIVLevel(Integer.valueOf(40), IVLevel.valueOf(0, 15, 1));
+    candidates.addIVLevel(Integer.valueOf(40), IVLevel.valueOf(10, 0, 5));
+    candidates.addIVLevel(Integer.valueOf(41), IVLevel.valueOf(10, 0, 5));
+  }
+
+  /** Tests {@link CandidateList#size()}. */
+  @Test
+  public void size_withoutHalfLevels_countsOnlyTheFullLevels() {
+    candidates.addIVLevel(Integer.valueOf(40), IVLevel.valueOf(15, 15, 15));
+
+    assertEquals(4, candidates.size());
+
+    candidates.setWithHalfLevels(false);
+
+    assertEquals(3, candidates.size());
+  }
 }
@@ -1,9 +1,51 @@
 package net.ghielmetti.ivcalc.data;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
 /**
  * Tests for {@link GoodnessChecker} class.
- * 
+ *
  * @author Leopoldo Ghielmetti
  */
 public class GoodnessCheckerTest {
+  /** Tests {@link GoodnessChecker#getMask()}. */
+  @Test
+  public void getMask_always_containsExactlyTheGoodIVLevels() {
+    GoodnessChecker checker = new GoodnessChecker("Test", 30, 10, 5, 12);
+
+    for (int index = 0; index < IVMask.SIZE; index++) {
+      assertEquals(checker.isGood(new IVLevel(index >> 8, index >> 4 & 15, index & 15)), checker.getMask().get(index));
+    }
+  }
+
+  /** Tests {@link GoodnessChecker#getMask()}. */
+  @Test
+  public void getMask_aMinimumChanged_returnsANewMask() {
+    GoodnessChecker checker = new GoodnessChecker("Test", 0, 0, 0, 0);
+    IVMask mask = checker.getMask();
+
+    assertSame(mask, checker.getMask());
+    assertEquals(IVMask.SIZE, mask.cardinality());
+
+    checker.setMinTotal(45);
+
+    assertEquals(1, checker.getMask().cardinality());
+  }
+
+  /** Tests {@link GoodnessChecker#isGood(int)}. */
+  @Test
+  public void isGood_aCode_checksEveryMinimum() {
+    GoodnessChecker checker = new GoodnessChecker("Test", 30, 10, 5, 12);
+
+    assertTrue(checker.isGood(IVCode.encode(10, 8, 12)));
+    assertFalse(checker.isGood(IVCode.encode(9, 15, 15)));
+    assertFalse(checker.isGood(IVCode.encode(15, 4, 15)));
+    assertFalse(checker.isGood(IVCode.encode(15, 15, 11)));
+    assertFalse(checker.isGood(IVCode.encode(10, 7, 12)));
+  }
 }
@@ -0,0 +1,37 @@
+package net.ghielmetti.ivcalc.data;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link IVCode} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class IVCodeTest {
+  /** Tests {@link IVCode#encode(int, int, int)}. */
+  @Test
+  public void encode_theIVs_returnsThePackedCode() {
+    assertEquals(0x000, IVCode.encode(0, 0, 0));
+    assertEquals(0xFFF, IVCode.encode(15, 15, 15));
+    assertEquals(0x3A7, IVCode.encode(3, 10, 7));
+  }
+
+  /** Tests the accessors of {@link IVCode} against {@link IVLevel}. */
+  @Test
+  public void accessors_everyCode_matchTheIVLevel() {
+    for (int code = 0; code < IVCode.COUNT; code++) {
+      IVLevel iv = new IVLevel(code >> 8, code >> 4 & 15, code & 15);
+
+      assertEquals(iv.getAttack(), IVCode.attack(code));
+      assertEquals(iv.getDefense(), IVCode.defense(code));
+      assertEquals(iv.getStamina(), IVCode.stamina(code));
+      assertEquals(iv.getTotal(), IVCode.total(code));
+      assertEquals(iv.getMaxIV(), IVCode.maxIV(code));
+      assertEquals(Boolean.valueOf(iv.isAttack()), Boolean.valueOf(IVCode.isAttack(code)));
+      assertEquals(Boolean.valueOf(iv.isDefense()), Boolean.valueOf(IVCode.isDefense(code)));
+      assertEquals(Boolean.valueOf(iv.isStamina()), Boolean.valueOf(IVCode.isStamina(code)));
+    }
+  }
+}
@@ -1,9 +1,34 @@
 package net.ghielmetti.ivcalc.data;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
 /**
  * Tests for {@link IVLevel} class.
  * 
  * @author Leopoldo Ghielmetti
  */
 public class IVLevelTest {
+  /** Tests {@link IVLevel#getCode()}. */
+  @Test
+  public void getCode_anIVLevel_returnsThePackedIVs() {
+    assertEquals(0xBDA, new IVLevel(11, 13, 10).getCode());
+  }
+
+  /** Tests {@link IVLevel#valueOf(int)}. */
+  @Test
+  public void valueOf_aCode_returnsTheCanonicalInstance() {
+    IVLevel iv = IVLevel.valueOf(0xBDA);
+
+    assertEquals(new IVLevel(11, 13, 10), iv);
+    assertSame(iv, IVLevel.valueOf(0xBDA));
+  }
+
+  /** Tests {@link IVLevel#valueOf(int, int, int)}. */
+  @Test
+  public void valueOf_theIVs_returnsTheSameInstanceAsTheCode() {
+    assertSame(IVLevel.valueOf(0xBDA), IVLevel.valueOf(11, 13, 10));
+  }
 }
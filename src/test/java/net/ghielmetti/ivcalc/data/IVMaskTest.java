@@ -0,0 +1,109 @@
+package net.ghielmetti.ivcalc.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link IVMask} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class IVMaskTest {
+  /** Tests {@link IVMask#addAll(IVMask)}. */
+  @Test
+  public void addAll_twoMasks_returnsTheUnion() {
+    IVMask mask = masks(1, 2).addAll(masks(2, 4095));
+
+    assertEquals(masks(1, 2, 4095), mask);
+    assertEquals(3, mask.cardinality());
+  }
+
+  /** Tests {@link IVMask#contains(IVLevel)}. */
+  @Test
+  public void contains_anAddedIVLevel_returnsTrue() {
+    IVMask mask = new IVMask();
+    mask.add(new IVLevel(15, 0, 7));
+
+    assertTrue(mask.contains(new IVLevel(15, 0, 7)));
+    assertFalse(mask.contains(new IVLevel(7, 0, 15)));
+  }
+
+  /** Tests {@link IVMask#forEach(java.util.function.IntConsumer)}. */
+  @Test
+  public void forEach_always_iteratesInIncreasingOrder() {
+    List<Integer> indexes = new ArrayList<>();
+
+    masks(4095, 63, 64, 0).forEach(indexes::add);
+
+    assertEquals(Arrays.asList(Integer.valueOf(0), Integer.valueOf(63), Integer.valueOf(64), Integer.valueOf(4095)), indexes);
+  }
+
+  /** Tests {@link IVMask#index(int, int, int)}. */
+  @Test
+  public void index_always_packsTheIVs() {
+    assertEquals(0x1a5, IVMask.index(1, 10, 5));
+    assertEquals(0x1a5, IVMask.index(new IVLevel(1, 10, 5)));
+  }
+
+  /** Tests {@link IVMask#nextSetBit(int)}. */
+  @Test
+  public void nextSetBit_always_returnsTheNextIndexOrMinusOne() {
+    IVMask mask = masks(5, 700);
+
+    assertEquals(5, mask.nextSetBit(0));
+    assertEquals(700, mask.nextSetBit(6));
+    assertEquals(-1, mask.nextSetBit(701));
+    assertEquals(-1, mask.nextSetBit(IVMask.SIZE));
+  }
+
+  /** Tests {@link IVMask#retainAll(IVMask)}. */
+  @Test
+  public void retainAll_twoMasks_returnsTheIntersection() {
+    IVMask mask = masks(1, 2, 3).retainAll(masks(2, 3, 4));
+
+    assertEquals(masks(2, 3), mask);
+    assertTrue(mask.intersects(masks(3)));
+    assertFalse(mask.intersects(masks(1)));
+    assertTrue(mask.retainAll(new IVMask()).isEmpty());
+  }
+
+  /** Tests {@link IVMask#toByteArray()}. */
+  @Test
+  public void toByteArray_always_omitsTheTrailingEmptyBytes() {
+    assertEquals(0, new IVMask().toByteArray().length);
+    assertTrue(Arrays.equals(new byte[]{0x01, 0x00, (byte) 0x80}, masks(0, 23).toByteArray()));
+    assertEquals(512, masks(4095).toByteArray().length);
+  }
+
+  /** Tests {@link IVMask#toReadOnly()}. */
+  @Test(expected = UnsupportedOperationException.class)
+  public void toReadOnly_always_returnsAnUnmodifiableMask() {
+    masks(1).toReadOnly().set(2);
+  }
+
+  /** Tests {@link IVMask#valueOf(byte[])}. */
+  @Test
+  public void valueOf_theBytesOfAMask_returnsAnEqualMask() {
+    IVMask mask = masks(0, 23, 63, 64, 1000, 4095);
+
+    assertEquals(mask, IVMask.valueOf(mask.toByteArray()));
+    assertEquals(new IVMask(), IVMask.valueOf(new byte[0]));
+  }
+
+  private static IVMask masks(final int... inIndexes) {
+    IVMask mask = new IVMask();
+
+    for (int index : inIndexes) {
+      mask.set(index);
+    }
+
+    return mask;
+  }
+}
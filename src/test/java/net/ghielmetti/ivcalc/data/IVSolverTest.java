@@ -0,0 +1,86 @@
+package net.ghielmetti.ivcalc.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.pokedex.Multiplier;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
+/**
+ * Tests for {@link IVSolver} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class IVSolverTest {
+  private Pokemon pokemon;
+
+  /** Initialize the test environment. */
+  @Before
+  public void setUp() {
+    pokemon = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+  }
+
+  /** Tests {@link IVSolver#solve(Limit, int, int, int)}. */
+  @Test
+  public void solve_anInvalidLimit_returnsAnEmptyList() {
+    assertTrue(new IVSolver(pokemon).solve(new Limit("4d-had"), 446, 53, 2500).isEmpty());
+  }
+
+  /** Tests {@link IVSolver#solve(Limit, int, int, int)}. */
+  @Test
+  public void solve_anUnknownStardust_returnsAnEmptyList() {
+    assertTrue(new IVSolver(pokemon).solve(new Limit(""), 446, 53, 1234).isEmpty());
+  }
+
+  /** Tests {@link IVSolver#solve(Limit, int, int, int)}. */
+  @Test
+  public void solve_everyCPAndHP_returnsTheSameCandidatesAsTheFullEnumeration() {
+    Limit limit = new Limit("");
+
+    for (int sd : new int[]{200, 2500, 10000}) {
+      for (ImmutablePair<Integer, Double> multiplier : Multiplier.getInstance().getMultipliers(sd)) {
+        for (int code = 0; code < 4096; code += 37) {
+          IVLevel iv = new IVLevel(code >> 8, code >> 4 & 15, code & 15);
+          int cp = pokemon.getCPForLevel(multiplier.getLeft().intValue(), iv);
+          int hp = Math.max((int) Math.floor((78 + iv.getStamina()) * multiplier.getRight().doubleValue()), 10);
+
+          assertEquals(enumerate(limit, cp, hp, sd).toString(), new IVSolver(pokemon).solve(limit, cp, hp, sd).toString());
+        }
+      }
+    }
+  }
+
+  /** Tests {@link IVSolver#solve(Limit, int, int, int)}. */
+  @Test
+  public void solve_withALimit_returnsOnlyTheMatchingCandidates() {
+    CandidateList candidates = new IVSolver(pokemon).solve(new Limit("3b-d"), 446, 53, 2500);
+
+    assertEquals(3, candidates.size());
+    assertEquals(new IVLevel(11, 13, 11), candidates.getIVLevels(Integer.valueOf(40)).get(0));
+  }
+
+  private CandidateList enumerate(final Limit inLimit, final int inCP, final int inHP, final int inStardust) {
+    CandidateList candidates = new CandidateList(pokemon, inLimit);
+
+    for (ImmutablePair<Integer, Double> multiplier : Multiplier.getInstance().getMultipliers(inStardust)) {
+      for (int a = 0; a <= 15; a++) {
+        for (int d = 0; d <= 15; d++) {
+          for (int s = 0; s <= 15; s++) {
+            IVLevel iv = new IVLevel(a, d, s);
+            int hp = Math.max((int) Math.floor((78 + s) * multiplier.getRight().doubleValue()), 10);
+
+            if (hp == inHP && pokemon.getCPForLevel(multiplier.getLeft().intValue(), iv) == inCP && inLimit.matches(iv)) {
+              candidates.addIVLevel(multiplier.getLeft(), iv);
+            }
+          }
+        }
+      }
+    }
+
+    return candidates;
+  }
+}
@@ -6,6 +6,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Locale;
+
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.junit.Before;
@@ -21,6 +23,53 @@ import net.ghielmetti.ivcalc.pokedex.Type;
 public class PokemonTest {
   private Pokemon pokemon;
 
+  /** Tests {@link Pokemon#BY_NAME}. */
+  @Test
+  public void byName_anotherLanguage_sortsByTranslatedName() {
+    Pokemon eevee = new Pokemon(133, "Eevee", 104, 121, 110, Type.NORMAL);
+    Locale locale = Locale.getDefault();
+
+    try {
+      Locale.setDefault(Locale.GERMAN);
+      assertTrue(Pokemon.BY_NAME.compare(pokemon, eevee) > 0);
+    } finally {
+      Locale.setDefault(locale);
+    }
+
+    assertTrue(Pokemon.BY_NAME.compare(pokemon, eevee) < 0);
+  }
+
+  /** Tests {@link Pokemon#compareTo(Pokemon)}. */
+  @Test
+  public void compareTo_anotherLanguage_keepsTheOrderOfTheNumbers() {
+    Pokemon eevee = new Pokemon(133, "Eevee", 104, 121, 110, Type.NORMAL);
+    Locale locale = Locale.getDefault();
+
+    try {
+      Locale.setDefault(Locale.GERMAN);
+      assertTrue(pokemon.compareTo(eevee) < 0);
+    } finally {
+      Locale.setDefault(locale);
+    }
+
+    assertTrue(pokemon.compareTo(eevee) < 0);
+  }
+
+  /** Tests {@link Pokemon#compareTo(Pokemon)}. */
+  @Test
+  public void compareTo_anEqualPokemon_returnsZero() {
+    Pokemon other = new Pokemon(4, "Charmander", 1, 1, 1, Type.BUG);
+
+    assertEquals(0, pokemon.compareTo(other));
+    assertEquals(pokemon, other);
+  }
+
+  /** Tests {@link Pokemon#equals(Object)}. */
+  @Test
+  public void equals_sameNameAndAnotherNumber_returnsFalse() {
+    assertFalse(pokemon.equals(new Pokemon(5, "Charmander", 116, 96, 78, Type.FIRE)));
+  }
+
   /** Tests {@link Pokemon#getIV(Limit, int, int, int)}. */
   @Test
   public void geIV_invalidPokemonInformations_returnsAnEmptyList() {
@@ -85,6 +134,25 @@ public class PokemonTest {
     assertEquals("Charmander", pokemon.getName());
   }
 
+  /** Tests {@link Pokemon#getName()}. */
+  @Test
+  public void getName_anotherLanguage_returnsTheTranslatedName() {
+    Locale locale = Locale.getDefault();
+
+    try {
+      Locale.setDefault(Locale.GERMAN);
+      assertEquals("Glumanda", pokemon.getName());
+    } finally {
+      Locale.setDefault(locale);
+    }
+  }
+
+  /** Tests {@link Pokemon#getName()}. */
+  @Test
+  public void getName_anUnknownName_returnsTheGivenName() {
+    assertEquals("Something", new Pokemon(4, "Something", 1, 1, 1, Type.BUG).getName());
+  }
+
   /** Tests {@link Pokemon#getNumber()}. */
   @Test
   public void getNumber_always_returnsTheNumberOfThePokemon() {
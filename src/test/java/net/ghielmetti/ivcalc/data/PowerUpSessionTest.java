@@ -0,0 +1,132 @@
+package net.ghielmetti.ivcalc.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.pokedex.Multiplier;
+import net.ghielmetti.ivcalc.pokedex.Pokedex;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
+/**
+ * Tests for {@link PowerUpSession} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class PowerUpSessionTest {
+  private Pokemon pokemon;
+
+  /** Initialize the test environment. */
+  @Before
+  public void setUp() {
+    pokemon = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+  }
+
+  /** Tests {@link PowerUpSession#PowerUpSession(Pokemon, Limit, int, int, int)}. */
+  @Test
+  public void constructor_aFirstObservation_containsTheSameCandidatesAsTheSolver() {
+    PowerUpSession session = new PowerUpSession(pokemon, new Limit("3b-d"), 446, 53, 2500);
+
+    assertEquals(pokemon.getIV(new Limit("3b-d"), 446, 53, 2500).toString(), session.getCandidates().toString());
+    assertEquals(1, session.getObservations());
+    assertFalse(session.isSolved());
+    assertNull(session.getIVLevel());
+  }
+
+  /** Tests {@link PowerUpSession#PowerUpSession(CandidateList)}. */
+  @Test
+  public void constructor_aCandidateList_containsTheSameCandidates() {
+    CandidateList candidates = pokemon.getIV(new Limit("3b-d"), 446, 53, 2500);
+
+    assertEquals(candidates.toString(), new PowerUpSession(candidates).getCandidates().toString());
+  }
+
+  /** Tests {@link PowerUpSession#PowerUpSession(CandidateList)}. */
+  @Test
+  public void constructor_aCandidateListWithoutHalfLevels_keepsTheHalfLevels() {
+    CandidateList candidates = pokemon.getIV(new Limit("3b-d"), 446, 53, 2500);
+    String all = candidates.toString();
+    candidates.setWithHalfLevels(false);
+
+    assertEquals(all, new PowerUpSession(candidates).getCandidates().toString());
+  }
+
+  /** Tests {@link PowerUpSession#evolve(Pokedex, Pokemon, int, int)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void evolve_notAnEvolution_throwsAnException() {
+    PowerUpSession session = new PowerUpSession(pokemon, new Limit("3b-d"), 446, 53, 2500);
+
+    session.evolve(new Pokedex(), new Pokemon(3, "Venusaur", 198, 198, 160, Type.GRASS, Type.POISON), 446, 53);
+  }
+
+  /** Tests {@link PowerUpSession#evolve(Pokedex, Pokemon, int, int)}. */
+  @Test
+  public void evolve_theValuesOfTheEvolution_keepsTheCandidatesMatchingBothSpecies() {
+    Pokemon charmeleon = new Pokemon(5, "Charmeleon", 158, 129, 116, Type.FIRE);
+    PowerUpSession session = new PowerUpSession(pokemon, new Limit("xx-a"), 446, 53, 2500);
+    CandidateList before = session.getCandidates();
+    IVLevel iv = before.getIVLevels(before.getPossibleLevels().get(0)).get(0);
+    int level = before.getPossibleLevels().get(0).intValue();
+
+    session.evolve(new Pokedex(), charmeleon, charmeleon.getCPForLevel(level, iv), charmeleon.getCPTable().getHP(level, iv.getStamina()));
+
+    assertEquals(charmeleon, session.getPokemon());
+    assertTrue(session.getIVMask().contains(iv));
+    assertTrue(session.getCandidates().size() <= before.size());
+
+    for (Integer candidateLevel : session.getCandidates().getPossibleLevels()) {
+      for (IVLevel candidate : session.getCandidates().getIVLevels(candidateLevel)) {
+        assertTrue(before.getIVLevels(candidateLevel).contains(candidate));
+        assertEquals(charmeleon.getCPForLevel(level, iv), charmeleon.getCPForLevel(candidateLevel.intValue(), candidate));
+      }
+    }
+  }
+
+  /** Tests {@link PowerUpSession#powerUp(int, int, int)}. */
+  @Test
+  public void powerUp_inconsistentValues_emptiesTheSession() {
+    PowerUpSession session = new PowerUpSession(pokemon, new Limit("3b-d"), 446, 53, 2500);
+
+    assertFalse(session.powerUp(10, 10, 200));
+    assertTrue(session.isEmpty());
+  }
+
+  /** Tests {@link PowerUpSession#powerUp(int, int, int)}. */
+  @Test
+  public void powerUp_successiveObservations_narrowsToTheIVLevel() {
+    IVLevel iv = IVLevel.valueOf(7, 3, 9);
+    int level = 20;
+    PowerUpSession session = new PowerUpSession(pokemon, new Limit(iv), pokemon.getCPForLevel(level, iv), hp(level, iv), stardust(level));
+    int size = session.getCandidates().size();
+
+    while (!session.isSolved() && level < Multiplier.getInstance().getMaxLevel()) {
+      level++;
+      session.powerUp(pokemon.getCPForLevel(level, iv), hp(level, iv), stardust(level));
+
+      assertTrue(session.getCandidates().size() <= size);
+      assertTrue(session.getIVMask().contains(iv));
+      assertEquals(Integer.valueOf(level), session.getCandidates().getPossibleLevels().get(0));
+      size = session.getCandidates().size();
+    }
+
+    assertEquals(iv, session.getIVLevel());
+  }
+
+  private int hp(final int inLevel, final IVLevel inIVLevel) {
+    return pokemon.getCPTable().getHP(inLevel, inIVLevel.getStamina());
+  }
+
+  private int stardust(final int inLevel) {
+    for (Integer stardust : Multiplier.getInstance().getStardustList()) {
+      if (Multiplier.getInstance().getFirstLevel(stardust.intValue()) <= inLevel && inLevel <= Multiplier.getInstance().getLastLevel(stardust.intValue())) {
+        return stardust.intValue();
+      }
+    }
+
+    return 0;
+  }
+}
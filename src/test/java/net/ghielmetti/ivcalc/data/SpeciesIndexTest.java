@@ -0,0 +1,64 @@
+package net.ghielmetti.ivcalc.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.pokedex.Pokedex;
+
+/**
+ * Tests for {@link SpeciesIndex} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class SpeciesIndexTest {
+  private static List<Pokemon> pokemons;
+  private static SpeciesIndex  index;
+
+  /** Initialize the test environment. */
+  @BeforeClass
+  public static void setUpClass() {
+    pokemons = new ArrayList<>(new Pokedex().getAllPokemons());
+    pokemons.sort(Pokemon.BY_NAME);
+    index = new SpeciesIndex(pokemons);
+  }
+
+  /** Tests {@link SpeciesIndex#identify(Limit, int, int, int)}. */
+  @Test
+  public void identify_anInvalidLimit_returnsAnEmptyList() {
+    assertTrue(index.identify(new Limit("4d-had"), 446, 53, 2500).isEmpty());
+  }
+
+  /** Tests {@link SpeciesIndex#identify(Limit, int, int, int)}. */
+  @Test
+  public void identify_aKnownPokemon_returnsTheSameCandidatesAsEachSpecies() {
+    Random random = new Random(42);
+    int[] stardusts = {200, 1300, 2500, 5000, 10000};
+
+    for (int i = 0; i < 50; i++) {
+      Pokemon pokemon = pokemons.get(random.nextInt(pokemons.size()));
+      int stardust = stardusts[random.nextInt(stardusts.length)];
+      IVLevel iv = IVLevel.valueOf(random.nextInt(IVCode.COUNT));
+      int level = (int) pokemon.getCPForStardust(stardust, iv).keySet().toArray()[0];
+      int cp = pokemon.getCPForLevel(level, iv);
+      int hp = pokemon.getCPTable().getHP(level, iv.getStamina());
+      Limit limit = i % 2 == 0 ? new Limit("") : new Limit(iv);
+
+      List<CandidateList> expected = new ArrayList<>();
+      for (Pokemon p : pokemons) {
+        CandidateList candidates = p.getIV(limit, cp, hp, stardust);
+        if (!candidates.isEmpty()) {
+          expected.add(candidates);
+        }
+      }
+
+      assertEquals(expected.toString(), index.identify(limit, cp, hp, stardust).toString());
+    }
+  }
+}
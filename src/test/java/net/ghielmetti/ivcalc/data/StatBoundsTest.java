@@ -0,0 +1,70 @@
+package net.ghielmetti.ivcalc.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.pokedex.Multiplier;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
+/**
+ * Tests for {@link StatBounds} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class StatBoundsTest {
+  private Pokemon pokemon;
+
+  /** Initialize the test environment. */
+  @Before
+  public void setUp() {
+    pokemon = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+  }
+
+  /** Tests {@link StatBounds#getMaxCP(int)}. */
+  @Test
+  public void getMaxCP_anInvalidLevel_returnsTheMinimumCP() {
+    assertEquals(10, pokemon.getStatBounds().getMaxCP(-1));
+    assertEquals(10, pokemon.getStatBounds().getMaxCP(1000));
+  }
+
+  /** Tests {@link StatBounds#getMaxCP(int)} and {@link StatBounds#getMinCP(int)}. */
+  @Test
+  public void getMinCP_everyLevel_returnsTheCPOfTheLowestAndHighestIVs() {
+    StatBounds bounds = pokemon.getStatBounds();
+
+    for (int level = 2; level <= Multiplier.getInstance().getMaxLevel(); level++) {
+      assertEquals(pokemon.getCPForLevel(level, IVLevel.valueOf(0, 0, 0)), bounds.getMinCP(level));
+      assertEquals(pokemon.getCPForLevel(level, IVLevel.valueOf(15, 15, 15)), bounds.getMaxCP(level));
+    }
+  }
+
+  /** Tests {@link StatBounds#getMinAttack(int)}, {@link StatBounds#getMinDefense(int)} and {@link StatBounds#getMinStamina(int)}. */
+  @Test
+  public void getMinAttack_everyLevel_returnsTheValuesOfTheLowestAndHighestIVs() {
+    StatBounds bounds = pokemon.getStatBounds();
+
+    for (int level = 0; level <= Multiplier.getInstance().getMaxLevel(); level++) {
+      ImmutableTriple<Integer, Integer, Integer> min = pokemon.getValues(level, IVLevel.valueOf(0, 0, 0));
+      ImmutableTriple<Integer, Integer, Integer> max = pokemon.getValues(level, IVLevel.valueOf(15, 15, 15));
+      assertEquals(min, ImmutableTriple.of(Integer.valueOf(bounds.getMinAttack(level)), Integer.valueOf(bounds.getMinDefense(level)), Integer.valueOf(bounds.getMinStamina(level))));
+      assertEquals(max, ImmutableTriple.of(Integer.valueOf(bounds.getMaxAttack(level)), Integer.valueOf(bounds.getMaxDefense(level)), Integer.valueOf(bounds.getMaxStamina(level))));
+    }
+  }
+
+  /** Tests {@link StatBounds#getMinStamina(int)}. */
+  @Test
+  public void getMinStamina_anInvalidLevel_returnsZero() {
+    assertEquals(0, pokemon.getStatBounds().getMinStamina(-1));
+    assertEquals(0, pokemon.getStatBounds().getMaxAttack(1000));
+  }
+
+  /** Tests {@link Pokemon#getStatBounds()}. */
+  @Test
+  public void getStatBounds_twoPokemonsWithTheSameBaseValues_shareTheBounds() {
+    assertSame(pokemon.getStatBounds(), new Pokemon(4, "Other", 116, 96, 78, Type.FIRE).getStatBounds());
+  }
+}
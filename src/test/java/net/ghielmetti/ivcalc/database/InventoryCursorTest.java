@@ -0,0 +1,111 @@
+package net.ghielmetti.ivcalc.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
+/**
+ * Tests for {@link InventoryCursor} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class InventoryCursorTest {
+  private File            file;
+  private PokemonDatabase database;
+  private Inventory       inventory;
+
+  /** Tests {@link InventoryCursor#close()}. */
+  @Test
+  public void close_beforeTheEnd_stopsTheCursor() {
+    try (InventoryCursor cursor = inventory.query().open()) {
+      assertTrue(cursor.next());
+
+      cursor.close();
+
+      assertNull(cursor.get());
+      assertFalse(cursor.next());
+    }
+  }
+
+  /** Tests {@link InventoryCursor#get()}. */
+  @Test
+  public void get_beforeNext_returnsNull() {
+    try (InventoryCursor cursor = inventory.query().open()) {
+      assertNull(cursor.get());
+    }
+  }
+
+  /** Tests {@link InventoryCursor#next()}. */
+  @Test
+  public void next_afterTheEnd_returnsFalse() {
+    try (InventoryCursor cursor = inventory.query().open()) {
+      assertTrue(cursor.next());
+      assertNotNull(cursor.get());
+      assertTrue(cursor.next());
+      assertFalse(cursor.next());
+      assertFalse(cursor.next());
+    }
+  }
+
+  /** Tests {@link InventoryCursor#next()}. */
+  @Test
+  public void next_noResults_returnsFalse() {
+    try (InventoryCursor cursor = inventory.query().since(3L).open()) {
+      assertFalse(cursor.next());
+      assertNull(cursor.get());
+    }
+  }
+
+  /** Tests {@link InventoryCursor#next()}. */
+  @Test
+  public void next_theResults_readsTheEntriesInOrder() {
+    try (InventoryCursor cursor = inventory.query().orderByDate().open()) {
+      assertTrue(cursor.next());
+      assertEquals(2L, cursor.get().getDate());
+      assertTrue(cursor.next());
+      assertEquals(1L, cursor.get().getDate());
+    }
+  }
+
+  /**
+   * Initializes the tests.
+   *
+   * @throws IOException If the database file can't be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("ivcalc", ".db");
+    database = new PokemonDatabase(file.getPath());
+    database.open();
+    inventory = database.getInventory();
+
+    CandidateList candidates = new CandidateList(new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE), new Limit("3b-d"));
+    candidates.addIVLevel(Integer.valueOf(20), IVLevel.valueOf(15, 14, 13));
+    inventory.add(candidates, 1L);
+    inventory.add(candidates, 2L);
+  }
+
+  /** Removes the database. */
+  @After
+  public void tearDown() {
+    database.disconnect();
+    new File(file.getPath() + "-wal").delete();
+    new File(file.getPath() + "-shm").delete();
+    file.delete();
+  }
+}
@@ -0,0 +1,73 @@
+package net.ghielmetti.ivcalc.database;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.IVCode;
+import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.IVMask;
+
+/**
+ * Tests for {@link InventoryEntry} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class InventoryEntryTest {
+  private IVMask         ivs;
+  private InventoryEntry entry;
+
+  /** Tests {@link InventoryEntry#getAttack()}. */
+  @Test
+  public void getAttack_always_returnsTheAttackOfTheBestCandidate() {
+    assertEquals(15, entry.getAttack());
+  }
+
+  /** Tests {@link InventoryEntry#getDefense()}. */
+  @Test
+  public void getDefense_always_returnsTheDefenseOfTheBestCandidate() {
+    assertEquals(14, entry.getDefense());
+  }
+
+  /** Tests {@link InventoryEntry#getIVs()}. */
+  @Test(expected = UnsupportedOperationException.class)
+  public void getIVs_always_returnsAReadOnlyMask() {
+    entry.getIVs().add(IVLevel.valueOf(0, 0, 0));
+  }
+
+  /** Tests {@link InventoryEntry#getIVs()}. */
+  @Test
+  public void getIVs_theMaskIsChanged_returnsTheOriginalCandidates() {
+    ivs.add(IVLevel.valueOf(0, 0, 0));
+
+    assertEquals(2, entry.getIVs().cardinality());
+  }
+
+  /** Tests {@link InventoryEntry#getMaxIVPercent()}. */
+  @Test
+  public void getMaxIVPercent_always_returnsThePercentageOfTheHighestTotal() {
+    assertEquals(93, entry.getMaxIVPercent());
+  }
+
+  /** Tests {@link InventoryEntry#getMinIVPercent()}. */
+  @Test
+  public void getMinIVPercent_always_returnsThePercentageOfTheLowestTotal() {
+    assertEquals(73, entry.getMinIVPercent());
+  }
+
+  /** Tests {@link InventoryEntry#getStamina()}. */
+  @Test
+  public void getStamina_always_returnsTheStaminaOfTheBestCandidate() {
+    assertEquals(13, entry.getStamina());
+  }
+
+  /** Initializes the tests. */
+  @Before
+  public void setUp() {
+    ivs = new IVMask();
+    ivs.add(IVLevel.valueOf(10, 11, 12));
+    ivs.add(IVLevel.valueOf(15, 14, 13));
+    entry = new InventoryEntry(1, 4, 20, 1234L, ivs, 33, 42, IVCode.encode(15, 14, 13), 1000);
+  }
+}
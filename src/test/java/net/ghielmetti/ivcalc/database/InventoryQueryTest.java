@@ -0,0 +1,148 @@
+package net.ghielmetti.ivcalc.database;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
+/**
+ * Tests for {@link InventoryQuery} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class InventoryQueryTest {
+  private File            file;
+  private PokemonDatabase database;
+  private Inventory       inventory;
+  private Pokemon         charmander;
+  private Pokemon         charmeleon;
+  private Pokemon         charizard;
+  private long            weakCharizard;
+  private long            goodCharmander;
+  private long            goodCharmeleon;
+
+  /** Tests {@link InventoryQuery#getParameters()}. */
+  @Test
+  public void getParameters_allTheRestrictions_returnsTheValuesInOrder() {
+    List<Long> parameters = inventory.query().pokemons(Arrays.asList(charmander, charizard)).minIVPercent(93).minMaxCP(1000).since(5L).limit(20).getParameters();
+
+    assertEquals(Arrays.asList(Long.valueOf(4), Long.valueOf(6), Long.valueOf(42), Long.valueOf(1000), Long.valueOf(5), Long.valueOf(20)), parameters);
+  }
+
+  /** Tests {@link InventoryQuery#limit(int)}. */
+  @Test
+  public void limit_aNumber_returnsAtMostThisNumberOfEntries() {
+    assertEquals(Collections.singletonList(Long.valueOf(weakCharizard)), read(inventory.query().orderByMaxCP().limit(1)));
+  }
+
+  /** Tests {@link InventoryQuery#minIVPercent(int)}. */
+  @Test
+  public void minIVPercent_aPercentage_selectsTheEntriesWithACandidateOfAtLeastThisPercentage() {
+    assertEquals(Arrays.asList(Long.valueOf(goodCharmander), Long.valueOf(goodCharmeleon)), read(inventory.query().minIVPercent(93)));
+    assertEquals(Collections.singletonList(Long.valueOf(goodCharmeleon)), read(inventory.query().minIVPercent(98)));
+    assertEquals(Collections.singletonList(Long.valueOf(goodCharmeleon)), read(inventory.query().minIVPercent(100)));
+  }
+
+  /** Tests {@link InventoryQuery#minMaxCP(int)}. */
+  @Test
+  public void minMaxCP_aCP_selectsTheEntriesWithAMaxCPOfAtLeastThisCP() {
+    assertEquals(Collections.singletonList(Long.valueOf(weakCharizard)), read(inventory.query().minMaxCP(2000)));
+  }
+
+  /** Tests {@link InventoryQuery#orderByDate()}. */
+  @Test
+  public void orderByDate_always_returnsTheMostRecentFirst() {
+    assertEquals(Arrays.asList(Long.valueOf(weakCharizard), Long.valueOf(goodCharmeleon), Long.valueOf(goodCharmander)), read(inventory.query().orderByDate()));
+  }
+
+  /** Tests {@link InventoryQuery#orderByIV()}. */
+  @Test
+  public void orderByIV_always_returnsTheHighestIVFirst() {
+    assertEquals(Arrays.asList(Long.valueOf(goodCharmeleon), Long.valueOf(goodCharmander), Long.valueOf(weakCharizard)), read(inventory.query().orderByIV()));
+  }
+
+  /** Tests {@link InventoryQuery#orderByMaxCP()}. */
+  @Test
+  public void orderByMaxCP_always_returnsTheHighestCPFirst() {
+    assertEquals(Arrays.asList(Long.valueOf(weakCharizard), Long.valueOf(goodCharmeleon), Long.valueOf(goodCharmander)), read(inventory.query().orderByMaxCP()));
+    assertEquals(Arrays.asList(Long.valueOf(goodCharmeleon), Long.valueOf(goodCharmander)), read(inventory.query().minIVPercent(93).orderByMaxCP()));
+  }
+
+  /** Tests {@link InventoryQuery#pokemons(List)}. */
+  @Test
+  public void pokemons_aFamily_selectsTheEntriesOfThesePokemons() {
+    assertEquals(Arrays.asList(Long.valueOf(goodCharmander), Long.valueOf(goodCharmeleon)), read(inventory.query().pokemons(Arrays.asList(charmander, charmeleon))));
+  }
+
+  /**
+   * Initializes the tests.
+   *
+   * @throws IOException If the database file can't be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("ivcalc", ".db");
+    database = new PokemonDatabase(file.getPath());
+    database.open();
+    inventory = database.getInventory();
+    charmander = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+    charmeleon = new Pokemon(5, "Charmeleon", 158, 129, 116, Type.FIRE);
+    charizard = new Pokemon(6, "Charizard", 223, 176, 156, Type.FIRE, Type.FLYING);
+    goodCharmander = inventory.add(createCandidates(charmander, 15, 15, 14), 1L);
+    goodCharmeleon = inventory.add(createCandidates(charmeleon, 15, 15, 15), 2L);
+    weakCharizard = inventory.add(createCandidates(charizard, 1, 2, 3), 3L);
+  }
+
+  /** Tests {@link InventoryQuery#since(long)}. */
+  @Test
+  public void since_aDate_selectsTheEntriesScannedSinceThisDate() {
+    assertEquals(Arrays.asList(Long.valueOf(goodCharmeleon), Long.valueOf(weakCharizard)), read(inventory.query().since(2L)));
+  }
+
+  /** Removes the database. */
+  @After
+  public void tearDown() {
+    database.disconnect();
+    new File(file.getPath() + "-wal").delete();
+    new File(file.getPath() + "-shm").delete();
+    file.delete();
+  }
+
+  /** Tests {@link InventoryQuery#toSQL()}. */
+  @Test
+  public void toSQL_noRestrictions_selectsAllTheEntriesInOrderOfInsertion() {
+    assertEquals("select id, pokemon, level, date, ivs, minTotal, maxTotal, attack, defense, stamina, maxCP from inventory order by id", inventory.query().toSQL());
+  }
+
+  private CandidateList createCandidates(final Pokemon inPokemon, final int inAttack, final int inDefense, final int inStamina) {
+    CandidateList candidates = new CandidateList(inPokemon, new Limit("3b-d"));
+    candidates.addIVLevel(Integer.valueOf(20), IVLevel.valueOf(inAttack, inDefense, inStamina));
+    return candidates;
+  }
+
+  private List<Long> read(final InventoryQuery inQuery) {
+    List<Long> ids = new ArrayList<>();
+
+    try (InventoryCursor cursor = inQuery.open()) {
+      while (cursor.next()) {
+        ids.add(Long.valueOf(cursor.get().getId()));
+      }
+    }
+
+    return ids;
+  }
+}
@@ -0,0 +1,169 @@
+package net.ghielmetti.ivcalc.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.IVMask;
+import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
+/**
+ * Tests for {@link Inventory} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class InventoryTest {
+  private File            file;
+  private PokemonDatabase database;
+  private Inventory       inventory;
+  private Pokemon         pokemon;
+  private Limit           limit;
+
+  /** Tests {@link Inventory#add(CandidateList, long)}. */
+  @Test
+  public void add_candidates_storesTheDerivedValues() {
+    CandidateList candidates = new CandidateList(pokemon, limit);
+    candidates.addIVLevel(Integer.valueOf(21), IVLevel.valueOf(10, 11, 12));
+    candidates.addIVLevel(Integer.valueOf(20), IVLevel.valueOf(15, 14, 13));
+    candidates.addIVLevel(Integer.valueOf(20), IVLevel.valueOf(14, 15, 13));
+
+    long id = inventory.add(candidates, 1234L);
+
+    try (InventoryCursor cursor = inventory.query().open()) {
+      assertTrue(cursor.next());
+
+      InventoryEntry entry = cursor.get();
+      assertEquals(id, entry.getId());
+      assertEquals(4, entry.getPokemonNumber());
+      assertEquals(20, entry.getLevel());
+      assertEquals(1234L, entry.getDate());
+      assertEquals(3, entry.getIVs().cardinality());
+      assertTrue(entry.getIVs().get(IVMask.index(10, 11, 12)));
+      assertEquals(33, entry.getMinTotal());
+      assertEquals(42, entry.getMaxTotal());
+      assertEquals(15, entry.getAttack());
+      assertEquals(14, entry.getDefense());
+      assertEquals(13, entry.getStamina());
+      assertEquals(candidates.getMaxCP(), entry.getMaxCP());
+      assertFalse(cursor.next());
+    }
+  }
+
+  /** Tests {@link Inventory#add(CandidateList, long)}. */
+  @Test
+  public void add_noCandidates_returnsMinusOne() {
+    assertEquals(-1, inventory.add(new CandidateList(pokemon, limit), 1234L));
+
+    try (InventoryCursor cursor = inventory.query().open()) {
+      assertFalse(cursor.next());
+    }
+  }
+
+  /** Tests {@link Inventory#query()}. */
+  @Test
+  public void query_aRestriction_returnsOnlyTheMatchingEntries() {
+    inventory.add(createCandidates(15, 15, 14), 1L);
+    inventory.add(createCandidates(10, 10, 10), 2L);
+
+    try (InventoryCursor cursor = inventory.query().minIVPercent(93).open()) {
+      assertTrue(cursor.next());
+      assertEquals(44, cursor.get().getMaxTotal());
+      assertFalse(cursor.next());
+    }
+  }
+
+  /** Tests {@link Inventory#remove(long)}. */
+  @Test
+  public void remove_anEntry_removesOnlyThisEntry() {
+    long first = inventory.add(createCandidates(15, 15, 14), 1L);
+    long second = inventory.add(createCandidates(10, 10, 10), 2L);
+    inventory.remove(first);
+
+    try (InventoryCursor cursor = inventory.query().open()) {
+      assertTrue(cursor.next());
+      assertEquals(second, cursor.get().getId());
+      assertFalse(cursor.next());
+    }
+  }
+
+  /** Tests {@link Inventory#remove(java.util.List, String)}. */
+  @Test
+  public void remove_aName_removesOnlyTheEntryOfThisName() {
+    inventory.save(createCandidates(15, 15, 14), "first", 1L);
+    inventory.save(createCandidates(10, 10, 10), "second", 2L);
+    inventory.remove(Collections.singletonList(pokemon), "first");
+
+    try (InventoryCursor cursor = inventory.query().open()) {
+      assertTrue(cursor.next());
+      assertEquals(2L, cursor.get().getDate());
+      assertFalse(cursor.next());
+    }
+  }
+
+  /** Tests {@link Inventory#save(CandidateList, String, long)}. */
+  @Test
+  public void save_noCandidates_removesTheEntry() {
+    inventory.save(createCandidates(15, 15, 14), "first", 1L);
+    inventory.save(new CandidateList(pokemon, limit), "first", 2L);
+
+    try (InventoryCursor cursor = inventory.query().open()) {
+      assertFalse(cursor.next());
+    }
+  }
+
+  /** Tests {@link Inventory#save(CandidateList, String, long)}. */
+  @Test
+  public void save_theSameNameTwice_updatesTheEntry() {
+    inventory.save(createCandidates(15, 15, 14), "first", 1L);
+    inventory.save(createCandidates(10, 10, 10), "first", 2L);
+
+    try (InventoryCursor cursor = inventory.query().open()) {
+      assertTrue(cursor.next());
+      assertEquals(2L, cursor.get().getDate());
+      assertEquals(30, cursor.get().getMaxTotal());
+      assertFalse(cursor.next());
+    }
+  }
+
+  /**
+   * Initializes the tests.
+   *
+   * @throws IOException If the database file can't be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("ivcalc", ".db");
+    database = new PokemonDatabase(file.getPath());
+    database.open();
+    inventory = database.getInventory();
+    pokemon = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+    limit = new Limit("3b-d");
+  }
+
+  /** Removes the database. */
+  @After
+  public void tearDown() {
+    database.disconnect();
+    new File(file.getPath() + "-wal").delete();
+    new File(file.getPath() + "-shm").delete();
+    file.delete();
+  }
+
+  private CandidateList createCandidates(final int inAttack, final int inDefense, final int inStamina) {
+    CandidateList candidates = new CandidateList(pokemon, limit);
+    candidates.addIVLevel(Integer.valueOf(20), IVLevel.valueOf(inAttack, inDefense, inStamina));
+    return candidates;
+  }
+}
@@ -0,0 +1,126 @@
+package net.ghielmetti.ivcalc.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
+/**
+ * Tests for {@link MigrationV2} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class MigrationV2Test {
+  private File            file;
+  private PokemonDatabase database;
+
+  /** Tests {@link MigrationV2#getVersion()}. */
+  @Test
+  public void getVersion_always_returns2() {
+    assertEquals(2, new MigrationV2().getVersion());
+  }
+
+  /**
+   * Tests {@link MigrationV2#migrate(Connection)}.
+   *
+   * @throws SQLException If the database can't be read.
+   */
+  @Test
+  public void migrate_aVersion1Database_addsTheIndexes() throws SQLException {
+    database.open();
+
+    try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file); //
+        Statement stmt = connection.createStatement(); //
+        ResultSet rs = stmt.executeQuery("select name from sqlite_master where type='index' and name in ('u_codes', 'i_names_limit')")) {
+      int count = 0;
+
+      while (rs.next()) {
+        count++;
+      }
+
+      assertEquals(2, count);
+    }
+  }
+
+  /** Tests {@link MigrationV2#migrate(Connection)}. */
+  @Test
+  public void migrate_aVersion1Database_keepsTheSavedCandidates() {
+    database.open();
+
+    Pokemon pokemon = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+    Limit limit = new Limit("3b-d");
+    CandidateList candidates = database.getSavedCandidates(pokemon, "first", limit);
+
+    assertEquals(MigrationV4.VERSION, database.getDbVersion());
+    assertEquals(Arrays.asList("first", "second"), database.listSavedCandidates(pokemon, limit));
+    assertEquals(Arrays.asList(Integer.valueOf(20), Integer.valueOf(21)), candidates.getPossibleLevels());
+    assertEquals(Arrays.asList(new IVLevel(1, 2, 3), new IVLevel(15, 14, 13)), candidates.getIVLevels(Integer.valueOf(20)));
+    assertEquals(Arrays.asList(new IVLevel(0, 0, 0)), candidates.getIVLevels(Integer.valueOf(21)));
+    assertTrue(database.getSavedCandidates(pokemon, "second", limit).isEmpty());
+  }
+
+  /** Tests {@link MigrationV2#migrate(Connection)}. */
+  @Test
+  public void migrate_aVersion2Database_isNotAppliedAgain() {
+    database.open();
+    database.disconnect();
+    database.open();
+
+    assertEquals(MigrationV4.VERSION, database.getDbVersion());
+    assertFalse(database.getSavedCandidates(new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE), "first", new Limit("3b-d")).isEmpty());
+  }
+
+  /**
+   * Creates a version 1 database.
+   *
+   * @throws IOException If the database file can't be created.
+   * @throws SQLException If the database can't be written.
+   */
+  @Before
+  public void setUp() throws IOException, SQLException {
+    file = File.createTempFile("ivcalc", ".db");
+    database = new PokemonDatabase(file.getPath());
+
+    try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file); //
+        Statement stmt = connection.createStatement()) {
+      stmt.execute("CREATE TABLE version (version integer not null);");
+      stmt.execute("CREATE TABLE names (id integer primary key autoincrement, name text not null, pokemon integer not null, level integer not null, strength integer not null, attack boolean not null, defense boolean not null, hp boolean not null);");
+      stmt.execute("CREATE UNIQUE INDEX u_names ON names (name, pokemon);");
+      stmt.execute("CREATE TABLE codes (id integer primary key autoincrement, names_id integer not null, level integer not null, ivAttack integer not null, ivDefense integer not null, ivStamina integer not null);");
+      stmt.execute("CREATE TABLE checkers (id integer primary key autoincrement, name text not null, minTotal integer not null, minAttack integer not null, minDefense integer not null, minStamina integer not null);");
+      stmt.execute("insert into version values (1)");
+      stmt.execute("insert into names (id, name, pokemon, level, strength, attack, defense, hp) values (7, 'first', 4, 2, 2, 0, 1, 0)");
+      stmt.execute("insert into names (id, name, pokemon, level, strength, attack, defense, hp) values (8, 'second', 4, 2, 2, 0, 1, 0)");
+      stmt.execute("insert into codes (names_id, level, ivAttack, ivDefense, ivStamina) values (7, 20, 15, 14, 13)");
+      stmt.execute("insert into codes (names_id, level, ivAttack, ivDefense, ivStamina) values (7, 21, 0, 0, 0)");
+      stmt.execute("insert into codes (names_id, level, ivAttack, ivDefense, ivStamina) values (7, 20, 1, 2, 3)");
+    }
+  }
+
+  /** Removes the database. */
+  @After
+  public void tearDown() {
+    database.disconnect();
+    new File(file.getPath() + "-wal").delete();
+    new File(file.getPath() + "-shm").delete();
+    file.delete();
+  }
+}
@@ -0,0 +1,70 @@
+package net.ghielmetti.ivcalc.database;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MigrationV3} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class MigrationV3Test {
+  private File            file;
+  private PokemonDatabase database;
+
+  /** Tests {@link MigrationV3#getVersion()}. */
+  @Test
+  public void getVersion_always_returns3() {
+    assertEquals(3, new MigrationV3().getVersion());
+  }
+
+  /**
+   * Tests {@link MigrationV3#migrate(Connection)}.
+   *
+   * @throws SQLException If the database can't be read.
+   */
+  @Test
+  public void migrate_aNewDatabase_addsTheInventoryAndItsIndexes() throws SQLException {
+    database.open();
+
+    assertEquals(MigrationV4.VERSION, database.getDbVersion());
+
+    try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file); //
+        Statement stmt = connection.createStatement(); //
+        ResultSet rs = stmt.executeQuery("select count(*) from sqlite_master where tbl_name='inventory' and name<>'u_inventory_name'")) {
+      rs.next();
+      assertEquals(5, rs.getInt(1));
+    }
+  }
+
+  /**
+   * Initializes the tests.
+   *
+   * @throws IOException If the database file can't be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("ivcalc", ".db");
+    database = new PokemonDatabase(file.getPath());
+  }
+
+  /** Removes the database. */
+  @After
+  public void tearDown() {
+    database.disconnect();
+    new File(file.getPath() + "-wal").delete();
+    new File(file.getPath() + "-shm").delete();
+    file.delete();
+  }
+}
@@ -0,0 +1,71 @@
+package net.ghielmetti.ivcalc.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MigrationV4} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class MigrationV4Test {
+  private File            file;
+  private PokemonDatabase database;
+
+  /** Tests {@link MigrationV4#getVersion()}. */
+  @Test
+  public void getVersion_always_returns4() {
+    assertEquals(4, new MigrationV4().getVersion());
+  }
+
+  /**
+   * Tests {@link MigrationV4#migrate(Connection)}.
+   *
+   * @throws SQLException If the database can't be read.
+   */
+  @Test
+  public void migrate_aNewDatabase_addsTheNameOfTheSavedCandidates() throws SQLException {
+    database.open();
+
+    assertEquals(4, database.getDbVersion());
+
+    try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file); //
+        Statement stmt = connection.createStatement(); //
+        ResultSet rs = stmt.executeQuery("select sql from sqlite_master where name='u_inventory_name'")) {
+      assertTrue(rs.next());
+      assertTrue(rs.getString(1).startsWith("CREATE UNIQUE INDEX"));
+    }
+  }
+
+  /**
+   * Initializes the tests.
+   *
+   * @throws IOException If the database file can't be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("ivcalc", ".db");
+    database = new PokemonDatabase(file.getPath());
+  }
+
+  /** Removes the database. */
+  @After
+  public void tearDown() {
+    database.disconnect();
+    new File(file.getPath() + "-wal").delete();
+    new File(file.getPath() + "-shm").delete();
+    file.delete();
+  }
+}
@@ -1,9 +1,268 @@
 package net.ghielmetti.ivcalc.database;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.GoodnessChecker;
+import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
 /**
  * Tests for {@link PokemonDatabase} class.
- * 
+ *
  * @author Leopoldo Ghielmetti
  */
 public class PokemonDatabaseTest {
+  private File            file;
+  private PokemonDatabase database;
+  private Pokemon         evolution;
+  private Pokemon         pokemon;
+  private Limit           limit;
+
+  /** Tests {@link PokemonDatabase#beginTransaction()}. */
+  @Test
+  public void beginTransaction_aCommittedTransaction_writesAllTheChanges() {
+    try (Transaction transaction = database.beginTransaction()) {
+      database.saveCandidates(createCandidates(10, 20), "first");
+      database.saveCandidates(createCandidates(30, 40), "second");
+      transaction.commit();
+    }
+
+    assertEquals(Arrays.asList("first", "second"), database.listSavedCandidates(pokemon, limit));
+  }
+
+  /** Tests {@link PokemonDatabase#beginTransaction()}. */
+  @Test
+  public void beginTransaction_aNestedTransactionNotCommitted_discardsAllTheChanges() {
+    try (Transaction transaction = database.beginTransaction()) {
+      database.saveCandidates(createCandidates(10, 20), "first");
+
+      try (Transaction nested = database.beginTransaction()) {
+        database.saveCandidates(createCandidates(30, 40), "second");
+      }
+
+      transaction.commit();
+    }
+
+    assertTrue(database.listSavedCandidates(pokemon, limit).isEmpty());
+  }
+
+  /** Tests {@link PokemonDatabase#beginTransaction()}. */
+  @Test
+  public void beginTransaction_aTransactionNotCommitted_discardsTheChanges() {
+    try (Transaction transaction = database.beginTransaction()) {
+      database.saveCandidates(createCandidates(10, 20), "first");
+    }
+
+    assertTrue(database.listSavedCandidates(pokemon, limit).isEmpty());
+  }
+
+  /** Tests {@link PokemonDatabase#getSavedCandidates(Pokemon, String, Limit)}. */
+  @Test
+  public void getSavedCandidates_aSavedName_returnsTheCandidates() {
+    database.saveCandidates(createCandidates(10, 20), "first");
+
+    CandidateList candidates = database.getSavedCandidates(pokemon, "first", limit);
+
+    assertEquals(Arrays.asList(Integer.valueOf(10), Integer.valueOf(20)), candidates.getPossibleLevels());
+    assertEquals(Collections.singletonList(IVLevel.valueOf(15, 14, 13)), candidates.getIVLevels(Integer.valueOf(10)));
+  }
+
+  /** Tests {@link PokemonDatabase#getSavedCandidates(Pokemon, String, Limit)}. */
+  @Test
+  public void getSavedCandidates_anUnknownName_returnsAnEmptyList() {
+    assertTrue(database.getSavedCandidates(pokemon, "unknown", limit).isEmpty());
+  }
+
+  /** Tests {@link PokemonDatabase#getSavedCandidates(List, String, Limit)}. */
+  @Test
+  public void getSavedCandidates_aFamily_returnsTheCandidatesOfTheFirstPokemonFound() {
+    database.saveCandidates(createCandidates(evolution, 10), "first");
+    database.saveCandidates(createCandidates(pokemon, 20), "first");
+
+    CandidateList candidates = database.getSavedCandidates(Arrays.asList(evolution, pokemon), "first", limit);
+
+    assertEquals(evolution, candidates.getPokemon());
+    assertEquals(Collections.singletonList(Integer.valueOf(10)), candidates.getPossibleLevels());
+    assertEquals(pokemon, database.getSavedCandidates(Arrays.asList(pokemon, evolution), "first", limit).getPokemon());
+  }
+
+  /** Tests {@link PokemonDatabase#getSavedCandidates(List, String, Limit)}. */
+  @Test
+  public void getSavedCandidates_aFamilyWithoutCandidates_returnsAnEmptyListOfTheFirstPokemon() {
+    CandidateList candidates = database.getSavedCandidates(Arrays.asList(evolution, pokemon), "unknown", limit);
+
+    assertTrue(candidates.isEmpty());
+    assertEquals(evolution, candidates.getPokemon());
+  }
+
+  /** Tests {@link PokemonDatabase#getSavedCandidates(List, String, Limit)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void getSavedCandidates_noPokemons_throwsAnException() {
+    database.getSavedCandidates(Collections.<Pokemon> emptyList(), "first", limit);
+  }
+
+  /** Tests {@link PokemonDatabase#listGoodnessCheckers()}. */
+  @Test
+  public void listGoodnessCheckers_savedCheckers_returnsTheCheckers() {
+    database.saveGoodnessChecker(new GoodnessChecker("Charmander", 40, 10, 11, 12));
+    database.saveGoodnessChecker(new GoodnessChecker("Charmander", 41, 10, 11, 12));
+
+    assertEquals(1, database.listGoodnessCheckers().size());
+    assertEquals(41, database.listGoodnessCheckers().get(0).getMinTotal());
+  }
+
+  /** Tests {@link PokemonDatabase#listSavedCandidates(List, Limit)}. */
+  @Test
+  public void listSavedCandidates_aFamily_returnsTheNamesOfAllThePokemons() {
+    database.saveCandidates(createCandidates(evolution, 10), "first");
+    database.saveCandidates(createCandidates(pokemon, 10), "second");
+
+    List<String> names = database.listSavedCandidates(Arrays.asList(evolution, pokemon), limit);
+    Collections.sort(names);
+
+    assertEquals(Arrays.asList("first", "second"), names);
+  }
+
+  /** Tests {@link PokemonDatabase#listSavedCandidates(Pokemon, Limit)}. */
+  @Test
+  public void listSavedCandidates_duringATransaction_returnsTheCommittedNames() {
+    database.saveCandidates(createCandidates(10, 20), "first");
+
+    try (Transaction transaction = database.beginTransaction()) {
+      database.saveCandidates(createCandidates(30, 40), "second");
+
+      assertEquals(Arrays.asList("first"), database.listSavedCandidates(pokemon, limit));
+      transaction.commit();
+    }
+
+    assertEquals(Arrays.asList("first", "second"), database.listSavedCandidates(pokemon, limit));
+  }
+
+  /**
+   * Tests {@link PokemonDatabase#open()}.
+   *
+   * @throws SQLException If the database can't be read.
+   */
+  @Test
+  public void open_always_usesTheWriteAheadLog() throws SQLException {
+    database.saveCandidates(createCandidates(10, 20), "first");
+
+    try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file); //
+        Statement stmt = connection.createStatement(); //
+        ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+      rs.next();
+      assertEquals("wal", rs.getString(1));
+    }
+  }
+
+  /** Tests {@link PokemonDatabase#removeGoodnessChecker(String)}. */
+  @Test
+  public void removeGoodnessChecker_aSavedChecker_removesTheChecker() {
+    database.saveGoodnessChecker(new GoodnessChecker("Charmander", 40, 10, 11, 12));
+    database.removeGoodnessChecker("Charmander");
+
+    assertTrue(database.listGoodnessCheckers().isEmpty());
+  }
+
+  /** Tests {@link PokemonDatabase#removeSavedCandidates(Pokemon, String)}. */
+  @Test
+  public void removeSavedCandidates_aSavedName_removesTheCandidates() {
+    database.saveCandidates(createCandidates(10, 20), "first");
+    database.removeSavedCandidates(pokemon, "first");
+
+    assertTrue(database.listSavedCandidates(pokemon, limit).isEmpty());
+    assertTrue(database.getSavedCandidates(pokemon, "first", limit).isEmpty());
+  }
+
+  /** Tests {@link PokemonDatabase#removeSavedCandidates(List, String)}. */
+  @Test
+  public void removeSavedCandidates_aFamily_removesTheCandidatesOfAllThePokemons() {
+    database.saveCandidates(createCandidates(evolution, 10), "first");
+    database.saveCandidates(createCandidates(pokemon, 10), "first");
+    database.saveCandidates(createCandidates(pokemon, 10), "second");
+    database.removeSavedCandidates(Arrays.asList(evolution, pokemon), "first");
+
+    assertTrue(database.listSavedCandidates(evolution, limit).isEmpty());
+    assertEquals(Arrays.asList("second"), database.listSavedCandidates(pokemon, limit));
+    assertEquals(1, countInventoryEntries());
+  }
+
+  /** Tests {@link PokemonDatabase#saveCandidates(CandidateList, String)}. */
+  @Test
+  public void saveCandidates_anExistingName_replacesTheCandidates() {
+    database.saveCandidates(createCandidates(10, 20), "first");
+    database.saveCandidates(createCandidates(30, 40), "first");
+
+    assertEquals(Arrays.asList(Integer.valueOf(30), Integer.valueOf(40)), database.getSavedCandidates(pokemon, "first", limit).getPossibleLevels());
+    assertEquals(1, countInventoryEntries());
+  }
+
+  /**
+   * Initializes the tests.
+   *
+   * @throws IOException If the database file can't be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("ivcalc", ".db");
+    database = new PokemonDatabase(file.getPath());
+    database.open();
+    pokemon = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+    evolution = new Pokemon(5, "Charmeleon", 158, 129, 116, Type.FIRE);
+    limit = new Limit("3b-d");
+  }
+
+  /** Removes the database. */
+  @After
+  public void tearDown() {
+    database.disconnect();
+    new File(file.getPath() + "-wal").delete();
+    new File(file.getPath() + "-shm").delete();
+    file.delete();
+  }
+
+  private int countInventoryEntries() {
+    int count = 0;
+
+    try (InventoryCursor cursor = database.getInventory().query().open()) {
+      while (cursor.next()) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  private CandidateList createCandidates(final int... inLevels) {
+    return createCandidates(pokemon, inLevels);
+  }
+
+  private CandidateList createCandidates(final Pokemon inPokemon, final int... inLevels) {
+    CandidateList candidates = new CandidateList(inPokemon, limit);
+
+    for (int level : inLevels) {
+      candidates.addIVLevel(Integer.valueOf(level), IVLevel.valueOf(15, 14, 13));
+    }
+
+    return candidates;
+  }
 }
@@ -0,0 +1,104 @@
+package net.ghielmetti.ivcalc.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.GoodnessChecker;
+
+/**
+ * Tests for {@link Transaction} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class TransactionTest {
+  private File            file;
+  private PokemonDatabase database;
+
+  /** Tests {@link Transaction#close()}. */
+  @Test
+  public void close_calledTwice_endsTheTransactionOnce() {
+    try (Transaction outer = database.beginTransaction()) {
+      Transaction inner = database.beginTransaction();
+      inner.commit();
+      inner.close();
+      inner.close();
+      database.saveGoodnessChecker(new GoodnessChecker("Charmander", 40, 10, 11, 12));
+      outer.commit();
+    }
+
+    assertEquals(1, database.listGoodnessCheckers().size());
+  }
+
+  /** Tests {@link Transaction#commit()}. */
+  @Test
+  public void commit_notCalled_discardsTheChanges() {
+    try (Transaction transaction = database.beginTransaction()) {
+      database.saveGoodnessChecker(new GoodnessChecker("Charmander", 40, 10, 11, 12));
+    }
+
+    assertEquals(Collections.emptyList(), database.listGoodnessCheckers());
+  }
+
+  /** Tests {@link Transaction#isWritten()}. */
+  @Test
+  public void isWritten_aCommittedTransaction_returnsTrue() {
+    Transaction transaction = database.beginTransaction();
+    database.saveGoodnessChecker(new GoodnessChecker("Charmander", 40, 10, 11, 12));
+    transaction.commit();
+
+    assertFalse(transaction.isWritten());
+
+    transaction.close();
+
+    assertTrue(transaction.isWritten());
+  }
+
+  /** Tests {@link Transaction#isWritten()}. */
+  @Test
+  public void isWritten_aFailedOperation_returnsFalse() {
+    try (Transaction outer = database.beginTransaction()) {
+      Transaction inner = database.beginTransaction();
+      database.setRollbackOnly();
+      inner.commit();
+      inner.close();
+      outer.commit();
+
+      assertFalse(inner.isWritten());
+      outer.close();
+
+      assertFalse(outer.isWritten());
+    }
+
+    assertEquals(Collections.emptyList(), database.listGoodnessCheckers());
+  }
+
+  /**
+   * Initializes the tests.
+   *
+   * @throws IOException If the database file can't be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("ivcalc", ".db");
+    database = new PokemonDatabase(file.getPath());
+    database.open();
+  }
+
+  /** Removes the database. */
+  @After
+  public void tearDown() {
+    database.disconnect();
+    new File(file.getPath() + "-wal").delete();
+    new File(file.getPath() + "-shm").delete();
+    file.delete();
+  }
+}
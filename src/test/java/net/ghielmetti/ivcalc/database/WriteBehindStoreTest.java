@@ -0,0 +1,368 @@
+package net.ghielmetti.ivcalc.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.GoodnessChecker;
+import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.data.Pokemon;
+import net.ghielmetti.ivcalc.pokedex.Type;
+
+/**
+ * Tests for {@link WriteBehindStore} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class WriteBehindStoreTest {
+  private File             file;
+  private PokemonDatabase  database;
+  private List<Runnable>   writes;
+  private WriteBehindStore store;
+  private Pokemon          evolution;
+  private Pokemon          pokemon;
+  private Limit            limit;
+
+  /**
+   * Tests {@link WriteBehindStore#flush()}.
+   *
+   * @throws SQLException If the trigger can't be created or dropped.
+   */
+  @Test
+  public void flush_aChangeFailingEveryTime_isDiscardedAndReported() throws SQLException {
+    List<String> reported = new ArrayList<>();
+    store.setErrorHandler(reported::add);
+    createFailure();
+    store.saveCandidates(createCandidates(10, 20), "first");
+
+    for (int i = 1; i < WriteBehindStore.MAX_ATTEMPTS; i++) {
+      assertFalse(store.flush());
+      assertEquals(Arrays.asList("first"), store.listSavedCandidates(pokemon, limit));
+    }
+
+    assertTrue(reported.isEmpty());
+    assertFalse(store.flush());
+    assertEquals(Arrays.asList("first"), reported);
+    assertEquals(Collections.emptyList(), store.listSavedCandidates(pokemon, limit));
+    assertTrue(store.flush());
+  }
+
+  /**
+   * Tests {@link WriteBehindStore#flush()}.
+   *
+   * @throws SQLException If the trigger can't be created or dropped.
+   */
+  @Test
+  public void flush_aFailedChange_keepsOnlyThisChangePending() throws SQLException {
+    createFailure();
+    store.saveCandidates(createCandidates(10, 20), "first");
+    store.saveGoodnessChecker(new GoodnessChecker("Charmander", 40, 10, 11, 12));
+
+    assertFalse(store.flush());
+    assertEquals(Collections.emptyList(), readInventory());
+    assertEquals(Collections.emptyList(), database.listSavedCandidates(pokemon, limit));
+    assertEquals(1, database.listGoodnessCheckers().size());
+    assertEquals(Arrays.asList(Integer.valueOf(10), Integer.valueOf(20)), store.getSavedCandidates(pokemon, "first", limit).getPossibleLevels());
+
+    try (Statement stmt = database.getConnection().createStatement()) {
+      stmt.execute("DROP TRIGGER failure;");
+    }
+
+    assertTrue(store.flush());
+    assertEquals(Arrays.asList("first"), database.listSavedCandidates(pokemon, limit));
+    assertEquals(1, readInventory().size());
+  }
+
+  /** Tests {@link WriteBehindStore#flush()}. */
+  @Test
+  public void flush_pendingChanges_writesTheChanges() {
+    store.saveCandidates(createCandidates(10, 20), "first");
+    store.saveGoodnessChecker(new GoodnessChecker("Charmander", 40, 10, 11, 12));
+
+    assertTrue(store.flush());
+
+    assertEquals(Arrays.asList("first"), database.listSavedCandidates(pokemon, limit));
+    assertEquals(1, database.listGoodnessCheckers().size());
+  }
+
+  /** Tests {@link WriteBehindStore#flush()}. */
+  @Test
+  public void flush_theScheduledWrite_writesTheChanges() {
+    store.saveCandidates(createCandidates(10, 20), "first");
+    writes.get(0).run();
+
+    assertEquals(Arrays.asList("first"), database.listSavedCandidates(pokemon, limit));
+  }
+
+  /** Tests {@link WriteBehindStore#getCacheHits()}. */
+  @Test
+  public void getCacheHits_theSameNamesListedTwice_countsOneHit() {
+    store.listSavedCandidates(pokemon, limit);
+    store.listSavedCandidates(pokemon, limit);
+    store.listSavedCandidates(pokemon, new Limit("1a-a"));
+
+    assertEquals(1, store.getCacheHits());
+    assertEquals(2, store.getCacheMisses());
+  }
+
+  /** Tests {@link WriteBehindStore#getSavedCandidates(List, String, Limit)}. */
+  @Test
+  public void getSavedCandidates_aFamilyWithPendingChanges_returnsTheFirstPokemonWithCandidates() {
+    database.saveCandidates(createCandidates(evolution, 10), "first");
+    database.saveCandidates(createCandidates(pokemon, 20), "first");
+    store.removeSavedCandidates(evolution, "first");
+
+    assertEquals(pokemon, store.getSavedCandidates(Arrays.asList(evolution, pokemon), "first", limit).getPokemon());
+
+    store.saveCandidates(createCandidates(evolution, 30), "first");
+
+    assertEquals(evolution, store.getSavedCandidates(Arrays.asList(evolution, pokemon), "first", limit).getPokemon());
+  }
+
+  /** Tests {@link WriteBehindStore#getSavedCandidates(Pokemon, String, Limit)}. */
+  @Test
+  public void getSavedCandidates_aPendingRemoval_returnsAnEmptyList() {
+    database.saveCandidates(createCandidates(10, 20), "first");
+    store.removeSavedCandidates(pokemon, "first");
+
+    assertTrue(store.getSavedCandidates(pokemon, "first", limit).isEmpty());
+  }
+
+  /** Tests {@link WriteBehindStore#getSavedCandidates(Pokemon, String, Limit)}. */
+  @Test
+  public void getSavedCandidates_aPendingSave_returnsThePendingCandidates() {
+    database.saveCandidates(createCandidates(10, 20), "first");
+    store.saveCandidates(createCandidates(30), "first");
+
+    CandidateList candidates = store.getSavedCandidates(pokemon, "first", limit);
+
+    assertEquals(Collections.singletonList(Integer.valueOf(30)), candidates.getPossibleLevels());
+    assertEquals(Collections.singletonList(IVLevel.valueOf(15, 14, 13)), candidates.getIVLevels(Integer.valueOf(30)));
+  }
+
+  /** Tests {@link WriteBehindStore#getSavedCandidates(Pokemon, String, Limit)}. */
+  @Test
+  public void getSavedCandidates_noPendingChanges_returnsTheSavedCandidates() {
+    database.saveCandidates(createCandidates(10, 20), "first");
+
+    assertEquals(Arrays.asList(Integer.valueOf(10), Integer.valueOf(20)), store.getSavedCandidates(pokemon, "first", limit).getPossibleLevels());
+  }
+
+  /** Tests {@link WriteBehindStore#getSavedCandidates(List, String, Limit)}. */
+  @Test(expected = IllegalArgumentException.class)
+  public void getSavedCandidates_noPokemons_throwsAnException() {
+    store.getSavedCandidates(Collections.<Pokemon> emptyList(), "first", limit);
+  }
+
+  /** Tests {@link WriteBehindStore#listGoodnessCheckers()}. */
+  @Test
+  public void listGoodnessCheckers_pendingChanges_returnsTheCheckersWithTheChanges() {
+    database.saveGoodnessChecker(new GoodnessChecker("Charmander", 40, 10, 11, 12));
+    database.saveGoodnessChecker(new GoodnessChecker("Pikachu", 40, 10, 11, 12));
+    store.saveGoodnessChecker(new GoodnessChecker("Charmander", 41, 10, 11, 12));
+    store.removeGoodnessChecker("Pikachu");
+
+    List<GoodnessChecker> checkers = store.listGoodnessCheckers();
+
+    assertEquals(1, checkers.size());
+    assertEquals(41, checkers.get(0).getMinTotal());
+  }
+
+  /** Tests {@link WriteBehindStore#listSavedCandidates(List, Limit)}. */
+  @Test
+  public void listSavedCandidates_aFamilyWithPendingChanges_returnsTheNamesWithTheChanges() {
+    database.saveCandidates(createCandidates(evolution, 10), "first");
+    store.saveCandidates(createCandidates(pokemon, 10), "second");
+
+    assertEquals(Arrays.asList("first", "second"), store.listSavedCandidates(Arrays.asList(evolution, pokemon), limit));
+  }
+
+  /** Tests {@link WriteBehindStore#listSavedCandidates(List, Limit)}. */
+  @Test
+  public void listSavedCandidates_afterAWrite_readsOnlyTheNamesOfTheWrittenPokemons() {
+    store.listSavedCandidates(pokemon, limit);
+    store.listSavedCandidates(evolution, limit);
+    store.saveCandidates(createCandidates(10), "first");
+    store.flush();
+
+    assertEquals(Arrays.asList("first"), store.listSavedCandidates(pokemon, limit));
+    assertTrue(store.listSavedCandidates(evolution, limit).isEmpty());
+    assertEquals(1, store.getCacheHits());
+    assertEquals(3, store.getCacheMisses());
+  }
+
+  /** Tests {@link WriteBehindStore#listSavedCandidates(Pokemon, Limit)}. */
+  @Test
+  public void listSavedCandidates_cachedNames_returnsTheNamesWithThePendingChanges() {
+    store.listSavedCandidates(pokemon, limit);
+    store.saveCandidates(createCandidates(10), "first");
+
+    assertEquals(Arrays.asList("first"), store.listSavedCandidates(pokemon, limit));
+    assertEquals(1, store.getCacheHits());
+  }
+
+  /** Tests {@link WriteBehindStore#listSavedCandidates(Pokemon, Limit)}. */
+  @Test
+  public void listSavedCandidates_pendingChanges_returnsTheNamesWithTheChanges() {
+    database.saveCandidates(createCandidates(10), "first");
+    database.saveCandidates(createCandidates(10), "second");
+    store.removeSavedCandidates(pokemon, "first");
+    store.saveCandidates(createCandidates(10), "third");
+
+    assertEquals(Arrays.asList("second", "third"), store.listSavedCandidates(pokemon, limit));
+    assertTrue(store.listSavedCandidates(pokemon, new Limit("1a-a")).isEmpty());
+  }
+
+  /** Tests {@link WriteBehindStore#removeSavedCandidates(List, String)}. */
+  @Test
+  public void removeSavedCandidates_aFamily_removesTheCandidatesOfAllThePokemons() {
+    database.saveCandidates(createCandidates(evolution, 10), "first");
+    database.saveCandidates(createCandidates(pokemon, 10), "first");
+    store.removeSavedCandidates(Arrays.asList(evolution, pokemon), "first");
+
+    assertTrue(store.listSavedCandidates(Arrays.asList(evolution, pokemon), limit).isEmpty());
+
+    store.flush();
+
+    assertTrue(database.listSavedCandidates(Arrays.asList(evolution, pokemon), limit).isEmpty());
+  }
+
+  /**
+   * Tests {@link WriteBehindStore#saveCandidates(CandidateList, String)}.
+   *
+   * @throws SQLException If the trigger can't be created.
+   */
+  @Test
+  public void saveCandidates_afterFailedWrites_resetsTheAttempts() throws SQLException {
+    List<String> reported = new ArrayList<>();
+    store.setErrorHandler(reported::add);
+    createFailure();
+    store.saveCandidates(createCandidates(10, 20), "first");
+
+    for (int i = 1; i < WriteBehindStore.MAX_ATTEMPTS; i++) {
+      store.flush();
+    }
+
+    store.saveCandidates(createCandidates(30), "first");
+
+    for (int i = 1; i < WriteBehindStore.MAX_ATTEMPTS; i++) {
+      store.flush();
+    }
+
+    assertTrue(reported.isEmpty());
+    assertEquals(Collections.singletonList(Integer.valueOf(30)), store.getSavedCandidates(pokemon, "first", limit).getPossibleLevels());
+  }
+
+  /** Tests {@link WriteBehindStore#saveCandidates(CandidateList, String)}. */
+  @Test
+  public void saveCandidates_changedAfterTheSave_writesTheSavedCandidates() {
+    CandidateList candidates = createCandidates(10);
+    store.saveCandidates(candidates, "first");
+    candidates.addIVLevel(Integer.valueOf(20), IVLevel.valueOf(15, 14, 13));
+    store.flush();
+
+    assertEquals(Collections.singletonList(Integer.valueOf(10)), database.getSavedCandidates(pokemon, "first", limit).getPossibleLevels());
+  }
+
+  /** Tests {@link WriteBehindStore#saveCandidates(CandidateList, String)}. */
+  @Test
+  public void saveCandidates_manyChanges_schedulesASingleWrite() {
+    store.saveCandidates(createCandidates(10), "first");
+    store.removeSavedCandidates(pokemon, "first");
+    store.saveCandidates(createCandidates(20), "first");
+    store.saveGoodnessChecker(new GoodnessChecker("Charmander", 40, 10, 11, 12));
+
+    assertEquals(1, writes.size());
+    assertTrue(database.listSavedCandidates(pokemon, limit).isEmpty());
+
+    writes.get(0).run();
+    store.saveCandidates(createCandidates(30), "first");
+
+    assertEquals(2, writes.size());
+  }
+
+  /** Tests {@link WriteBehindStore#saveCandidates(CandidateList, String)}. */
+  @Test
+  public void saveCandidates_thenRemoved_writesOnlyTheRemoval() {
+    database.saveCandidates(createCandidates(10), "first");
+    store.saveCandidates(createCandidates(20), "first");
+    store.removeSavedCandidates(pokemon, "first");
+    store.flush();
+
+    assertTrue(database.listSavedCandidates(pokemon, limit).isEmpty());
+  }
+
+  /**
+   * Initializes the tests.
+   *
+   * @throws IOException If the database file can't be created.
+   */
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("ivcalc", ".db");
+    database = new PokemonDatabase(file.getPath());
+    database.open();
+    writes = new ArrayList<>();
+    store = new WriteBehindStore(database, writes::add);
+    pokemon = new Pokemon(4, "Charmander", 116, 96, 78, Type.FIRE);
+    evolution = new Pokemon(5, "Charmeleon", 158, 129, 116, Type.FIRE);
+    limit = new Limit("3b-d");
+  }
+
+  /** Removes the database. */
+  @After
+  public void tearDown() {
+    database.disconnect();
+    new File(file.getPath() + "-wal").delete();
+    new File(file.getPath() + "-shm").delete();
+    file.delete();
+  }
+
+  private CandidateList createCandidates(final int... inLevels) {
+    return createCandidates(pokemon, inLevels);
+  }
+
+  private CandidateList createCandidates(final Pokemon inPokemon, final int... inLevels) {
+    CandidateList candidates = new CandidateList(inPokemon, limit);
+
+    for (int level : inLevels) {
+      candidates.addIVLevel(Integer.valueOf(level), IVLevel.valueOf(15, 14, 13));
+    }
+
+    return candidates;
+  }
+
+  /** Makes the writes of the saved candidates fail. */
+  private void createFailure() throws SQLException {
+    try (Statement stmt = database.getConnection().createStatement()) {
+      stmt.execute("CREATE TRIGGER failure BEFORE INSERT ON names BEGIN SELECT RAISE(ABORT, 'forced failure'); END;");
+    }
+  }
+
+  private List<InventoryEntry> readInventory() {
+    List<InventoryEntry> entries = new ArrayList<>();
+
+    try (InventoryCursor cursor = database.getInventory().query().open()) {
+      while (cursor.next()) {
+        entries.add(cursor.get());
+      }
+    }
+
+    return entries;
+  }
+}
@@ -1,9 +1,72 @@
 package net.ghielmetti.ivcalc.gui.model;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.CandidateList;
+import net.ghielmetti.ivcalc.data.Limit;
+import net.ghielmetti.ivcalc.pokedex.Pokedex;
+
 /**
  * Tests for {@link PokemonModel} class.
  * 
  * @author Leopoldo Ghielmetti
  */
 public class PokemonModelTest {
+  /** Tests {@link PokemonModel#searchCandidates()}. */
+  @Test
+  public void searchCandidates_identifyMode_identifiesTheSpecies() {
+    PokemonModel model = createModel();
+    model.setIdentify(true);
+
+    model.searchCandidates();
+
+    assertTrue(model.getCandidates().stream().anyMatch(candidates -> "Charmander".equals(candidates.getPokemon().getName())));
+  }
+  /** Tests {@link PokemonModel#searchCandidates()}. */
+  @Test
+  public void searchCandidates_inParallel_returnsTheSameListAsSequentially() {
+    Pokedex pokedex = new Pokedex();
+    PokemonModel model = new PokemonModel(null, pokedex, null);
+    model.setPokemons(pokedex.getPokemonsFromPartialName("a"));
+    model.setCP(Integer.valueOf(446));
+    model.setHP(Integer.valueOf(53));
+    model.setSD(Integer.valueOf(2500));
+    model.setLimit(new Limit("3b-d"));
+
+    model.setParallelism(1);
+    model.searchCandidates();
+    List<CandidateList> sequential = model.getCandidates();
+
+    model.setParallelism(4);
+    model.searchCandidates();
+    List<CandidateList> parallel = model.getCandidates();
+
+    assertFalse(sequential.isEmpty());
+    assertEquals(sequential.toString(), parallel.toString());
+  }
+
+  /** Tests {@link PokemonModel#searchCandidates()}. */
+  @Test
+  public void searchCandidates_noPokemons_returnsAnEmptyList() {
+    PokemonModel model = createModel();
+
+    model.searchCandidates();
+
+    assertTrue(model.getCandidates().isEmpty());
+  }
+
+  private PokemonModel createModel() {
+    PokemonModel model = new PokemonModel(null, new Pokedex(), null);
+    model.setCP(Integer.valueOf(446));
+    model.setHP(Integer.valueOf(53));
+    model.setSD(Integer.valueOf(2500));
+    model.setLimit(new Limit("3b-d"));
+    return model;
+  }
 }
@@ -0,0 +1,172 @@
+package net.ghielmetti.ivcalc.pokedex;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link DataBundle} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class DataBundleTest {
+  /** The folder where the bundle files are written. */
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+  private byte[]         bytes;
+
+  /**
+   * Initialize the test environment.
+   *
+   * @throws Exception If the bundle can't be generated.
+   */
+  @Before
+  public void setUp() throws Exception {
+    Path resources = Paths.get(getClass().getResource("/baseValues.csv").toURI()).getParent();
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    new DataBundleGenerator(resources).write(os);
+    bytes = os.toByteArray();
+  }
+
+  /** Tests {@link DataBundle#getInstance()}. */
+  @Test
+  public void getInstance_withOrWithoutTheBundle_givesTheSameMultipliers() {
+    Multiplier multiplier = Multiplier.getInstance();
+
+    assertEquals(80, multiplier.getMaxLevel());
+    assertEquals(0.79030001, multiplier.getMultiplierValue(80), 0.0);
+    assertEquals(38, multiplier.getFirstLevel(2500));
+    assertEquals(41, multiplier.getLastLevel(2500));
+  }
+
+  /**
+   * Tests {@link DataBundle#isUpToDate(Path)}.
+   *
+   * @throws IOException If the bundle can't be written.
+   */
+  @Test
+  public void isUpToDate_aBundleNewerThanTheSources_returnsTrue() throws IOException {
+    Path file = writeBundle();
+    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60000));
+
+    assertTrue(DataBundle.isUpToDate(file));
+  }
+
+  /**
+   * Tests {@link DataBundle#isUpToDate(Path)}.
+   *
+   * @throws IOException If the bundle can't be written.
+   */
+  @Test
+  public void isUpToDate_aBundleOlderThanTheSources_returnsFalse() throws IOException {
+    Path file = writeBundle();
+    Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+    assertFalse(DataBundle.isUpToDate(file));
+  }
+
+  /**
+   * Tests {@link DataBundle#read(ByteBuffer)}.
+   *
+   * @throws IOException If the bundle can't be read.
+   */
+  @Test
+  public void read_aGeneratedBundle_containsTheMultipliers() throws IOException {
+    DataBundle bundle = DataBundle.read(ByteBuffer.wrap(bytes));
+    int index = Arrays.binarySearch(bundle.getStardusts(), 2500);
+
+    assertEquals(81, bundle.getMultipliers().length);
+    assertEquals(0.0, bundle.getMultipliers()[1], 0.0);
+    assertEquals(0.59740001, bundle.getMultipliers()[40], 0.0);
+    assertEquals(2500, bundle.getStardustPerLevel()[40]);
+    assertEquals(38, bundle.getFirstLevels()[index]);
+    assertEquals(41, bundle.getLastLevels()[index]);
+  }
+
+  /**
+   * Tests {@link DataBundle#read(ByteBuffer)}.
+   *
+   * @throws IOException If the bundle can't be read.
+   */
+  @Test
+  public void read_aGeneratedBundle_containsThePokemons() throws IOException {
+    DataBundle bundle = DataBundle.read(ByteBuffer.wrap(bytes));
+
+    assertEquals(802, bundle.getPokemonCount());
+    assertEquals(4, bundle.getId(3));
+    assertEquals("Charmander", bundle.getName(3));
+    assertEquals(116, bundle.getAttack(3));
+    assertEquals(96, bundle.getDefense(3));
+    assertEquals(78, bundle.getStamina(3));
+    assertEquals(1, bundle.getGeneration(3));
+    assertArrayEquals(new Type[]{Type.FIRE}, bundle.getTypes(3));
+    assertArrayEquals(new int[]{4}, bundle.getEvolutions(3));
+  }
+
+  /**
+   * Tests {@link DataBundle#read(Path)}.
+   *
+   * @throws IOException If the bundle can't be read.
+   */
+  @Test
+  public void read_aGeneratedFile_readsTheBundle() throws IOException {
+    assertEquals("DataBundle[levels=81, pokemons=802]", DataBundle.read(writeBundle()).toString());
+  }
+
+  /**
+   * Tests {@link DataBundle#read(ByteBuffer)}.
+   *
+   * @throws IOException If the bundle can't be read.
+   */
+  @Test(expected = IOException.class)
+  public void read_anotherVersion_throwsIOException() throws IOException {
+    ByteBuffer.wrap(bytes).putInt(4, DataBundle.VERSION + 1);
+    DataBundle.read(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Tests {@link DataBundle#read(ByteBuffer)}.
+   *
+   * @throws IOException If the bundle can't be read.
+   */
+  @Test(expected = IOException.class)
+  public void read_aTruncatedBundle_throwsIOException() throws IOException {
+    DataBundle.read(ByteBuffer.wrap(bytes, 0, bytes.length / 2));
+  }
+
+  /**
+   * Tests {@link DataBundle#read(ByteBuffer)}.
+   *
+   * @throws IOException If the bundle can't be read.
+   */
+  @Test(expected = IOException.class)
+  public void read_notABundle_throwsIOException() throws IOException {
+    DataBundle.read(ByteBuffer.wrap("1\tBulbasaur\t118\t118\t90\t1".getBytes("UTF-8")));
+  }
+
+  private Path writeBundle() throws IOException {
+    Path file = folder.newFile("ivcalc.bundle").toPath();
+
+    try (OutputStream os = Files.newOutputStream(file)) {
+      os.write(bytes);
+    }
+
+    return file;
+  }
+}
@@ -9,6 +9,7 @@ import java.lang.reflect.Constructor;
 import org.junit.Test;
 
 import net.ghielmetti.ivcalc.data.IVLevel;
+import net.ghielmetti.ivcalc.data.IVMask;
 import net.ghielmetti.ivcalc.data.Limit;
 
 /**
@@ -58,6 +59,32 @@ public class IVMapTest {
     IVMap.getIVLevels(new Limit("3b-ah")).add(new IVLevel(1, 2, 3));
   }
 
+  /** Tests {@link IVMap#getMask(Limit)}. */
+  @Test
+  public void getMask_anInvalidLimit_returnsAnEmptyMask() {
+    assertTrue(IVMap.getMask(new Limit("4d-had")).isEmpty());
+  }
+
+  /** Tests {@link IVMap#getMask(Limit)}. */
+  @Test
+  public void getMask_everyLimit_containsExactlyTheMatchingIVLevels() {
+    for (Limit limit : IVMap.getLimits()) {
+      IVMask mask = IVMap.getMask(limit);
+
+      for (int index = 0; index < IVMask.SIZE; index++) {
+        assertEquals(limit.matches(new IVLevel(index >> 8, index >> 4 & 15, index & 15)), mask.get(index));
+      }
+
+      assertEquals(mask.cardinality(), IVMap.getIVLevels(limit).size());
+    }
+  }
+
+  /** Tests {@link IVMap#getMask(Limit)}. */
+  @Test(expected = UnsupportedOperationException.class)
+  public void getMask_aValidLimit_returnsAnUnmodifiableMask() {
+    IVMap.getMask(new Limit("3b-ah")).set(0);
+  }
+
   /** Tests {@link IVMap#getLimits()}. */
   @Test
   public void getLimits_always_returnsANotEmptyList() {
@@ -2,7 +2,11 @@ package net.ghielmetti.ivcalc.pokedex;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.Test;
 
 /**
@@ -11,6 +15,23 @@ import org.junit.Test;
  * @author Leopoldo Ghielmetti
  */
 public class MultiplierTest {
+  /** Tests {@link Multiplier#getFirstLevel(int)} and {@link Multiplier#getLastLevel(int)}. */
+  @Test
+  public void getFirstLevel_anInvalidStardustValue_returnsAnEmptyRange() {
+    assertTrue(Multiplier.getInstance().getFirstLevel(0) > Multiplier.getInstance().getLastLevel(0));
+  }
+
+  /** Tests {@link Multiplier#getFirstLevel(int)} and {@link Multiplier#getLastLevel(int)}. */
+  @Test
+  public void getFirstLevel_aValidStardustValue_returnsTheRangeOfTheMultipliers() {
+    for (int stardust : new int[]{200, 3000, 10000}) {
+      List<ImmutablePair<Integer, Double>> multipliers = Multiplier.getInstance().getMultipliers(stardust);
+
+      assertEquals(multipliers.get(0).getLeft().intValue(), Multiplier.getInstance().getFirstLevel(stardust));
+      assertEquals(multipliers.get(multipliers.size() - 1).getLeft().intValue(), Multiplier.getInstance().getLastLevel(stardust));
+    }
+  }
+
   /** Tests {@link Multiplier#getInstance()}. */
   @Test
   public void getInstance_always_returnsTheSameMultiplier() {
@@ -29,6 +50,19 @@ public class MultiplierTest {
     assertEquals(new Double(0.4530599578D), Multiplier.getInstance().getMultiplier(23));
   }
 
+  /** Tests {@link Multiplier#getMultiplierValue(int)}. */
+  @Test
+  public void getMultiplierValue_anInvalidLevel_returnsZero() {
+    assertEquals(0, Multiplier.getInstance().getMultiplierValue(-1), 0);
+    assertEquals(0, Multiplier.getInstance().getMultiplierValue(Multiplier.getInstance().getMaxLevel() + 1), 0);
+  }
+
+  /** Tests {@link Multiplier#getMultiplierValue(int)}. */
+  @Test
+  public void getMultiplierValue_aValidLevel_returnsTheCorrespondingMultiplier() {
+    assertEquals(0.4530599578D, Multiplier.getInstance().getMultiplierValue(23), 0);
+  }
+
   /** Tests {@link Multiplier#getMultipliers(int)}. */
   @Test
   public void getMultipliers_anInvalidStardustValue_returnsAnEmptyList() {
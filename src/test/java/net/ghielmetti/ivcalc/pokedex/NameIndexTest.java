@@ -0,0 +1,129 @@
+package net.ghielmetti.ivcalc.pokedex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.ghielmetti.ivcalc.data.Pokemon;
+
+/**
+ * Tests for {@link NameIndex} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class NameIndexTest {
+  private Pokemon   flabebe;
+  private Pokemon   pichu;
+  private Pokemon   pikachu;
+  private Pokemon   raichu;
+  private NameIndex index;
+
+  /** Tests {@link NameIndex#add(Pokemon, String)}. */
+  @Test
+  public void add_anotherName_findsThePokemonByBothNames() {
+    index.add(pikachu, "ピカチュウ");
+
+    assertEquals(Arrays.asList(pikachu), index.findContaining("ピカ"));
+    assertEquals(Arrays.asList(pikachu), index.findContaining("kach"));
+  }
+
+  /** Tests {@link NameIndex#distance(String, String, int)}. */
+  @Test
+  public void distance_differentStrings_returnsTheEditDistance() {
+    assertEquals(0, NameIndex.distance("pikachu", "pikachu", 2));
+    assertEquals(1, NameIndex.distance("pikachi", "pikachu", 2));
+    assertEquals(2, NameIndex.distance("pkachi", "pikachu", 2));
+    assertEquals(2, NameIndex.distance("pichu", "raichu", 2));
+    assertEquals(3, NameIndex.distance("pichu", "flabebe", 2));
+  }
+
+  /** Tests {@link NameIndex#findContaining(String)}. */
+  @Test
+  public void findContaining_aShortText_returnsAllTheMatchingPokemons() {
+    assertEquals(Arrays.asList(pichu, pikachu, raichu), index.findContaining("hu"));
+  }
+
+  /** Tests {@link NameIndex#findContaining(String)}. */
+  @Test
+  public void findContaining_anAccentedName_ignoresAccentsAndCase() {
+    assertEquals(Arrays.asList(flabebe), index.findContaining("FLABEBE"));
+    assertEquals(Arrays.asList(flabebe), index.findContaining("bébé"));
+  }
+
+  /** Tests {@link NameIndex#findContaining(String)}. */
+  @Test
+  public void findContaining_anEmptyText_returnsAllThePokemons() {
+    assertEquals(Arrays.asList(flabebe, pichu, pikachu, raichu), index.findContaining(""));
+  }
+
+  /** Tests {@link NameIndex#findContaining(String)}. */
+  @Test
+  public void findContaining_anUnknownText_returnsAnEmptyList() {
+    assertTrue(index.findContaining("xyz").isEmpty());
+  }
+
+  /** Tests {@link NameIndex#findContaining(String)}. */
+  @Test
+  public void findContaining_aText_returnsThePokemonsContainingIt() {
+    assertEquals(Arrays.asList(pichu, raichu), index.findContaining("ich"));
+    assertEquals(Arrays.asList(pichu, pikachu, raichu), index.findContaining("chu"));
+  }
+
+  /** Tests {@link NameIndex#findNear(String, int)}. */
+  @Test
+  public void findNear_aMisspelledName_returnsTheNearPokemons() {
+    assertEquals(Arrays.asList(pikachu), index.findNear("Pikachi", 1));
+    assertEquals(Arrays.asList(pichu, pikachu), index.findNear("pkachu", 2));
+    assertTrue(index.findNear("pkachi", 1).isEmpty());
+  }
+
+  /** Tests {@link NameIndex#findStartingWith(String)}. */
+  @Test
+  public void findStartingWith_aPrefix_returnsThePokemonsStartingWithIt() {
+    assertEquals(Arrays.asList(pichu, pikachu), index.findStartingWith("pi"));
+    assertEquals(Arrays.asList(pikachu), index.findStartingWith("Pik"));
+    assertTrue(index.findStartingWith("chu").isEmpty());
+  }
+
+  /** Tests {@link NameIndex#normalize(String)}. */
+  @Test
+  public void normalize_anAccentedName_returnsTheNameInLowerCaseWithoutAccents() {
+    assertEquals("flabebe", NameIndex.normalize(" Flabébé "));
+  }
+
+  /** Prepares the index. */
+  @Before
+  public void setUp() {
+    flabebe = new Pokemon(669, "Flabébé", 108, 120, 88, Type.FAIRY);
+    pichu = new Pokemon(172, "Pichu", 77, 63, 40, Type.ELECTRIC);
+    pikachu = new Pokemon(25, "Pikachu", 112, 101, 70, Type.ELECTRIC);
+    raichu = new Pokemon(26, "Raichu", 193, 165, 120, Type.ELECTRIC);
+    index = new NameIndex(Arrays.asList(raichu, pikachu, flabebe, pichu));
+  }
+
+  /** Tests {@link NameIndex.Search#refine(String)}. */
+  @Test
+  public void refine_aLongerQuery_narrowsTheMatches() {
+    NameIndex.Search search = index.search();
+
+    assertEquals(Arrays.asList(pichu, pikachu, raichu), search.refine("chu"));
+    assertEquals(Arrays.asList(pichu, raichu), search.refine("ichu"));
+    assertEquals(Arrays.asList(raichu), search.refine("aichu"));
+  }
+
+  /** Tests {@link NameIndex.Search#refine(String)}. */
+  @Test
+  public void refine_aShorterQuery_widensTheMatches() {
+    NameIndex.Search search = index.search();
+
+    assertEquals(Arrays.asList(pikachu), search.refine("pik"));
+    assertEquals(Arrays.asList(pichu, pikachu), search.refine("pi"));
+    assertEquals(Collections.emptyList(), search.refine("piz"));
+    assertEquals(Arrays.asList(flabebe, pichu, pikachu, raichu), search.refine(""));
+  }
+}
@@ -3,6 +3,7 @@ package net.ghielmetti.ivcalc.pokedex;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
@@ -140,6 +141,52 @@ public class PokedexTest {
     assertTrue(ancestors.isEmpty());
   }
 
+  /** Tests {@link Pokedex#getAncestors(String)}. */
+  @Test
+  public void getAncestors_anUnknownPokemon_returnsAnEmptyList() {
+    assertTrue(pokedex.getAncestors("missingno").isEmpty());
+  }
+
+  /** Tests {@link Pokedex#getAncestors(String)}. */
+  @Test
+  public void getAncestors_aTranslatedName_returnsTheAncestors() {
+    assertEquals(pokedex.getAncestors("charizard"), pokedex.getAncestors("Glurak"));
+  }
+
+  /** Tests {@link Pokedex#getBaseForm(String)}. */
+  @Test
+  public void getBaseForm_aPokemonWithAncestors_returnsTheFirstForm() {
+    assertEquals("Charmander", pokedex.getBaseForm("charizard").getName());
+  }
+
+  /** Tests {@link Pokedex#getBaseForm(String)}. */
+  @Test
+  public void getBaseForm_aPokemonWithoutAncestors_returnsThePokemon() {
+    assertEquals("Ekans", pokedex.getBaseForm("ekans").getName());
+  }
+
+  /** Tests {@link Pokedex#getBaseForm(String)}. */
+  @Test
+  public void getBaseForm_anUnknownPokemon_returnsNull() {
+    assertNull(pokedex.getBaseForm("missingno"));
+  }
+
+  /** Tests {@link Pokedex#getFamilyId(String)}. */
+  @Test
+  public void getFamilyId_aPokemonFamily_returnsTheSameIdForAllTheFamily() {
+    int id = pokedex.getFamilyId("charmander");
+
+    assertEquals(id, pokedex.getFamilyId("charmeleon"));
+    assertEquals(id, pokedex.getFamilyId("charizard"));
+    assertTrue(id != pokedex.getFamilyId("squirtle"));
+  }
+
+  /** Tests {@link Pokedex#getFamilyId(String)}. */
+  @Test
+  public void getFamilyId_anUnknownPokemon_returnsMinusOne() {
+    assertEquals(-1, pokedex.getFamilyId("missingno"));
+  }
+
   /** Tests {@link Pokedex#getOffsprings(String)}. */
   @Test
   public void getOffsprings_aPokemonWithManyManyGenerationsOffsprings_returnsTheOffsprings() {
@@ -207,6 +254,13 @@ public class PokedexTest {
     assertEquals("Pikachu", pokedex.getPokemon("pIkAcHu").getName());
   }
 
+  /** Tests {@link Pokedex#getPokemon(String)}. */
+  @Test
+  public void getPokemon_aTranslatedName_returnsTheObject() {
+    assertSame(pokedex.getPokemon("charmander"), pokedex.getPokemon("Glumanda"));
+    assertSame(pokedex.getPokemon("charmander"), pokedex.getPokemon("ヒトカゲ"));
+  }
+
   /** Tests {@link Pokedex#getPokemon(String)}. */
   @Test
   public void getPokemon_anUnknownPokemon_returnsNull() {
@@ -243,6 +297,15 @@ public class PokedexTest {
     }
   }
 
+  /** Tests {@link Pokedex#getPokemonsFromPartialName(String)}. */
+  @Test
+  public void getPokemonsFromPartialName_aTranslatedSubstring_returnsThePokemonsMatchingInAnyLanguage() {
+    List<Pokemon> names = pokedex.getPokemonsFromPartialName("glum");
+
+    assertEquals(1, names.size());
+    assertSame(pokedex.getPokemon("charmander"), names.get(0));
+  }
+
   /** Initializes the tests. */
   @Before
   public void setUp() {
@@ -0,0 +1,78 @@
+package net.ghielmetti.ivcalc.pokedex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link PokemonNames} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class PokemonNamesTest {
+  /** Tests {@link PokemonNames#getInstance()}. */
+  @Test
+  public void getInstance_always_returnsTheSameInstance() {
+    assertSame(PokemonNames.getInstance(), PokemonNames.getInstance());
+  }
+
+  /** Tests {@link PokemonNames#getLocales()}. */
+  @Test
+  public void getLocales_always_returnsTheDefaultAndTheTranslations() {
+    assertTrue(PokemonNames.getInstance().getLocales().containsAll(Arrays.asList(Locale.ROOT, Locale.FRENCH, Locale.GERMAN, Locale.ITALIAN, Locale.JAPANESE)));
+  }
+
+  /** Tests {@link PokemonNames#getName(int, Locale)}. */
+  @Test
+  public void getName_aLanguageWithoutTranslation_returnsTheDefaultName() {
+    assertEquals("Charmander", PokemonNames.getInstance().getName(4, Locale.CHINESE));
+  }
+
+  /** Tests {@link PokemonNames#getName(int, Locale)}. */
+  @Test
+  public void getName_aTranslatedLanguage_returnsTheTranslation() {
+    assertEquals("Charmander", PokemonNames.getInstance().getName(4, Locale.ROOT));
+    assertEquals("Salamèche", PokemonNames.getInstance().getName(4, Locale.FRENCH));
+    assertEquals("Glumanda", PokemonNames.getInstance().getName(4, Locale.GERMAN));
+    assertEquals("ヒトカゲ", PokemonNames.getInstance().getName(4, Locale.JAPANESE));
+  }
+
+  /** Tests {@link PokemonNames#getName(int, Locale)}. */
+  @Test
+  public void getName_anUnknownNumber_returnsNull() {
+    assertNull(PokemonNames.getInstance().getName(12345, Locale.ROOT));
+  }
+
+  /** Tests {@link PokemonNames#getNames(int)}. */
+  @Test
+  public void getNames_aKnownNumber_returnsTheDifferentNames() {
+    assertEquals(Arrays.asList("Pikachu", "ピカチュウ"), PokemonNames.getInstance().getNames(25));
+  }
+
+  /** Tests {@link PokemonNames#getNames(int)}. */
+  @Test
+  public void getNames_anUnknownNumber_returnsAnEmptyList() {
+    assertTrue(PokemonNames.getInstance().getNames(12345).isEmpty());
+  }
+
+  /** Tests {@link PokemonNames#getNumber(String)}. */
+  @Test
+  public void getNumber_aNameInAnyLanguage_returnsTheNumber() {
+    assertEquals(4, PokemonNames.getInstance().getNumber("charmander"));
+    assertEquals(4, PokemonNames.getInstance().getNumber("SALAMECHE"));
+    assertEquals(4, PokemonNames.getInstance().getNumber("Glumanda"));
+    assertEquals(4, PokemonNames.getInstance().getNumber("ヒトカゲ"));
+  }
+
+  /** Tests {@link PokemonNames#getNumber(String)}. */
+  @Test
+  public void getNumber_anUnknownName_returnsMinusOne() {
+    assertEquals(-1, PokemonNames.getInstance().getNumber("unknown"));
+  }
+}
@@ -26,6 +26,15 @@ public class TypeTest {
     }
   }
 
+  /** Tests {@link Type#getIcon()}. */
+  @Test
+  public void getIcon_always_returnsASmallIcon() {
+    for (Type type : Type.values()) {
+      assertEquals(32, type.getIcon().getIconWidth());
+      assertEquals(32, type.getIcon().getIconHeight());
+    }
+  }
+
   /** Tests {@link Type#getTypeName()}. */
   @Test
   public void getTypeName_always_returnsAString() {
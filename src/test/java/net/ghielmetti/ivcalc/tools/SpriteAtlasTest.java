@@ -0,0 +1,96 @@
+package net.ghielmetti.ivcalc.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import javax.imageio.ImageIO;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link SpriteAtlas} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class SpriteAtlasTest {
+  /** The folder where the atlas is written. */
+  @ClassRule
+  public static TemporaryFolder folder = new TemporaryFolder();
+  private static Path           resources;
+  private static SpriteAtlas    atlas;
+
+  /**
+   * Generates the atlas once for all the tests.
+   *
+   * @throws Exception If the atlas can't be generated.
+   */
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    resources = Paths.get(SpriteAtlasTest.class.getResource("/baseValues.csv").toURI()).getParent();
+    Path image = folder.getRoot().toPath().resolve("atlas.png");
+    Path index = folder.getRoot().toPath().resolve("atlas.properties");
+    new SpriteAtlasGenerator(resources, SpriteCache.SMALL_ICON_SIZE).write(image, index);
+
+    Properties properties = new Properties();
+
+    try (InputStream is = Files.newInputStream(index)) {
+      properties.load(is);
+    }
+
+    atlas = new SpriteAtlas(ImageIO.read(image.toFile()), properties);
+  }
+
+  /**
+   * Tests {@link SpriteAtlas#getPokemonImage(int)}.
+   *
+   * @throws Exception If the original icon can't be read.
+   */
+  @Test
+  public void getPokemonImage_aValidNumber_returnsTheScaledIcon() throws Exception {
+    BufferedImage expected = SpriteAtlasGenerator.scale(ImageIO.read(resources.resolve("images/4.png").toFile()), SpriteCache.SMALL_ICON_SIZE);
+    BufferedImage image = atlas.getPokemonImage(4);
+
+    assertEquals(SpriteCache.SMALL_ICON_SIZE, image.getWidth());
+    assertEquals(SpriteCache.SMALL_ICON_SIZE, image.getHeight());
+
+    for (int x = 0; x < SpriteCache.SMALL_ICON_SIZE; x++) {
+      for (int y = 0; y < SpriteCache.SMALL_ICON_SIZE; y++) {
+        assertEquals(expected.getRGB(x, y), image.getRGB(x, y));
+      }
+    }
+  }
+
+  /** Tests {@link SpriteAtlas#getPokemonImage(int)}. */
+  @Test
+  public void getPokemonImage_anInvalidNumber_returnsNull() {
+    assertNull(atlas.getPokemonImage(12345));
+  }
+
+  /** Tests {@link SpriteAtlas#getSize()}. */
+  @Test
+  public void getSize_anEmptyAtlas_returnsZero() {
+    assertEquals(0, new SpriteAtlas(null, new Properties()).getSize());
+  }
+
+  /** Tests {@link SpriteAtlas#getTypeImage(String)}. */
+  @Test
+  public void getTypeImage_aValidType_returnsTheScaledIcon() {
+    assertEquals(SpriteCache.SMALL_ICON_SIZE, atlas.getTypeImage("FIRE").getWidth());
+  }
+
+  /** Tests {@link SpriteAtlas#toString()}. */
+  @Test
+  public void toString_always_returnsTheNumberOfIcons() {
+    assertEquals("SpriteAtlas[size=32, icons=737]", atlas.toString());
+  }
+}
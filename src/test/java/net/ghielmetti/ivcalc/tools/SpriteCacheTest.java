@@ -0,0 +1,86 @@
+package net.ghielmetti.ivcalc.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+import javax.swing.Icon;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link SpriteCache} class.
+ *
+ * @author Leopoldo Ghielmetti
+ */
+public class SpriteCacheTest {
+  /** Tests {@link SpriteCache#getIcon(int)}. */
+  @Test
+  public void getIcon_anInvalidNumber_returnsNull() {
+    assertNull(SpriteCache.getInstance().getIcon(12345));
+  }
+
+  /** Tests {@link SpriteCache#getIcon(int)}. */
+  @Test
+  public void getIcon_aValidNumber_returnsTheSameIcon() {
+    Icon icon = SpriteCache.getInstance().getIcon(4);
+
+    assertSame(icon, SpriteCache.getInstance().getIcon(4));
+    assertEquals(SpriteCache.ICON_SIZE, icon.getIconWidth());
+    assertEquals(SpriteCache.ICON_SIZE, icon.getIconHeight());
+  }
+
+  /**
+   * Tests {@link Icon#paintIcon(java.awt.Component, Graphics, int, int)} of the icons of {@link SpriteCache}.
+   *
+   * @throws InterruptedException If interrupted.
+   */
+  @Test(timeout = 10000)
+  public void getIcon_painted_decodesTheSpriteInBackground() throws InterruptedException {
+    Icon icon = SpriteCache.getInstance().getIcon(7);
+    BufferedImage canvas = new BufferedImage(SpriteCache.ICON_SIZE, SpriteCache.ICON_SIZE, BufferedImage.TYPE_INT_ARGB);
+    int placeholder;
+
+    do {
+      canvas.setRGB(0, 0, 0);
+      Graphics g = canvas.createGraphics();
+      icon.paintIcon(null, g, 0, 0);
+      g.dispose();
+      placeholder = canvas.getRGB(SpriteCache.ICON_SIZE / 2, SpriteCache.ICON_SIZE / 2);
+      Thread.sleep(10);
+    } while (placeholder == 0xFFE0E0E0);
+
+    assertNotEquals(0xFFE0E0E0, placeholder);
+  }
+
+  /** Tests {@link SpriteCache#getImage(int, int)}. */
+  @Test
+  public void getImage_aValidNumber_returnsTheScaledImage() {
+    Image image = SpriteCache.getInstance().getImage(4, SpriteCache.SMALL_ICON_SIZE);
+
+    assertNotNull(image);
+    assertEquals(SpriteCache.SMALL_ICON_SIZE, image.getWidth(null));
+    assertEquals(SpriteCache.SMALL_ICON_SIZE, image.getHeight(null));
+  }
+
+  /** Tests {@link SpriteCache#getImage(int, int)}. */
+  @Test
+  public void getImage_anInvalidNumber_returnsNull() {
+    assertNull(SpriteCache.getInstance().getImage(12345, SpriteCache.ICON_SIZE));
+  }
+
+  /** Tests {@link SpriteCache#getSmallIcon(int)}. */
+  @Test
+  public void getSmallIcon_aValidNumber_returnsASmallIcon() {
+    Icon icon = SpriteCache.getInstance().getSmallIcon(4);
+
+    assertEquals(SpriteCache.SMALL_ICON_SIZE, icon.getIconWidth());
+    assertEquals(SpriteCache.SMALL_ICON_SIZE, icon.getIconHeight());
+  }
+}